@@ -12,7 +12,8 @@ import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxMultiUniverseConnection;
+import org.openhab.binding.dmx.DmxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,12 +28,15 @@ import artnet4j.packets.ArtDmxPacket;
  * @author Rainer Ostendorf
  * @since 1.4.0
  */
-public class ArtnetConnection implements DmxConnection {
+public class ArtnetConnection implements DmxMultiUniverseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(ArtnetConnection.class);
 
-    /** sequence ID, used for enumerating the artnet packets send */
-    private int sequenceID;
+    /** sequence IDs per universe, used for enumerating the artnet packets send */
+    private int[] sequenceIDs = new int[DmxService.MAX_UNIVERSES];
+
+    /** packets per universe, reused for every transmission */
+    private ArtDmxPacket[] packets = new ArtDmxPacket[DmxService.MAX_UNIVERSES];
 
     /** the Artnet4J server */
     private ArtNet artnet = new ArtNet();
@@ -100,28 +104,50 @@ public class ArtnetConnection implements DmxConnection {
      */
     @Override
     public void sendDmx(byte[] buffer) throws Exception {
+        sendDmx(0, buffer);
+    }
 
-        if (!isConnectionClosed) {
+    /**
+     * Sends the buffer to the given universe of subnet 0. Only universes
+     * below {@link DmxService#MAX_UNIVERSES} are supported.
+     * 
+     * {@inheritDoc}
+     * 
+     * @see org.openhab.binding.dmx.DmxMultiUniverseConnection#sendDmx(int,
+     *      byte[])
+     */
+    @Override
+    public void sendDmx(int universe, byte[] buffer) throws Exception {
+
+        if (universe < 0 || universe >= packets.length) {
+            throw new IllegalArgumentException("Universe " + universe + " is out of range 0-" + (packets.length - 1));
+        }
 
-            ArtDmxPacket dmx = new ArtDmxPacket();
+        if (!isConnectionClosed) {
 
-            // Default to universe 0. May need to be changed later to support
-            // multiple universes.
-            dmx.setUniverse(0, 0);
-            dmx.setSequenceID(sequenceID % 255);
+            ArtDmxPacket dmx = packets[universe];
+            if (dmx == null) {
+                dmx = new ArtDmxPacket();
+                dmx.setUniverse(0, universe);
+                packets[universe] = dmx;
+            }
+            dmx.setSequenceID(sequenceIDs[universe] % 255);
             dmx.setDMX(buffer, buffer.length);
 
             if (!receiverNodes.isEmpty()) {
 
                 for (ArtNetNode receiver : receiverNodes) {
-                    logger.trace("Sending " + buffer.length + " Bytes to " + receiver.getIPAddress().toString());
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Sending " + buffer.length + " Bytes of universe " + universe + " to "
+                                + receiver.getIPAddress().toString());
+                    }
                     artnet.unicastPacket(dmx, receiver);
                 }
 
             } else {
                 artnet.broadcastPacket(dmx);
             }
-            sequenceID++;
+            sequenceIDs[universe]++;
         }
     }
 }
@@ -10,27 +10,54 @@ package org.openhab.binding.dmx.lib485;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxMultiUniverseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * DMX Connection Implementation using lib485 as the DMX target.
  */
-public class Lib485Connection implements DmxConnection {
+public class Lib485Connection implements DmxMultiUniverseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(Lib485Connection.class);
 
-    private Socket connection;
+    /** connections per universe **/
+    private List<Socket> connections = new ArrayList<Socket>();
 
     private final static String DEFAULT_HOST = "localhost";
 
     private final static int DEFAULT_PORT = 9020;
 
+    /**
+     * Opens a connection per universe. The connection string contains
+     * host:port of each universe, separated by comma.
+     * 
+     * {@inheritDoc}
+     */
     @Override
     public void open(String connectionString) throws Exception {
+        close();
+        String[] universes = StringUtils.isNotBlank(connectionString) ? connectionString.split(",")
+                : new String[] { "" };
+        List<Socket> sockets = new ArrayList<Socket>();
+        try {
+            for (String universe : universes) {
+                sockets.add(openSocket(universe.trim()));
+            }
+        } catch (Exception e) {
+            for (Socket socket : sockets) {
+                close(socket);
+            }
+            throw e;
+        }
+        connections = sockets;
+    }
+
+    private Socket openSocket(String connectionString) throws IOException {
         String host = DEFAULT_HOST;
         int port = DEFAULT_PORT;
 
@@ -44,33 +71,58 @@ public class Lib485Connection implements DmxConnection {
             }
         }
 
-        connection = new Socket(host, port);
+        Socket connection = new Socket(host, port);
         if (connection.isConnected()) {
             logger.debug("Connected to Lib485 DMX service");
         }
+        return connection;
     }
 
     @Override
     public void close() {
-        if (connection != null && !connection.isClosed()) {
+        for (Socket connection : connections) {
+            close(connection);
+        }
+        connections = new ArrayList<Socket>();
+    }
+
+    private void close(Socket connection) {
+        if (!connection.isClosed()) {
             try {
                 connection.close();
             } catch (IOException e) {
                 logger.warn("Could not close socket.", e);
             }
         }
-        connection = null;
     }
 
     @Override
     public boolean isClosed() {
-        return connection.isClosed();
+        if (connections.isEmpty()) {
+            return true;
+        }
+        for (Socket connection : connections) {
+            if (connection.isClosed()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void sendDmx(byte[] buffer) throws Exception {
-        logger.debug("Sending Data to DMX");
-        connection.getOutputStream().write(buffer);
+        sendDmx(0, buffer);
+    }
+
+    @Override
+    public void sendDmx(int universe, byte[] buffer) throws Exception {
+        List<Socket> sockets = connections;
+        if (universe >= sockets.size()) {
+            logger.trace("No Lib485 connection configured for universe {}", universe);
+            return;
+        }
+        logger.trace("Sending Data to DMX");
+        sockets.get(universe).getOutputStream().write(buffer);
     }
 
 }
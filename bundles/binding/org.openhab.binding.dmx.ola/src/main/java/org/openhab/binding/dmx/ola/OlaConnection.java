@@ -11,7 +11,7 @@ package org.openhab.binding.dmx.ola;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxMultiUniverseConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,7 +24,7 @@ import ola.proto.Ola.PatchAction;
  * DMX Connection Implementation using OLA as the DMX target. This class wraps
  * the OLA Client. It defaults to universe 0 and autobinds to all devices.
  */
-public class OlaConnection implements DmxConnection {
+public class OlaConnection implements DmxMultiUniverseConnection {
 
     private static final Logger logger = LoggerFactory.getLogger(OlaConnection.class);
 
@@ -74,6 +74,17 @@ public class OlaConnection implements DmxConnection {
         client.streamDmx(0, arg0);
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * Universes other than 0 have to be patched to a device in OLA, they are
+     * not bound automatically.
+     */
+    @Override
+    public void sendDmx(int universe, byte[] buffer) throws Exception {
+        client.streamDmx(universe, buffer);
+    }
+
     /**
      * Auto bind to all available devices unless autobind is disabled.
      */
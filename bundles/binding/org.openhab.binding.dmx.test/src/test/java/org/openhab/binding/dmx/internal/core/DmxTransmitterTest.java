@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx.internal.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxMultiUniverseConnection;
+import org.openhab.binding.dmx.DmxService;
+import org.openhab.binding.dmx.DmxStatusUpdateListener;
+
+/**
+ * DmxTransmitter and DmxUniverse tests.
+ *
+ * @since 1.9.0
+ */
+public class DmxTransmitterTest {
+
+    @Test
+    public void reusesBufferAndTracksChanges() {
+
+        DmxUniverse universe = new DmxUniverse();
+        universe.getChannel(3).setValue(100);
+
+        byte[] buffer = universe.calculateBuffer();
+        assertEquals(32, buffer.length);
+        assertEquals(100, buffer[2]);
+        assertTrue(universe.getBufferChanged());
+
+        assertSame(buffer, universe.calculateBuffer());
+        assertFalse(universe.getBufferChanged());
+
+        universe.getChannel(40).setValue(255);
+        buffer = universe.calculateBuffer();
+        assertEquals(40, buffer.length);
+        assertEquals((byte) 255, buffer[39]);
+        assertTrue(universe.getBufferChanged());
+        assertSame(universe.getChannel(40), universe.getChannel(40));
+    }
+
+    @Test
+    public void notifiesOnlyListenersOfChangedChannels() {
+
+        DmxUniverse universe = new DmxUniverse();
+        DmxStatusUpdateListener changed = createListener(1, 2);
+        DmxStatusUpdateListener unchanged = createListener(10, 1);
+        universe.addStatusListener(changed);
+        universe.addStatusListener(unchanged);
+
+        universe.getChannel(2).setValue(50);
+        universe.getChannel(10).setValue(0);
+        universe.calculateBuffer();
+        universe.notifyStatusListeners();
+
+        Mockito.verify(changed).processStatusUpdate(new int[] { 0, 50 });
+        Mockito.verify(unchanged, Mockito.never()).processStatusUpdate(Mockito.any(int[].class));
+    }
+
+    @Test
+    public void sendsChannelsAbove512ToFollowingUniverses() throws Exception {
+
+        DmxMultiUniverseConnection connection = Mockito.mock(DmxMultiUniverseConnection.class);
+        DmxService service = Mockito.mock(DmxService.class);
+        Mockito.when(service.getConnection()).thenReturn(connection);
+
+        DmxTransmitter transmitter = new DmxTransmitter(service);
+        transmitter.getChannel(1).setValue(10);
+        transmitter.getChannel(1025).setValue(20);
+        transmitter.run();
+
+        assertEquals(2, transmitter.getUniverseOfChannel(1025).getUniverseId());
+        byte[] universe0 = new byte[32];
+        universe0[0] = 10;
+        byte[] universe2 = new byte[32];
+        universe2[0] = 20;
+        Mockito.verify(connection).sendDmx(0, universe0);
+        Mockito.verify(connection).sendDmx(2, universe2);
+        Mockito.verify(connection, Mockito.never()).sendDmx(Mockito.eq(1), Mockito.any(byte[].class));
+    }
+
+    @Test
+    public void sendsOnlyFirstUniverseToSingleUniverseConnection() throws Exception {
+
+        DmxConnection connection = Mockito.mock(DmxConnection.class);
+        DmxService service = Mockito.mock(DmxService.class);
+        Mockito.when(service.getConnection()).thenReturn(connection);
+
+        DmxTransmitter transmitter = new DmxTransmitter(service);
+        transmitter.getChannel(2).setValue(10);
+        transmitter.getChannel(514).setValue(20);
+        transmitter.run();
+
+        byte[] expected = new byte[32];
+        expected[1] = 10;
+        Mockito.verify(connection).sendDmx(expected);
+        assertArrayEquals(expected, transmitter.getUniverse().calculateBuffer());
+    }
+
+    private DmxStatusUpdateListener createListener(int channel, int footPrint) {
+        DmxStatusUpdateListener listener = Mockito.mock(DmxStatusUpdateListener.class);
+        Mockito.when(listener.getChannel()).thenReturn(channel);
+        Mockito.when(listener.getFootPrint()).thenReturn(footPrint);
+        return listener;
+    }
+}
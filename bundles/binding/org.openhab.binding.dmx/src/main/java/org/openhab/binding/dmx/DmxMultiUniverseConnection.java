@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dmx;
+
+/**
+ * DmxConnection which can send more than one DMX universe. Channels 1-512 are
+ * sent to universe 0, channels 513-1024 to universe 1 and so on. Connections
+ * which only implement {@link DmxConnection} only receive universe 0.
+ *
+ * @since 1.9.0
+ */
+public interface DmxMultiUniverseConnection extends DmxConnection {
+
+    /**
+     * Send the given buffer to the given universe of the DMX device.
+     * 
+     * @param universe
+     *            0 based universe number
+     * @param buffer
+     *            buffer containing max 512 DMX values. The buffer is reused
+     *            for the next transmission and must not be kept.
+     * @throws Exception
+     */
+    public void sendDmx(int universe, byte[] buffer) throws Exception;
+
+}
@@ -26,6 +26,12 @@ public interface DmxService {
 
     public static final int CHANNEL_MIN_VALUE = 0;
 
+    /**
+     * Maximum number of DMX universes. Channels 1-512 belong to the first
+     * universe, channels 513-1024 to the second one and so on.
+     */
+    public static final int MAX_UNIVERSES = 16;
+
     /**
      * Start DMX Transmission
      * 
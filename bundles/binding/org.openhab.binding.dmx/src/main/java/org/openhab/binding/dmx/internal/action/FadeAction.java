@@ -33,10 +33,6 @@ public class FadeAction extends BaseAction {
     /** Desired channel output value. **/
     private int targetValue;
 
-    private long stepDuration;
-
-    private FadeDirection fadeDirection;
-
     /**
      * Create new fading action.
      * 
@@ -70,53 +66,20 @@ public class FadeAction extends BaseAction {
     @Override
     protected int calculateNewValue(DmxChannel channel, long currentTime) {
 
-        int newValue = channel.getValue();
+        int newValue;
 
         if (startTime == 0) {
-
             startTime = currentTime;
-
-            if (fadeTime != 0) {
-
-                startValue = channel.getValue();
-
-                // calculate fade details
-                if (startValue == targetValue) {
-                    stepDuration = 1;
-                } else if (startValue > targetValue) {
-                    fadeDirection = FadeDirection.down;
-                    stepDuration = fadeTime / (startValue - targetValue);
-                } else {
-                    fadeDirection = FadeDirection.up;
-                    stepDuration = fadeTime / (targetValue - startValue);
-                }
-
-            } else {
-                newValue = targetValue;
-            }
+            startValue = channel.getValue();
         }
 
         long duration = currentTime - startTime;
 
-        if (fadeTime != 0 && newValue != targetValue) {
-
-            // calculate new fade value
-            if (stepDuration == 0) {
-                stepDuration = 1;
-            }
-            int currentStep = (int) (duration / stepDuration);
-
-            if (fadeDirection == FadeDirection.up) {
-                newValue = DmxUtil.capDmxValue(startValue + currentStep);
-                if (newValue > targetValue) {
-                    newValue = targetValue;
-                }
-            } else {
-                newValue = DmxUtil.capDmxValue(startValue - currentStep);
-                if (newValue < targetValue) {
-                    newValue = targetValue;
-                }
-            }
+        if (fadeTime != 0 && duration < fadeTime) {
+            // interpolate linearly between start and target value
+            newValue = startValue + (int) ((targetValue - startValue) * duration / fadeTime);
+        } else {
+            newValue = targetValue;
         }
 
         if (newValue == targetValue && holdTime > -1) {
@@ -132,8 +95,3 @@ public class FadeAction extends BaseAction {
     }
 
 }
-
-enum FadeDirection {
-    up,
-    down
-}
@@ -29,7 +29,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
 
     protected static final Logger logger = LoggerFactory.getLogger(DmxChannel.class);
 
-    private int channelId;
+    private final int channelId;
 
     /** Current channel value in the range from 0-255 **/
     private int value;
@@ -37,9 +37,9 @@ public class DmxChannel implements Comparable<DmxChannel> {
     /** Channel is alive or not.. **/
     private boolean switchedOn = false;
 
-    private List<BaseAction> actions = new ArrayList<BaseAction>();
+    private final List<BaseAction> actions = new ArrayList<BaseAction>();
 
-    private List<BaseAction> suspendedActions = new ArrayList<BaseAction>();
+    private final List<BaseAction> suspendedActions = new ArrayList<BaseAction>();
 
     private int suspendedValue;
 
@@ -144,7 +144,7 @@ public class DmxChannel implements Comparable<DmxChannel> {
      * 
      * @return value 0-255
      */
-    public synchronized Integer getNextValue(long calculationTime) {
+    public synchronized int getNextValue(long calculationTime) {
 
         if (!switchedOn) {
             return DMX_MIN_VALUE;
@@ -114,7 +114,7 @@ public class DmxController implements DmxService, ManagedService {
     @Override
     public void registerStatusListener(DmxStatusUpdateListener listener) {
         logger.trace("Registering listener for channel {}", listener.getChannel());
-        transmitter.getUniverse().addStatusListener(listener);
+        transmitter.getUniverseOfChannel(listener.getChannel()).addStatusListener(listener);
     }
 
     /**
@@ -123,7 +123,7 @@ public class DmxController implements DmxService, ManagedService {
     @Override
     public void unregisterStatusListener(DmxStatusUpdateListener listener) {
         logger.trace("Unregistering listener for channel {}", listener.getChannel());
-        transmitter.getUniverse().removeStatusListener(listener);
+        transmitter.getUniverseOfChannel(listener.getChannel()).removeStatusListener(listener);
     }
 
     /**
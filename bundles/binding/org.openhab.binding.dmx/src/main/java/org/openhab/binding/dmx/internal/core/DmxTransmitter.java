@@ -9,8 +9,10 @@
 package org.openhab.binding.dmx.internal.core;
 
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.openhab.binding.dmx.DmxConnection;
+import org.openhab.binding.dmx.DmxMultiUniverseConnection;
 import org.openhab.binding.dmx.DmxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +22,8 @@ import org.slf4j.LoggerFactory;
  * changes to the DMX connection.
  *
  * This transmitter should always run in a separate thread to allow for smooth
- * transmissions.
+ * transmissions. All universes are calculated and sent in the same run, so
+ * that changes spanning several universes are transmitted together.
  *
  * @author Davy Vanherbergen
  * @since 1.2.0
@@ -29,7 +32,11 @@ public final class DmxTransmitter extends TimerTask {
 
     private static Logger logger = LoggerFactory.getLogger(DmxTransmitter.class);
 
-    private DmxUniverse universe = new DmxUniverse();
+    private final AtomicReferenceArray<DmxUniverse> universes = new AtomicReferenceArray<DmxUniverse>(
+            DmxService.MAX_UNIVERSES);
+
+    /** universes which could not be sent, as the connection supports only one universe **/
+    private final boolean[] unsupportedUniverses = new boolean[DmxService.MAX_UNIVERSES];
 
     private DmxService service;
 
@@ -42,6 +49,7 @@ public final class DmxTransmitter extends TimerTask {
      */
     public DmxTransmitter(DmxService service) {
         this.service = service;
+        universes.set(0, new DmxUniverse(0));
     }
 
     /**
@@ -56,11 +64,23 @@ public final class DmxTransmitter extends TimerTask {
 
         running = true;
         try {
-            byte[] b = universe.calculateBuffer();
-            if (universe.getBufferChanged()) {
-                DmxConnection conn = service.getConnection();
-                if (conn != null) {
-                    conn.sendDmx(b);
+            DmxConnection conn = null;
+            for (int i = 0; i < universes.length(); i++) {
+                DmxUniverse universe = universes.get(i);
+                if (universe == null) {
+                    continue;
+                }
+                byte[] b = universe.calculateBuffer();
+                if (universe.getBufferChanged()) {
+                    if (conn == null) {
+                        conn = service.getConnection();
+                        if (conn == null) {
+                            return;
+                        }
+                    }
+                    send(conn, i, b);
+                    universe.notifyStatusListeners();
+                } else if (universe.hasPendingStatusUpdates()) {
                     universe.notifyStatusListeners();
                 }
             }
@@ -71,6 +91,22 @@ public final class DmxTransmitter extends TimerTask {
         }
     }
 
+    private void send(DmxConnection conn, int universe, byte[] b) {
+        try {
+            if (conn instanceof DmxMultiUniverseConnection) {
+                ((DmxMultiUniverseConnection) conn).sendDmx(universe, b);
+            } else if (universe == 0) {
+                conn.sendDmx(b);
+            } else if (!unsupportedUniverses[universe]) {
+                unsupportedUniverses[universe] = true;
+                logger.warn("The DMX connection {} supports only one universe, channels above 512 are not sent.",
+                        conn.getClass().getSimpleName());
+            }
+        } catch (Exception e) {
+            logger.error("Error sending dmx values.", e);
+        }
+    }
+
     /**
      * @return true if the transmitter is calculating values and transmitting
      */
@@ -89,20 +125,46 @@ public final class DmxTransmitter extends TimerTask {
     }
 
     /**
-     * Get the DMX channel in the current universe.
+     * Get the DMX channel. Channels above 512 belong to the following
+     * universes.
      * 
      * @param channel
      *            number
      * @return DMX channel
      */
     public DmxChannel getChannel(int channel) {
-        return universe.getChannel(channel);
+        return getUniverseOfChannel(channel).getChannel((channel - 1) % DmxUniverse.CHANNELS + 1);
     }
 
     /**
-     * @return DMX universe
+     * @return first DMX universe
      */
     public DmxUniverse getUniverse() {
+        return universes.get(0);
+    }
+
+    /**
+     * Get a DMX universe. If it doesn't exist, it is created.
+     * 
+     * @param universeId
+     *            0 based universe number
+     * @return DMX universe
+     */
+    public DmxUniverse getUniverse(int universeId) {
+        DmxUniverse universe = universes.get(universeId);
+        if (universe == null) {
+            universes.compareAndSet(universeId, null, new DmxUniverse(universeId));
+            universe = universes.get(universeId);
+        }
         return universe;
     }
+
+    /**
+     * @param channel
+     *            number
+     * @return DMX universe containing the channel
+     */
+    public DmxUniverse getUniverseOfChannel(int channel) {
+        return getUniverse((channel - 1) / DmxUniverse.CHANNELS);
+    }
 }
@@ -8,10 +8,12 @@
  */
 package org.openhab.binding.dmx.internal.core;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Vector;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.openhab.binding.dmx.DmxStatusUpdateListener;
 import org.slf4j.Logger;
@@ -20,6 +22,11 @@ import org.slf4j.LoggerFactory;
 /**
  * DMX Universe. Can contain up to 512 DMX channels.
  *
+ * The channels are indexed by their id and their values are calculated into
+ * a frame buffer which is reused for every transmission. The range of the
+ * buffer which changed during the last calculation is tracked, so that only
+ * status listeners of changed channels are notified.
+ *
  * @author Davy Vanherbergen
  * @since 1.2.0
  */
@@ -27,49 +34,81 @@ public class DmxUniverse {
 
     private static final Logger logger = LoggerFactory.getLogger(DmxUniverse.class);
 
-    private Vector<DmxChannel> channels = new Vector<DmxChannel>();
+    /** Number of channels in a DMX universe **/
+    public static final int CHANNELS = 512;
+
+    private final int universeId;
+
+    /** channels by channel id - 1 **/
+    private final DmxChannel[] channels = new DmxChannel[CHANNELS];
+
+    /** all existing channels in order of their id, replaced when a channel is added **/
+    private volatile DmxChannel[] channelList = new DmxChannel[0];
 
-    private short[] buffer = new short[512];
+    private byte[] buffer = new byte[32];
 
-    private boolean bufferChanged = false;
+    private int dirtyStart = Integer.MAX_VALUE;
 
-    private int minimumBufferSize = 32;
+    private int dirtyEnd = -1;
 
-    private List<DmxStatusUpdateListener> updateListeners = new ArrayList<DmxStatusUpdateListener>();
+    private List<DmxStatusUpdateListener> updateListeners = new CopyOnWriteArrayList<DmxStatusUpdateListener>();
+
+    /** listeners with changed channels, which haven't received an update yet because of their update delay **/
+    private Set<DmxStatusUpdateListener> pendingListeners = Collections
+            .newSetFromMap(new IdentityHashMap<DmxStatusUpdateListener, Boolean>());
 
     /**
-     * Change the buffer value at the given index.
+     * Create the first DMX universe.
+     */
+    public DmxUniverse() {
+        this(0);
+    }
+
+    /**
+     * Create a DMX universe.
      * 
-     * @param index
-     * @param value
+     * @param universeId
+     *            0 based universe number.
      */
-    private void setBufferValue(int index, short value) {
+    public DmxUniverse(int universeId) {
+        this.universeId = universeId;
+    }
 
-        if (buffer[index] == value) {
-            return;
-        } else {
-            buffer[index] = value;
-            bufferChanged = true;
-        }
+    /**
+     * @return 0 based universe number.
+     */
+    public int getUniverseId() {
+        return universeId;
     }
 
     /**
-     * Calculate the current DMX buffer state.
+     * Calculate the current DMX buffer state. The returned buffer is reused
+     * for the next calculation.
      * 
      * @return DMX buffer.
      */
     public byte[] calculateBuffer() {
 
-        bufferChanged = false;
+        dirtyStart = Integer.MAX_VALUE;
+        dirtyEnd = -1;
         long calculationTime = System.currentTimeMillis();
 
-        for (DmxChannel channel : channels) {
-            setBufferValue(channel.getChannelId() - 1, channel.getNextValue(calculationTime).shortValue());
+        DmxChannel[] list = channelList;
+        if (list.length > 0 && list[list.length - 1].getChannelId() > buffer.length) {
+            buffer = Arrays.copyOf(buffer, list[list.length - 1].getChannelId());
         }
 
-        byte[] b = new byte[minimumBufferSize];
-        for (int i = 0; i < minimumBufferSize; i++) {
-            b[i] = (byte) (buffer[i]);
+        byte[] b = buffer;
+        for (DmxChannel channel : list) {
+            int index = channel.getChannelId() - 1;
+            byte value = (byte) channel.getNextValue(calculationTime);
+            if (b[index] != value) {
+                b[index] = value;
+                if (index < dirtyStart) {
+                    dirtyStart = index;
+                }
+                dirtyEnd = index;
+            }
         }
         return b;
     }
@@ -80,40 +119,44 @@ public class DmxUniverse {
      * @param channel
      *            to add.
      */
-    private synchronized void addChannel(DmxChannel channel) {
+    private void addChannel(DmxChannel channel) {
 
         logger.trace("Adding channel {}", channel.getChannelId());
-        channels.add(channel);
-        Collections.sort(channels);
+        channels[channel.getChannelId() - 1] = channel;
 
-        if (channel.getChannelId() > minimumBufferSize) {
-            minimumBufferSize = channel.getChannelId();
-        }
+        DmxChannel[] list = Arrays.copyOf(channelList, channelList.length + 1);
+        list[list.length - 1] = channel;
+        Arrays.sort(list);
+        channelList = list;
     }
 
     /**
      * @return true if the buffer was changed since the last calculation.
      */
     public boolean getBufferChanged() {
-        return bufferChanged;
+        return dirtyEnd >= 0;
     }
 
     /**
      * Find a channel by id. If it doesn't exist, it is created.
      * 
      * @param channelId
-     *            int
+     *            int, 1-512
      * @return channel
      */
     public DmxChannel getChannel(int channelId) {
-        for (DmxChannel c : channels) {
-            if (c.getChannelId() == channelId) {
-                return c;
+        DmxChannel c = channels[channelId - 1];
+        if (c != null) {
+            return c;
+        }
+        synchronized (this) {
+            c = channels[channelId - 1];
+            if (c == null) {
+                c = new DmxChannel(channelId);
+                addChannel(c);
             }
+            return c;
         }
-        DmxChannel c = new DmxChannel(channelId);
-        addChannel(c);
-        return c;
     }
 
     /**
@@ -121,7 +164,7 @@ public class DmxUniverse {
      */
     public void clear() {
 
-        for (DmxChannel c : channels) {
+        for (DmxChannel c : channelList) {
             c.setValue(0);
         }
     }
@@ -145,23 +188,51 @@ public class DmxUniverse {
      */
     public void removeStatusListener(DmxStatusUpdateListener listener) {
         updateListeners.remove(listener);
+        synchronized (pendingListeners) {
+            pendingListeners.remove(listener);
+        }
     }
 
     /**
-     * Broadcast status update to all listeners.
+     * @return true if a listener is still waiting for an update of changed
+     *         channels.
+     */
+    public boolean hasPendingStatusUpdates() {
+        synchronized (pendingListeners) {
+            return !pendingListeners.isEmpty();
+        }
+    }
+
+    /**
+     * Broadcast status update to all listeners of channels which were changed
+     * in the last calculation.
      */
     public void notifyStatusListeners() {
 
+        byte[] b = buffer;
         for (DmxStatusUpdateListener listener : updateListeners) {
 
-            if (System.currentTimeMillis() > listener.getLastUpdateTime() + listener.getUpdateDelay()) {
+            int start = listener.getChannel() - 1 - universeId * CHANNELS;
+            int footPrint = listener.getFootPrint();
+            boolean changed = start <= dirtyEnd && start + footPrint > dirtyStart;
 
-                int values[] = new int[listener.getFootPrint()];
-                for (int i = 0; i < listener.getFootPrint(); i++) {
-                    values[i] = getChannel(listener.getChannel() + i).getValue();
+            synchronized (pendingListeners) {
+                if (!changed && !pendingListeners.contains(listener)) {
+                    continue;
                 }
-                listener.processStatusUpdate(values);
+                if (System.currentTimeMillis() <= listener.getLastUpdateTime() + listener.getUpdateDelay()) {
+                    pendingListeners.add(listener);
+                    continue;
+                }
+                pendingListeners.remove(listener);
+            }
+
+            int values[] = new int[footPrint];
+            for (int i = 0; i < footPrint; i++) {
+                int index = start + i;
+                values[i] = index >= 0 && index < b.length ? b[index] & 0xFF : 0;
             }
+            listener.processStatusUpdate(values);
         }
     }
 
@@ -95,8 +95,8 @@ public class DmxUtil {
      * @return dimmed value
      */
     public static int getOutputValue(int input, int outputLevel) {
-        BigDecimal value = BigDecimal.valueOf(input);
-        return value.multiply(BigDecimal.valueOf(outputLevel))
-                .divide(PercentType.HUNDRED.toBigDecimal(), 0, BigDecimal.ROUND_UP).intValue();
+        // rounds away from zero, this is called for every channel on every transmission
+        int value = input * outputLevel;
+        return value >= 0 ? (value + 99) / 100 : (value - 99) / 100;
     }
 }
@@ -8,24 +8,17 @@
  */
 package org.openhab.binding.exec.internal;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.exec.CommandLine;
-import org.apache.commons.exec.DefaultExecuteResultHandler;
-import org.apache.commons.exec.DefaultExecutor;
-import org.apache.commons.exec.ExecuteException;
-import org.apache.commons.exec.ExecuteWatchdog;
-import org.apache.commons.exec.Executor;
-import org.apache.commons.exec.PumpStreamHandler;
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.exec.ExecBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
@@ -36,11 +29,12 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.io.net.exec.CommandLineExecutor;
+import org.openhab.io.net.exec.ExecUtil;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-//import sun.tools.jar.CommandLine;
 
 /**
  * The swiss army knife binding which executes given commands on the commandline.
@@ -61,14 +55,20 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
 
     protected static final Command WILDCARD_COMMAND_KEY = StringType.valueOf("*");
 
-    private static final String CMD_LINE_DELIMITER = "@@";
-
     /** the timeout for executing command (defaults to 60000 milliseconds) */
     private int timeout = 60000;
 
     /** the interval to find new refresh candidates (defaults to 1000 milliseconds) */
     private int granularity = 1000;
 
+    /** the amount of threads executing the command lines (defaults to 5) */
+    private int threads = 5;
+
+    /** the maximum amount of concurrent executions of the same executable (defaults to 2) */
+    private int maxExecutionsPerCommand = 2;
+
+    private CommandLineExecutor commandLineExecutor;
+
     private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
 
     /** RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code> */
@@ -90,15 +90,24 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
         setProperlyConfigured(true);
     }
 
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        stopCommandLineExecutor();
+    }
+
     @Override
     public void execute() {
+        // the items which are due, grouped by their command line so that
+        // identical command lines are executed only once
+        Map<String, List<ItemRefresh>> dueCommandLines = new LinkedHashMap<String, List<ItemRefresh>>();
+
         for (ExecBindingProvider provider : providers) {
             for (String itemName : provider.getInBindingItemNames()) {
 
                 String commandLine = provider.getCommandLine(itemName);
 
                 int refreshInterval = provider.getRefreshInterval(itemName);
-                String transformation = provider.getTransformation(itemName);
 
                 Long lastUpdateTimeStamp = lastUpdateMap.get(itemName);
                 if (lastUpdateTimeStamp == null) {
@@ -114,35 +123,73 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
 
                     commandLine = String.format(commandLine, Calendar.getInstance().getTime(), "", itemName);
 
-                    String response = executeCommandAndWaitResponse(commandLine);
-
-                    if (response == null) {
-                        logger.error("No response received from command '{}'", commandLine);
-                        lastUpdateMap.put(itemName, System.currentTimeMillis());
-                        continue;
-                    }
-
-                    String transformedResponse = response;
-                    // If transformation is needed
-                    if (transformation.length() > 0) {
-                        transformedResponse = transformResponse(response, transformation);
-                    }
-
-                    List<Class<? extends State>> acceptedDataTypes = provider.getAcceptedDataTypes(itemName);
-                    State state = null;
-                    if (acceptedDataTypes != null) {
-                        state = TypeParser.parseState(acceptedDataTypes, transformedResponse);
-                    }
-                    if (state != null) {
-                        eventPublisher.postUpdate(itemName, state);
-                    } else {
-                        logger.debug("Couldn't create state for value '{}'", transformedResponse);
+                    List<ItemRefresh> items = dueCommandLines.get(commandLine);
+                    if (items == null) {
+                        items = new ArrayList<ItemRefresh>();
+                        dueCommandLines.put(commandLine, items);
                     }
+                    items.add(new ItemRefresh(provider, itemName));
 
                     lastUpdateMap.put(itemName, System.currentTimeMillis());
                 }
             }
         }
+
+        // the command lines are executed by the worker threads, the refresh
+        // thread never waits for a process
+        for (Entry<String, List<ItemRefresh>> dueCommandLine : dueCommandLines.entrySet()) {
+            final List<ItemRefresh> items = dueCommandLine.getValue();
+            getCommandLineExecutor().execute(dueCommandLine.getKey(), timeout,
+                    new CommandLineExecutor.ResponseListener() {
+                        @Override
+                        public void responseReceived(String commandLine, String response) {
+                            for (ItemRefresh item : items) {
+                                processResponse(item.provider, item.itemName, commandLine, response);
+                            }
+                        }
+                    });
+        }
+    }
+
+    private void processResponse(ExecBindingProvider provider, String itemName, String commandLine,
+            String response) {
+        if (response == null) {
+            logger.error("No response received from command '{}'", commandLine);
+            return;
+        }
+
+        String transformation = provider.getTransformation(itemName);
+
+        String transformedResponse = response;
+        // If transformation is needed
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(response, transformation);
+        }
+
+        List<Class<? extends State>> acceptedDataTypes = provider.getAcceptedDataTypes(itemName);
+        State state = null;
+        if (acceptedDataTypes != null) {
+            state = TypeParser.parseState(acceptedDataTypes, transformedResponse);
+        }
+        if (state != null) {
+            eventPublisher.postUpdate(itemName, state);
+        } else {
+            logger.debug("Couldn't create state for value '{}'", transformedResponse);
+        }
+    }
+
+    private synchronized CommandLineExecutor getCommandLineExecutor() {
+        if (commandLineExecutor == null) {
+            commandLineExecutor = new CommandLineExecutor("Exec Binding Worker", threads, maxExecutionsPerCommand);
+        }
+        return commandLineExecutor;
+    }
+
+    private synchronized void stopCommandLineExecutor() {
+        if (commandLineExecutor != null) {
+            commandLineExecutor.stop();
+            commandLineExecutor = null;
+        }
     }
 
     protected String transformResponse(String response, String transformation) {
@@ -221,7 +268,7 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
 
             commandLine = String.format(commandLine, Calendar.getInstance().getTime(), command, itemName);
 
-            executeCommand(commandLine);
+            ExecUtil.executeCommandLine(commandLine);
         }
     }
 
@@ -266,107 +313,6 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
         return firstMatchingProvider;
     }
 
-    /**
-     * <p>
-     * Executes <code>commandLine</code>. Sometimes (especially observed on
-     * MacOS) the commandLine isn't executed properly. In that cases another
-     * exec-method is to be used. To accomplish this please use the special
-     * delimiter '<code>@@</code>'. If <code>commandLine</code> contains this
-     * delimiter it is split into a String[] array and the special exec-method
-     * is used.
-     * </p>
-     * <p>
-     * A possible {@link IOException} gets logged but no further processing is
-     * done.
-     * </p>
-     *
-     * @param commandLine the command line to execute
-     * @see http://www.peterfriese.de/running-applescript-from-java/
-     */
-    private void executeCommand(String commandLine) {
-        try {
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                String[] cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                Runtime.getRuntime().exec(cmdArray);
-                logger.info("executed commandLine '{}'", Arrays.asList(cmdArray));
-            } else {
-                Runtime.getRuntime().exec(commandLine);
-                logger.info("executed commandLine '{}'", commandLine);
-            }
-        } catch (IOException e) {
-            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
-        }
-    }
-
-    /**
-     * <p>
-     * Executes <code>commandLine</code>. Sometimes (especially observed on
-     * MacOS) the commandLine isn't executed properly. In that cases another
-     * exec-method is to be used. To accomplish this please use the special
-     * delimiter '<code>@@</code>'. If <code>commandLine</code> contains this
-     * delimiter it is split into a String[] array and the special exec-method
-     * is used.
-     * </p>
-     * <p>
-     * A possible {@link IOException} gets logged but no further processing is
-     * done.
-     * </p>
-     *
-     * @param commandLine the command line to execute
-     * @return response data from executed command line
-     */
-    private String executeCommandAndWaitResponse(String commandLine) {
-        String retval = null;
-
-        CommandLine cmdLine = null;
-
-        if (commandLine.contains(CMD_LINE_DELIMITER)) {
-            String[] cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-            cmdLine = new CommandLine(cmdArray[0]);
-
-            for (int i = 1; i < cmdArray.length; i++) {
-                cmdLine.addArgument(cmdArray[i], false);
-            }
-        } else {
-            cmdLine = CommandLine.parse(commandLine);
-        }
-
-        DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler();
-
-        ExecuteWatchdog watchdog = new ExecuteWatchdog(timeout);
-        Executor executor = new DefaultExecutor();
-
-        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-        PumpStreamHandler streamHandler = new PumpStreamHandler(stdout);
-
-        executor.setExitValue(1);
-        executor.setStreamHandler(streamHandler);
-        executor.setWatchdog(watchdog);
-
-        try {
-            executor.execute(cmdLine, resultHandler);
-            logger.debug("executed commandLine '{}'", commandLine);
-        } catch (ExecuteException e) {
-            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
-        } catch (IOException e) {
-            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
-        }
-
-        // some time later the result handler callback was invoked so we
-        // can safely request the exit code
-        try {
-            resultHandler.waitFor();
-            int exitCode = resultHandler.getExitValue();
-            retval = StringUtils.chomp(stdout.toString());
-            logger.debug("exit code '{}', result '{}'", exitCode, retval);
-
-        } catch (InterruptedException e) {
-            logger.error("Timeout occured when executing commandLine '" + commandLine + "'", e);
-        }
-
-        return retval;
-    }
-
     @Override
     @SuppressWarnings("rawtypes")
     public void updated(Dictionary config) throws ConfigurationException {
@@ -381,6 +327,24 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
             if (StringUtils.isNotBlank(granularityString)) {
                 granularity = Integer.parseInt(granularityString);
             }
+
+            int oldThreads = threads;
+            int oldMaxExecutionsPerCommand = maxExecutionsPerCommand;
+
+            String threadsString = (String) config.get("threads");
+            if (StringUtils.isNotBlank(threadsString)) {
+                threads = Integer.parseInt(threadsString);
+            }
+
+            String maxExecutionsString = (String) config.get("maxExecutionsPerCommand");
+            if (StringUtils.isNotBlank(maxExecutionsString)) {
+                maxExecutionsPerCommand = Integer.parseInt(maxExecutionsString);
+            }
+
+            if (threads != oldThreads || maxExecutionsPerCommand != oldMaxExecutionsPerCommand) {
+                // the executor is recreated with the new limits on the next refresh
+                stopCommandLineExecutor();
+            }
         }
 
     }
@@ -395,4 +359,18 @@ public class ExecBinding extends AbstractActiveBinding<ExecBindingProvider>imple
         super.removeBindingProvider(bindingProvider);
     }
 
+    /**
+     * An item which is refreshed by the response of a command line
+     */
+    private static class ItemRefresh {
+
+        final ExecBindingProvider provider;
+        final String itemName;
+
+        ItemRefresh(ExecBindingProvider provider, String itemName) {
+            this.provider = provider;
+            this.itemName = itemName;
+        }
+    }
+
 }
@@ -31,6 +31,15 @@ import org.osgi.service.cm.ConfigurationException;
  * # Increase this timeout to give the CCU1 more time to respond.
  * # homematic:host.timeout=
  *
+ * # The maximum number of connections per interface (rf, wired, cuxd, homegear) of the Homematic server
+ * # (optional, default is 1). More connections send independent commands in parallel, but the commands
+ * # may then be executed in a different order.
+ * # homematic:host.connections=
+ *
+ * # The time in seconds a connection to the Homematic server is kept open for further requests
+ * # (optional, default is 60). 0 opens a new connection for each request.
+ * # homematic:host.keepalive=
+ *
  * # Hostname / IP address for the callback server (optional, default is auto-discovery)
  * # This is normally the IP / hostname of the local host (but not "localhost" or "127.0.0.1").
  * # homematic:callback.host=
@@ -56,6 +65,8 @@ import org.osgi.service.cm.ConfigurationException;
 public class HomematicConfig {
     private static final String CONFIG_KEY_HOMEMATIC_HOST = "host";
     private static final String CONFIG_KEY_HOMEMATIC_HOST_TIMEOUT = "host.timeout";
+    private static final String CONFIG_KEY_HOMEMATIC_HOST_CONNECTIONS = "host.connections";
+    private static final String CONFIG_KEY_HOMEMATIC_HOST_KEEPALIVE = "host.keepalive";
     private static final String CONFIG_KEY_CALLBACK_HOST = "callback.host";
     private static final String CONFIG_KEY_CALLBACK_PORT = "callback.port";
     private static final String CONFIG_KEY_ALIVE_INTERVAL = "alive.interval";
@@ -64,10 +75,14 @@ public class HomematicConfig {
     private static final Integer DEFAULT_CALLBACK_PORT = 9123;
     private static final int DEFAULT_ALIVE_INTERVAL = 300;
     private static final int DEFAULT_HOST_TIMEOUT = 15;
+    private static final int DEFAULT_HOST_CONNECTIONS = 1;
+    private static final int DEFAULT_HOST_KEEPALIVE = 60;
 
     private boolean valid;
     private String host;
     private Integer timeout;
+    private Integer maxConnections;
+    private Integer keepAlive;
     private String callbackHost;
     private Integer callbackPort;
     private Integer aliveInterval;
@@ -86,6 +101,8 @@ public class HomematicConfig {
         }
 
         timeout = parseInt(properties, CONFIG_KEY_HOMEMATIC_HOST_TIMEOUT, DEFAULT_HOST_TIMEOUT);
+        maxConnections = parseInt(properties, CONFIG_KEY_HOMEMATIC_HOST_CONNECTIONS, DEFAULT_HOST_CONNECTIONS);
+        keepAlive = parseInt(properties, CONFIG_KEY_HOMEMATIC_HOST_KEEPALIVE, DEFAULT_HOST_KEEPALIVE);
 
         callbackHost = (String) properties.get(CONFIG_KEY_CALLBACK_HOST);
         if (StringUtils.isBlank(callbackHost)) {
@@ -131,6 +148,20 @@ public class HomematicConfig {
         return timeout;
     }
 
+    /**
+     * Returns the maximum number of connections per interface of a Homematic server host.
+     */
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Returns the time in seconds a connection to a Homematic server host is kept open.
+     */
+    public Integer getKeepAlive() {
+        return keepAlive;
+    }
+
     /**
      * Returns the callback host.
      */
@@ -183,7 +214,8 @@ public class HomematicConfig {
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("host", host)
-                .append("timeout", timeout).append("callbackHost", callbackHost).append("callbackPort", callbackPort)
+                .append("timeout", timeout).append("maxConnections", maxConnections).append("keepAlive", keepAlive)
+                .append("callbackHost", callbackHost).append("callbackPort", callbackPort)
                 .append("aliveInterval", reconnectInterval == null ? aliveInterval : "disabled")
                 .append("reconnectInterval", reconnectInterval == null ? "disabled" : reconnectInterval).toString();
     }
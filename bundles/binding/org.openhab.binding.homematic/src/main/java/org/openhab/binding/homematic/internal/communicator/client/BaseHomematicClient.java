@@ -8,6 +8,9 @@
  */
 package org.openhab.binding.homematic.internal.communicator.client;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.reflect.FieldUtils;
 import org.openhab.binding.homematic.internal.common.HomematicContext;
@@ -86,19 +89,21 @@ public abstract class BaseHomematicClient implements HomematicClient {
         logger.debug("Sending to remote control {}: {}", remoteControlAddress, rco);
 
         String address = remoteControlAddress + ":18";
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
         if (StringUtils.isNotBlank(rco.getText())) {
-            rpcClient.setDatapointValue(getDefaultInterface(), address, "TEXT", rco.getText());
+            values.put("TEXT", rco.getText());
         }
 
-        rpcClient.setDatapointValue(getDefaultInterface(), address, "BEEP", rco.getBeep());
-        rpcClient.setDatapointValue(getDefaultInterface(), address, "UNIT", rco.getUnit());
-        rpcClient.setDatapointValue(getDefaultInterface(), address, "BACKLIGHT", rco.getBacklight());
+        values.put("BEEP", rco.getBeep());
+        values.put("UNIT", rco.getUnit());
+        values.put("BACKLIGHT", rco.getBacklight());
 
         for (String symbol : rco.getSymbols()) {
-            rpcClient.setDatapointValue(getDefaultInterface(), address, symbol, Boolean.TRUE);
+            values.put(symbol, Boolean.TRUE);
         }
 
-        rpcClient.setDatapointValue(getDefaultInterface(), address, "SUBMIT", Boolean.TRUE);
+        values.put("SUBMIT", Boolean.TRUE);
+        rpcClient.setDatapointValues(getDefaultInterface(), address, values);
     }
 
     /**
@@ -8,15 +8,22 @@
  */
 package org.openhab.binding.homematic.internal.communicator.client;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.ConnectException;
-import java.net.Socket;
+import java.net.SocketException;
+import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.binrpc.BinRpcRequest;
 import org.openhab.binding.homematic.internal.binrpc.BinRpcResponse;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.common.HomematicContext;
+import org.openhab.binding.homematic.internal.communicator.client.BinRpcConnectionPool.Connection;
 import org.openhab.binding.homematic.internal.communicator.client.interfaces.RpcClient;
 import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmRssiInfo;
@@ -25,7 +32,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Client implementation for sending messages via BIN-RPC to the Homematic
- * server.
+ * server. The connections to the server are kept open and reused for
+ * further messages.
  *
  * @author Gerhard Riegler
  * @since 1.5.0
@@ -35,6 +43,13 @@ public class BinRpcClient implements RpcClient {
     private final static boolean TRACE_ENABLED = logger.isTraceEnabled();
 
     private HomematicContext context = HomematicContext.getInstance();
+    private final BinRpcConnectionPool connectionPool;
+
+    public BinRpcClient() {
+        HomematicConfig config = context.getConfig();
+        connectionPool = new BinRpcConnectionPool(config.getHost(), config.getMaxConnections(),
+                config.getTimeout() * 1000, config.getKeepAlive() * 1000L);
+    }
 
     /**
      * {@inheritDoc}
@@ -49,7 +64,7 @@ public class BinRpcClient implements RpcClient {
      */
     @Override
     public void shutdown() throws HomematicClientException {
-        // nothing todo
+        connectionPool.close();
     }
 
     /**
@@ -160,6 +175,38 @@ public class BinRpcClient implements RpcClient {
         sendMessage(hmInterface, request);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDatapointValues(HmInterface hmInterface, String address, Map<String, Object> values)
+            throws HomematicClientException {
+        List<Map<String, Object>> calls = new ArrayList<Map<String, Object>>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            List<Object> params = new ArrayList<Object>();
+            params.add(address);
+            params.add(entry.getKey());
+            params.add(entry.getValue());
+
+            Map<String, Object> call = new LinkedHashMap<String, Object>();
+            call.put("methodName", "setValue");
+            call.put("params", params);
+            calls.add(call);
+        }
+        BinRpcRequest request = new BinRpcRequest("system.multicall");
+        request.addArg(calls);
+        Object[] result = sendMessage(hmInterface, request);
+        if (result != null && result.length > 0 && result[0] instanceof Object[]) {
+            for (Object callResult : (Object[]) result[0]) {
+                if (callResult instanceof Map && ((Map<?, ?>) callResult).containsKey("faultCode")) {
+                    Map<?, ?> fault = (Map<?, ?>) callResult;
+                    throw new HomematicClientException(fault.get("faultCode") + " " + fault.get("faultString")
+                            + " (sending " + request + ")");
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -183,19 +230,33 @@ public class BinRpcClient implements RpcClient {
 
     /**
      * Sends a BIN-RPC message and parses the response to see if there was an
-     * error.
+     * error. If a reused connection has been closed by the server meanwhile,
+     * the message is sent again with a new connection.
      */
-    private synchronized Object[] sendMessage(HmInterface hmInterface, BinRpcRequest request)
-            throws HomematicClientException {
-        Socket socket = null;
+    private Object[] sendMessage(HmInterface hmInterface, BinRpcRequest request) throws HomematicClientException {
+        byte[] message = request.createMessage();
+        Connection connection = null;
+        boolean reusable = false;
         try {
             if (TRACE_ENABLED) {
                 logger.trace("Client BinRpcRequest {}", request);
             }
-            socket = new Socket(context.getConfig().getHost(), hmInterface.getPort());
-            socket.setSoTimeout(context.getConfig().getTimeout() * 1000);
-            socket.getOutputStream().write(request.createMessage());
-            BinRpcResponse resp = new BinRpcResponse(socket.getInputStream(), false);
+            connection = connectionPool.acquire(hmInterface.getPort());
+            BinRpcResponse resp;
+            try {
+                resp = sendMessage(connection, message);
+            } catch (IOException ex) {
+                if (!connection.isReused() || !(ex instanceof SocketException || ex instanceof EOFException)) {
+                    throw ex;
+                }
+                logger.debug("Connection to interface {} was closed by the server, reconnecting", hmInterface);
+                connectionPool.release(connection, false);
+                // don't give back the connection twice if the new one fails
+                connection = null;
+                connection = connectionPool.acquire(hmInterface.getPort());
+                resp = sendMessage(connection, message);
+            }
+            reusable = true;
 
             if (TRACE_ENABLED) {
                 logger.trace("Client BinRpcResponse: {}", resp.toString());
@@ -225,14 +286,18 @@ public class BinRpcClient implements RpcClient {
         } catch (Exception ex) {
             throw new HomematicClientException(ex.getMessage() + " (sending " + request + ")", ex);
         } finally {
-            try {
-                if (socket != null) {
-                    socket.close();
-                }
-            } catch (IOException ex) {
-                // ignore
+            if (connection != null) {
+                connectionPool.release(connection, reusable);
             }
         }
     }
 
+    /**
+     * Writes the message to the connection and reads the response.
+     */
+    private BinRpcResponse sendMessage(Connection connection, byte[] message) throws IOException, ParseException {
+        connection.getSocket().getOutputStream().write(message);
+        return new BinRpcResponse(connection.getSocket().getInputStream(), false);
+    }
+
 }
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.homematic.internal.communicator.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the BIN-RPC connections to the ports of the Homematic server open, so
+ * that they can be used for more than one request. The number of connections
+ * per port is limited, requests which exceed this limit wait for a free
+ * connection. Connections are closed after they have been open for the
+ * configured keep alive time.
+ *
+ * @since 1.9.0
+ */
+class BinRpcConnectionPool {
+    private final static Logger logger = LoggerFactory.getLogger(BinRpcConnectionPool.class);
+
+    /**
+     * A connection to a port of the Homematic server.
+     */
+    static class Connection {
+        private final int port;
+        private final Socket socket;
+        private final long created;
+        private final boolean reused;
+
+        private Connection(int port, Socket socket, long created, boolean reused) {
+            this.port = port;
+            this.socket = socket;
+            this.created = created;
+            this.reused = reused;
+        }
+
+        /**
+         * Returns the socket of the connection.
+         */
+        Socket getSocket() {
+            return socket;
+        }
+
+        /**
+         * Returns true if the connection has been used for a request before.
+         */
+        boolean isReused() {
+            return reused;
+        }
+
+        private Connection reuse() {
+            return new Connection(port, socket, created, true);
+        }
+    }
+
+    private final String host;
+    private final int maxConnections;
+    private final int timeout;
+    private final long keepAlive;
+
+    private final Map<Integer, Deque<Connection>> idleConnections = new HashMap<Integer, Deque<Connection>>();
+    private final Map<Integer, Semaphore> permits = new HashMap<Integer, Semaphore>();
+    private boolean closed = false;
+
+    /**
+     * @param host the host of the Homematic server
+     * @param maxConnections the maximum number of connections per port
+     * @param timeout the connect and read timeout in milliseconds
+     * @param keepAlive the time in milliseconds a connection is kept open, 0 to close it after each request
+     */
+    BinRpcConnectionPool(String host, int maxConnections, int timeout, long keepAlive) {
+        this.host = host;
+        this.maxConnections = Math.max(maxConnections, 1);
+        this.timeout = timeout;
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Returns a connection to the given port, waiting for a free connection if
+     * all connections to the port are in use. The connection must be given back
+     * with {@link #release(Connection, boolean)}.
+     */
+    Connection acquire(int port) throws IOException {
+        Semaphore semaphore = getPermits(port);
+        try {
+            if (!semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timeout waiting for a free connection to port " + port);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for a free connection to port " + port);
+        }
+
+        try {
+            Connection connection = pollIdle(port);
+            if (connection != null) {
+                return connection;
+            }
+
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), timeout);
+                socket.setSoTimeout(timeout);
+                socket.setTcpNoDelay(true);
+                socket.setKeepAlive(true);
+            } catch (IOException ex) {
+                closeQuietly(socket);
+                throw ex;
+            }
+            return new Connection(port, socket, System.currentTimeMillis(), false);
+        } catch (IOException ex) {
+            semaphore.release();
+            throw ex;
+        } catch (RuntimeException ex) {
+            semaphore.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Gives back a connection acquired with {@link #acquire(int)}.
+     *
+     * @param connection the connection
+     * @param reusable false if the connection is broken and must be closed
+     */
+    void release(Connection connection, boolean reusable) {
+        try {
+            synchronized (this) {
+                if (reusable && !closed && !isExpired(connection)) {
+                    getIdle(connection.port).push(connection.reuse());
+                    return;
+                }
+            }
+            closeQuietly(connection.socket);
+        } finally {
+            getPermits(connection.port).release();
+        }
+    }
+
+    /**
+     * Closes all idle connections, connections in use are closed when they are
+     * given back.
+     */
+    void close() {
+        Deque<Connection> connections = new ArrayDeque<Connection>();
+        synchronized (this) {
+            closed = true;
+            for (Deque<Connection> idle : idleConnections.values()) {
+                connections.addAll(idle);
+            }
+            idleConnections.clear();
+        }
+        for (Connection connection : connections) {
+            closeQuietly(connection.socket);
+        }
+    }
+
+    private Connection pollIdle(int port) {
+        Connection connection;
+        while (true) {
+            synchronized (this) {
+                connection = getIdle(port).poll();
+            }
+            if (connection == null) {
+                return null;
+            }
+            if (!isExpired(connection) && isOpen(connection.socket)) {
+                return connection;
+            }
+            logger.trace("Closing expired BIN-RPC connection to port {}", port);
+            closeQuietly(connection.socket);
+        }
+    }
+
+    /**
+     * Checks if the server has closed the connection meanwhile, without waiting
+     * for data.
+     */
+    private boolean isOpen(Socket socket) {
+        if (socket.isClosed() || socket.isInputShutdown()) {
+            return false;
+        }
+        try {
+            socket.setSoTimeout(1);
+            try {
+                socket.getInputStream().read();
+                // either the end of the stream or data nobody asked for, the connection can't be used anymore
+                return false;
+            } catch (SocketTimeoutException ex) {
+                return true;
+            } finally {
+                socket.setSoTimeout(timeout);
+            }
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(Connection connection) {
+        return System.currentTimeMillis() - connection.created >= keepAlive;
+    }
+
+    private synchronized Deque<Connection> getIdle(int port) {
+        Deque<Connection> idle = idleConnections.get(port);
+        if (idle == null) {
+            idle = new ArrayDeque<Connection>();
+            idleConnections.put(port, idle);
+        }
+        return idle;
+    }
+
+    private synchronized Semaphore getPermits(int port) {
+        Semaphore semaphore = permits.get(port);
+        if (semaphore == null) {
+            semaphore = new Semaphore(maxConnections);
+            permits.put(port, semaphore);
+        }
+        return semaphore;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+}
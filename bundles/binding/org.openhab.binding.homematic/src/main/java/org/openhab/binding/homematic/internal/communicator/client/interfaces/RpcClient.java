@@ -39,6 +39,13 @@ public interface RpcClient {
     public void setDatapointValue(HmInterface hmInterface, String address, String datapointName, Object value)
             throws HomematicClientException;
 
+    /**
+     * Set several values of a device specified by address with a single
+     * request, in the order of the map.
+     */
+    public void setDatapointValues(HmInterface hmInterface, String address, Map<String, Object> values)
+            throws HomematicClientException;
+
     /**
      * Register a callback for the specified interface where the Homematic
      * server can send its events.
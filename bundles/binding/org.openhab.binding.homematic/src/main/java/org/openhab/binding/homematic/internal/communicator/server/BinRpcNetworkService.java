@@ -13,6 +13,8 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.common.HomematicContext;
@@ -30,8 +32,20 @@ import org.slf4j.LoggerFactory;
 public class BinRpcNetworkService implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
 
+    /** the maximum number of callbacks which are handled at the same time */
+    private static final int MAX_CALLBACK_THREADS = 8;
+
     private ServerSocket serverSocket;
-    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final ExecutorService pool = Executors.newFixedThreadPool(MAX_CALLBACK_THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Homematic Callback " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
     private boolean accept = true;
     private HomematicCallbackReceiver callbackReceiver;
 
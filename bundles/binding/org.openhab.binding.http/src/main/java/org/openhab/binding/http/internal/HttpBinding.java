@@ -16,6 +16,7 @@ import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -23,6 +24,7 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.http.HttpBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.ContactItem;
 import org.openhab.core.library.items.DateTimeItem;
@@ -63,6 +65,8 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
 
     protected static final String CONFIG_TIMEOUT = "timeout";
     protected static final String CONFIG_GRANULARITY = "granularity";
+    protected static final String CONFIG_THREADS = "threads";
+    protected static final String CONFIG_REQUESTS_PER_HOST = "requestsPerHost";
 
     /** the timeout to use for connecting to a given host (defaults to 5000 milliseconds) */
     private int timeout = 5000;
@@ -70,7 +74,19 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
     /** the interval to find new refresh candidates (defaults to 1000 milliseconds) */
     private int granularity = 1000;
 
-    private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
+    /** the amount of threads executing the requests (defaults to 5) */
+    private int threads = 5;
+
+    /** the maximum amount of concurrent requests to a single host (defaults to 2) */
+    private int requestsPerHost = 2;
+
+    /** the in-bound items ordered by the time they are due to be refreshed */
+    private final PriorityQueue<ScheduledItem> schedule = new PriorityQueue<ScheduledItem>();
+
+    /** indicates that the bindings have changed and the schedule has to be updated */
+    private volatile boolean scheduleOutdated = true;
+
+    private final HttpRequestDispatcher dispatcher = new HttpRequestDispatcher(threads, requestsPerHost, timeout);
 
     /** RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code> */
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
@@ -107,12 +123,38 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
         setProperlyConfigured(true);
     }
 
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        dispatcher.stop();
+    }
+
     protected void addBindingProvider(HttpBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        scheduleOutdated = true;
     }
 
     protected void removeBindingProvider(HttpBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        scheduleOutdated = true;
+    }
+
+    /**
+     * @{inheritDoc}
+     */
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        scheduleOutdated = true;
+        super.bindingChanged(provider, itemName);
+    }
+
+    /**
+     * @{inheritDoc}
+     */
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        scheduleOutdated = true;
+        super.allBindingsChanged(provider);
     }
 
     /**
@@ -136,84 +178,132 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
      */
     @Override
     public void execute() {
+        if (scheduleOutdated) {
+            updateSchedule();
+        }
+
+        long now = System.currentTimeMillis();
+        while (!schedule.isEmpty() && schedule.peek().due <= now) {
+            ScheduledItem scheduledItem = schedule.poll();
+            scheduledItem.due = now + refresh(scheduledItem.provider, scheduledItem.itemName);
+            schedule.add(scheduledItem);
+        }
+    }
+
+    /**
+     * Rebuilds the refresh schedule from the current in-bindings. Items which have
+     * been scheduled before keep their due time, new items are due immediately.
+     */
+    private void updateSchedule() {
+        scheduleOutdated = false;
+
+        Map<String, Long> dueTimes = new HashMap<String, Long>();
+        for (ScheduledItem scheduledItem : schedule) {
+            dueTimes.put(scheduledItem.itemName, scheduledItem.due);
+        }
+        schedule.clear();
 
         for (HttpBindingProvider provider : providers) {
             for (String itemName : provider.getInBindingItemNames()) {
+                Long due = dueTimes.get(itemName);
+                schedule.add(new ScheduledItem(provider, itemName, due != null ? due : 0L));
+            }
+        }
+    }
 
-                String url = provider.getUrl(itemName);
-                url = String.format(url, Calendar.getInstance().getTime());
-
-                Properties headers = provider.getHttpHeaders(itemName);
-                int refreshInterval = provider.getRefreshInterval(itemName);
-                String transformation = provider.getTransformation(itemName);
+    /**
+     * Dispatches the request which refreshes the given item
+     *
+     * @return the delay in milliseconds until the item is due again
+     */
+    private long refresh(final HttpBindingProvider provider, final String itemName) {
+        String url = provider.getUrl(itemName);
+        if (url == null) {
+            // the binding has been removed meanwhile
+            scheduleOutdated = true;
+            return Long.MAX_VALUE / 2;
+        }
+        url = String.format(url, Calendar.getInstance().getTime());
 
-                Long lastUpdateTimeStamp = lastUpdateMap.get(itemName);
-                if (lastUpdateTimeStamp == null) {
-                    lastUpdateTimeStamp = 0L;
-                }
+        final String requestUrl;
+        Properties headers;
+        long maxAge;
 
-                long age = System.currentTimeMillis() - lastUpdateTimeStamp;
-                boolean needsUpdate = age >= refreshInterval;
+        // check if special URL is used and data should get from
+        // cache rather than directly from server
+        CacheConfig cacheConfig;
+        synchronized (itemCacheLock) {
+            cacheConfig = itemCache.get(url);
+        }
+        if (cacheConfig != null) {
+            logger.debug("item '{}' is fetched from cache", itemName);
+            requestUrl = cacheConfig.url;
+            headers = cacheConfig.headers;
+            maxAge = cacheConfig.updateInterval;
+        } else if (isValidUrl(url)) {
+            logger.debug("item '{}' is about to be refreshed now", itemName);
+            requestUrl = url;
+            headers = provider.getHttpHeaders(itemName);
+            // items polling the same url within one refresh cycle share the response
+            maxAge = granularity;
+        } else {
+            logger.debug("item '{}' is not a valid URL or is a cache id yet to be initialised ({})", itemName,
+                    url);
+            return granularity;
+        }
 
-                if (needsUpdate) {
+        dispatcher.request(requestUrl, headers, maxAge, new HttpRequestDispatcher.ResponseListener() {
+            @Override
+            public void responseReceived(String response) {
+                if (response == null) {
+                    logger.error("No response received from '{}'", requestUrl);
+                } else {
+                    processResponse(provider, itemName, response);
+                }
+            }
+        });
 
-                    String response = null;
+        return provider.getRefreshInterval(itemName);
+    }
 
-                    // check if special URL is used and data should get from
-                    // cache rather than directly from server
-                    if (isCacheConfig(url)) {
-                        logger.debug("item '{}' is fetched from cache", itemName);
-                        response = getCacheData(url);
-                    } else if (isValidUrl(url)) {
-                        logger.debug("item '{}' is about to be refreshed now", itemName);
-                        response = HttpUtil.executeUrl("GET", url, headers, null, null, timeout);
-                    } else {
-                        logger.debug("item '{}' is not a valid URL or is a cache id yet to be initialised ({})",
-                                itemName, url);
-                        continue;
-                    }
+    private void processResponse(HttpBindingProvider provider, String itemName, String response) {
+        String transformation = provider.getTransformation(itemName);
+        Class<? extends Item> itemType = provider.getItemType(itemName);
+        if (transformation == null || itemType == null) {
+            // the binding has been removed meanwhile
+            return;
+        }
 
-                    if (response == null) {
-                        logger.error("No response received from '{}'", url);
-                    } else {
-                        String transformedResponse;
-                        try {
-                            String[] parts = splitTransformationConfig(transformation);
-                            String transformationType = parts[0];
-                            String transformationFunction = parts[1];
-
-                            TransformationService transformationService = TransformationHelper
-                                    .getTransformationService(HttpActivator.getContext(), transformationType);
-                            if (transformationService != null) {
-                                transformedResponse = transformationService.transform(transformationFunction, response);
-                            } else {
-                                transformedResponse = response;
-                                logger.warn(
-                                        "couldn't transform response because transformationService of type '{}' is unavailable",
-                                        transformationType);
-                            }
-                        } catch (TransformationException te) {
-                            logger.error("transformation throws exception [transformation=" + transformation
-                                    + ", response=" + response + "]", te);
-
-                            // in case of an error we return the response without any
-                            // transformation
-                            transformedResponse = response;
-                        }
+        String transformedResponse;
+        try {
+            String[] parts = splitTransformationConfig(transformation);
+            String transformationType = parts[0];
+            String transformationFunction = parts[1];
+
+            TransformationService transformationService = TransformationHelper
+                    .getTransformationService(HttpActivator.getContext(), transformationType);
+            if (transformationService != null) {
+                transformedResponse = transformationService.transform(transformationFunction, response);
+            } else {
+                transformedResponse = response;
+                logger.warn("couldn't transform response because transformationService of type '{}' is unavailable",
+                        transformationType);
+            }
+        } catch (TransformationException te) {
+            logger.error("transformation throws exception [transformation=" + transformation + ", response="
+                    + response + "]", te);
 
-                        logger.debug("transformed response is '{}'", transformedResponse);
+            // in case of an error we return the response without any
+            // transformation
+            transformedResponse = response;
+        }
 
-                        Class<? extends Item> itemType = provider.getItemType(itemName);
-                        State state = createState(itemType, transformedResponse);
+        logger.debug("transformed response is '{}'", transformedResponse);
 
-                        if (state != null) {
-                            eventPublisher.postUpdate(itemName, state);
-                        }
-                    }
+        State state = createState(itemType, transformedResponse);
 
-                    lastUpdateMap.put(itemName, System.currentTimeMillis());
-                }
-            }
+        if (state != null) {
+            eventPublisher.postUpdate(itemName, state);
         }
     }
 
@@ -340,57 +430,6 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
         return false;
     }
 
-    /**
-     * Synchronized access to the item cache. Do a quick check to see if this
-     * <code>cacheId</code> references a cached item.
-     *
-     * @param cacheId
-     * @return true if this <code>cacheId</code> is a cached item, false
-     *         otherwise
-     */
-    private boolean isCacheConfig(String cacheId) {
-        synchronized (itemCacheLock) {
-            return itemCache.containsKey(cacheId);
-        }
-    }
-
-    /**
-     * Synchronized access to the item cache. Checks the <code>cacheId</code>
-     * is a cached item and returns the cached value. If the cache has
-     * expired, refresh the cache value by making a new HTTP request.
-     *
-     * @param cacheId
-     * @return the cached (or refreshed) dats
-     */
-    private String getCacheData(String cacheId) {
-        synchronized (itemCacheLock) {
-            // check again in case the cache was cleared in between taking
-            // the lock when checking in isCacheConfig() and now
-            if (!itemCache.containsKey(cacheId)) {
-                return null;
-            }
-
-            CacheConfig cacheConfig = itemCache.get(cacheId);
-
-            long cacheAge = System.currentTimeMillis() - cacheConfig.lastUpdate;
-            boolean cacheNeedsUpdate = cacheAge >= cacheConfig.updateInterval;
-
-            if (cacheNeedsUpdate) {
-
-                // update and store data on cache
-                logger.debug("updating cache for '{}' ('{}')", cacheId, cacheConfig.url);
-                cacheConfig.data = HttpUtil.executeUrl("GET", cacheConfig.url, cacheConfig.headers, null, null,
-                        timeout);
-
-                if (cacheConfig.data != null) {
-                    cacheConfig.lastUpdate = System.currentTimeMillis();
-                }
-            }
-
-            return cacheConfig.data;
-        }
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -400,6 +439,7 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
         synchronized (itemCacheLock) {
             // clear any existing cache item configs
             itemCache.clear();
+            dispatcher.clearCache();
 
             if (config != null) {
                 String timeoutString = (String) config.get(CONFIG_TIMEOUT);
@@ -412,6 +452,16 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
                     granularity = Integer.parseInt(granularityString);
                 }
 
+                String threadsString = (String) config.get(CONFIG_THREADS);
+                if (StringUtils.isNotBlank(threadsString)) {
+                    threads = Integer.parseInt(threadsString);
+                }
+
+                String requestsPerHostString = (String) config.get(CONFIG_REQUESTS_PER_HOST);
+                if (StringUtils.isNotBlank(requestsPerHostString)) {
+                    requestsPerHost = Integer.parseInt(requestsPerHostString);
+                }
+
                 // Parse page cache config
 
                 @SuppressWarnings("unchecked")
@@ -422,7 +472,8 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
 
                     // the config-key enumeration contains additional keys that we
                     // don't want to process here ...
-                    if (CONFIG_TIMEOUT.equals(key) || CONFIG_GRANULARITY.equals(key) || "service.pid".equals(key)) {
+                    if (CONFIG_TIMEOUT.equals(key) || CONFIG_GRANULARITY.equals(key) || CONFIG_THREADS.equals(key)
+                            || CONFIG_REQUESTS_PER_HOST.equals(key) || "service.pid".equals(key)) {
                         continue;
                     }
 
@@ -466,6 +517,8 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
                 }
             }
         }
+
+        dispatcher.configure(threads, requestsPerHost, timeout);
     }
 
     private Properties parseHttpHeaders(String group) {
@@ -506,12 +559,6 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
         /** Update interval for cache */
         int updateInterval = 0;
 
-        /** Variable to store cached data */
-        String data;
-
-        /** Last time when data is updated */
-        long lastUpdate;
-
         public CacheConfig(String id) {
             this.id = id;
         }
@@ -521,4 +568,27 @@ public class HttpBinding extends AbstractActiveBinding<HttpBindingProvider>imple
             return "CacheConfig [id=" + id + ", url=" + url + ", update interval=" + updateInterval + "]";
         }
     }
+
+    /**
+     * An in-bound item together with the time it is due to be refreshed next
+     */
+    static class ScheduledItem implements Comparable<ScheduledItem> {
+
+        final HttpBindingProvider provider;
+        final String itemName;
+
+        /** the time in milliseconds when the item is due */
+        long due;
+
+        ScheduledItem(HttpBindingProvider provider, String itemName, long due) {
+            this.provider = provider;
+            this.itemName = itemName;
+            this.due = due;
+        }
+
+        @Override
+        public int compareTo(ScheduledItem other) {
+            return due < other.due ? -1 : (due > other.due ? 1 : 0);
+        }
+    }
 }
@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.http.internal;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.io.net.http.HttpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the GET requests of the {@link HttpBinding} on a bounded pool of
+ * worker threads, so that a slow server does not delay the refresh of other items.
+ * <p>
+ * Requests for the same url and headers are coalesced: while a request is running
+ * further listeners are attached to it, and its response is kept in a bounded LRU
+ * cache from which later requests are answered as long as the response is younger
+ * than the maximum age they accept. The amount of concurrent requests per host is
+ * limited, further requests to that host are queued.
+ *
+ * @since 1.9.0
+ */
+class HttpRequestDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpRequestDispatcher.class);
+
+    /** the maximum amount of cached responses */
+    private static final int MAX_CACHED_RESPONSES = 100;
+
+    /**
+     * Receives the response of a dispatched request.
+     */
+    interface ResponseListener {
+
+        /**
+         * Called with the response of the request
+         *
+         * @param response the response body or <code>null</code> if the request went wrong
+         */
+        void responseReceived(String response);
+
+    }
+
+    private static class CachedResponse {
+
+        final String data;
+        final long timestamp;
+
+        CachedResponse(String data, long timestamp) {
+            this.data = data;
+            this.timestamp = timestamp;
+        }
+
+    }
+
+    private class Request implements Runnable {
+
+        final String key;
+        final String url;
+        final Properties headers;
+        final String host;
+        final List<ResponseListener> listeners = new ArrayList<ResponseListener>();
+
+        Request(String key, String url, Properties headers) {
+            this.key = key;
+            this.url = url;
+            this.headers = headers;
+            this.host = getHost(url);
+        }
+
+        @Override
+        public void run() {
+            String response = null;
+            try {
+                response = HttpUtil.executeUrl("GET", url, headers, null, null, timeout);
+            } finally {
+                complete(this, response);
+            }
+        }
+
+    }
+
+    private final Object lock = new Object();
+
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_CACHED_RESPONSES;
+        }
+    };
+
+    private final Map<String, Request> runningRequests = new HashMap<String, Request>();
+    private final Map<String, Integer> activeRequestsPerHost = new HashMap<String, Integer>();
+    private final Map<String, LinkedList<Request>> waitingRequestsPerHost = new HashMap<String, LinkedList<Request>>();
+
+    private ExecutorService executor;
+    private int threads;
+    private volatile int maxRequestsPerHost;
+    private volatile int timeout;
+
+    /**
+     * @param threads the amount of worker threads
+     * @param maxRequestsPerHost the maximum amount of concurrent requests to a single host
+     * @param timeout the socket timeout of the requests in milliseconds
+     */
+    HttpRequestDispatcher(int threads, int maxRequestsPerHost, int timeout) {
+        this.threads = threads;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Reconfigures the dispatcher. A changed amount of threads takes effect for
+     * requests which are started afterwards.
+     */
+    void configure(int threads, int maxRequestsPerHost, int timeout) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.timeout = timeout;
+        synchronized (lock) {
+            if (this.threads != threads) {
+                this.threads = threads;
+                if (executor != null) {
+                    // running requests are completed by the old executor
+                    executor.shutdown();
+                    executor = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the worker threads, requests which are still waiting are discarded.
+     */
+    void stop() {
+        synchronized (lock) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            runningRequests.clear();
+            activeRequestsPerHost.clear();
+            waitingRequestsPerHost.clear();
+            responses.clear();
+        }
+    }
+
+    /**
+     * Removes all cached responses
+     */
+    void clearCache() {
+        synchronized (lock) {
+            responses.clear();
+        }
+    }
+
+    /**
+     * Requests the given url. If a response for the same url and headers is cached and
+     * not older than <code>maxAge</code> the listener is called immediately, if such a
+     * request is running already the listener is called with its response.
+     *
+     * @param url the url to request
+     * @param headers the HTTP headers to send with the request, may be <code>null</code>
+     * @param maxAge the maximum age in milliseconds of a cached response
+     * @param listener the listener to call with the response
+     */
+    void request(String url, Properties headers, long maxAge, ResponseListener listener) {
+        String key = createKey(url, headers);
+        CachedResponse cachedResponse;
+
+        synchronized (lock) {
+            cachedResponse = responses.get(key);
+            if (cachedResponse == null || System.currentTimeMillis() - cachedResponse.timestamp >= maxAge) {
+                cachedResponse = null;
+
+                Request request = runningRequests.get(key);
+                if (request == null) {
+                    request = new Request(key, url, headers);
+                    runningRequests.put(key, request);
+                    start(request);
+                } else {
+                    logger.trace("Request to '{}' is already running", url);
+                }
+                request.listeners.add(listener);
+            }
+        }
+
+        if (cachedResponse != null) {
+            logger.trace("Response of '{}' is taken from cache", url);
+            listener.responseReceived(cachedResponse.data);
+        }
+    }
+
+    /**
+     * Starts the given request or queues it if there are too many active requests to its host,
+     * must be called while holding the lock
+     */
+    private void start(Request request) {
+        Integer active = activeRequestsPerHost.get(request.host);
+        if (active == null) {
+            active = 0;
+        }
+
+        if (active >= maxRequestsPerHost) {
+            LinkedList<Request> waiting = waitingRequestsPerHost.get(request.host);
+            if (waiting == null) {
+                waiting = new LinkedList<Request>();
+                waitingRequestsPerHost.put(request.host, waiting);
+            }
+            logger.trace("Too many requests to '{}', queueing request to '{}'", request.host, request.url);
+            waiting.add(request);
+        } else {
+            activeRequestsPerHost.put(request.host, active + 1);
+            getExecutor().execute(request);
+        }
+    }
+
+    private void complete(Request request, String response) {
+        List<ResponseListener> listeners;
+
+        synchronized (lock) {
+            if (runningRequests.get(request.key) != request) {
+                // the dispatcher has been stopped meanwhile
+                return;
+            }
+            runningRequests.remove(request.key);
+            if (response != null) {
+                responses.put(request.key, new CachedResponse(response, System.currentTimeMillis()));
+            }
+            listeners = new ArrayList<ResponseListener>(request.listeners);
+
+            Integer active = activeRequestsPerHost.get(request.host);
+            if (active == null || active <= 1) {
+                activeRequestsPerHost.remove(request.host);
+            } else {
+                activeRequestsPerHost.put(request.host, active - 1);
+            }
+
+            LinkedList<Request> waiting = waitingRequestsPerHost.get(request.host);
+            if (waiting != null) {
+                Request next = waiting.poll();
+                if (waiting.isEmpty()) {
+                    waitingRequestsPerHost.remove(request.host);
+                }
+                if (next != null) {
+                    start(next);
+                }
+            }
+        }
+
+        for (ResponseListener listener : listeners) {
+            try {
+                listener.responseReceived(response);
+            } catch (RuntimeException e) {
+                logger.error("Error while processing the response of '" + request.url + "'", e);
+            }
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "HTTP Binding Worker " + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+    private static String createKey(String url, Properties headers) {
+        if (headers == null || headers.isEmpty()) {
+            return url;
+        }
+        // sort the headers so that the key does not depend on their order
+        Map<String, String> sortedHeaders = new TreeMap<String, String>();
+        for (String name : headers.stringPropertyNames()) {
+            sortedHeaders.put(name, headers.getProperty(name));
+        }
+        return url + sortedHeaders;
+    }
+
+    private static String getHost(String url) {
+        try {
+            return new URL(url).getHost().toLowerCase();
+        } catch (MalformedURLException e) {
+            return url;
+        }
+    }
+
+}
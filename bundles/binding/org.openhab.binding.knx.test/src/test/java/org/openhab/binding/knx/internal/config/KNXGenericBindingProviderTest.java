@@ -18,6 +18,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.openhab.binding.knx.internal.config.KNXGenericBindingProvider.KNXBindingConfig;
 import org.openhab.binding.knx.internal.config.KNXGenericBindingProvider.KNXBindingConfigItem;
+import org.openhab.core.binding.BindingChangeListener;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.PercentType;
@@ -161,6 +163,37 @@ public class KNXGenericBindingProviderTest {
         assertEquals(false, provider.providesBindingFor("someotheritem"));
     }
 
+    @Test
+    public void testListenersSeeChangedGroupAddresses() throws BindingConfigParseException, KNXFormatException {
+
+        final GroupAddress groupAddress = new GroupAddress("1/2/4");
+        final List<String> seenItemNames = new ArrayList<String>();
+        provider.processBindingConfiguration("text", item1, "1/2/3");
+        assertFalse(provider.getListeningItemNames(groupAddress).iterator().hasNext());
+
+        provider.addBindingChangeListener(new BindingChangeListener() {
+            @Override
+            public void bindingChanged(BindingProvider changedProvider, String itemName) {
+                seenItemNames.clear();
+                for (String name : provider.getListeningItemNames(groupAddress)) {
+                    seenItemNames.add(name);
+                }
+            }
+
+            @Override
+            public void allBindingsChanged(BindingProvider changedProvider) {
+            }
+        });
+
+        // method under Test
+        provider.processBindingConfiguration("text", item2, "1/2/4");
+        assertEquals(1, seenItemNames.size());
+        assertEquals(item2.getName(), seenItemNames.get(0));
+
+        provider.removeConfigurations("text");
+        assertTrue(seenItemNames.isEmpty());
+    }
+
     private class TestItem extends GenericItem {
 
         private List<Class<? extends State>> acceptedDataTypes = new ArrayList<Class<? extends State>>();
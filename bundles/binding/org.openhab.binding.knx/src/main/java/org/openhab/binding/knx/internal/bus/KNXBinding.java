@@ -13,7 +13,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.IllegalClassException;
 import org.openhab.binding.knx.config.KNXBindingProvider;
@@ -64,6 +66,23 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
 
     private KNXBusReaderScheduler mKNXBusReaderScheduler = new KNXBusReaderScheduler();
 
+    /**
+     * the items and datapoints listening to each group address which has been received so far,
+     * replaced by an empty map whenever the bindings change
+     */
+    private volatile Map<GroupAddress, GroupAddressRoute> routes = new ConcurrentHashMap<GroupAddress, GroupAddressRoute>();
+
+    /**
+     * The items and their datapoints which listen to a group address.
+     */
+    private static class GroupAddressRoute {
+
+        final List<String> itemNames = new ArrayList<String>();
+        final List<Datapoint> datapoints = new ArrayList<Datapoint>();
+        boolean commandGA;
+
+    }
+
     private boolean mKNXConnectionEstablished;
 
     public void activate(ComponentContext componentContext) {
@@ -197,7 +216,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
 
     /**
      * Handles the given {@link ProcessEvent}. After finding the corresponding
-     * Item (by iterating through all known group addresses) this Item is updated.
+     * Item (by looking up the route of the group address) this Item is updated.
      * Each item is added to a special list to identify and avoid echo's in
      * the <code>receiveUpdate</code> and <code>receiveCommand</code> methods.
      *
@@ -210,46 +229,43 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
             if (asdu.length == 0) {
                 return;
             }
-            String[] itemList = getItemNames(destination);
-            if (itemList.length == 0) {
+            GroupAddressRoute route = getRoute(destination);
+            if (route.itemNames.isEmpty()) {
                 logger.debug("Received telegram for unknown group address {}", destination.toString());
             }
-            for (String itemName : itemList) {
-                Iterable<Datapoint> datapoints = getDatapoints(itemName, destination);
-                if (datapoints != null) {
-                    for (Datapoint datapoint : datapoints) {
-                        Type type = getType(datapoint, asdu);
-                        if (type != null) {
-                            // we need to make sure that we won't send out this event to
-                            // the knx bus again, when receiving it on the openHAB bus
-                            ignoreEventList.add(itemName + type.toString());
-                            logger.trace("Added event (item='{}', type='{}') to the ignore event list", itemName,
-                                    type.toString());
-
-                            if (type instanceof Command && isCommandGA(destination)) {
-                                eventPublisher.postCommand(itemName, (Command) type);
-                            } else if (type instanceof State) {
-                                eventPublisher.postUpdate(itemName, (State) type);
-                            } else {
-                                throw new IllegalClassException("Cannot process datapoint of type " + type.toString());
-                            }
-
-                            logger.trace("Processed event (item='{}', type='{}', destination='{}')", itemName,
-                                    type.toString(), destination.toString());
-                        } else {
-                            final char[] hexCode = "0123456789ABCDEF".toCharArray();
-                            StringBuilder sb = new StringBuilder(2 + asdu.length * 2);
-                            sb.append("0x");
-                            for (byte b : asdu) {
-                                sb.append(hexCode[(b >> 4) & 0xF]);
-                                sb.append(hexCode[(b & 0xF)]);
-                            }
-
-                            logger.debug(
-                                    "Ignoring KNX bus data: couldn't transform to an openHAB type (not supported). Destination='{}', datapoint='{}', data='{}'",
-                                    new Object[] { destination.toString(), datapoint.toString(), sb.toString() });
-                        }
+            for (int i = 0; i < route.itemNames.size(); i++) {
+                String itemName = route.itemNames.get(i);
+                Datapoint datapoint = route.datapoints.get(i);
+                Type type = getType(datapoint, asdu);
+                if (type != null) {
+                    // we need to make sure that we won't send out this event to
+                    // the knx bus again, when receiving it on the openHAB bus
+                    ignoreEventList.add(itemName + type.toString());
+                    logger.trace("Added event (item='{}', type='{}') to the ignore event list", itemName,
+                            type.toString());
+
+                    if (type instanceof Command && route.commandGA) {
+                        eventPublisher.postCommand(itemName, (Command) type);
+                    } else if (type instanceof State) {
+                        eventPublisher.postUpdate(itemName, (State) type);
+                    } else {
+                        throw new IllegalClassException("Cannot process datapoint of type " + type.toString());
+                    }
+
+                    logger.trace("Processed event (item='{}', type='{}', destination='{}')", itemName,
+                            type.toString(), destination.toString());
+                } else {
+                    final char[] hexCode = "0123456789ABCDEF".toCharArray();
+                    StringBuilder sb = new StringBuilder(2 + asdu.length * 2);
+                    sb.append("0x");
+                    for (byte b : asdu) {
+                        sb.append(hexCode[(b >> 4) & 0xF]);
+                        sb.append(hexCode[(b & 0xF)]);
                     }
+
+                    logger.debug(
+                            "Ignoring KNX bus data: couldn't transform to an openHAB type (not supported). Destination='{}', datapoint='{}', data='{}'",
+                            new Object[] { destination.toString(), datapoint.toString(), sb.toString() });
                 }
             }
         } catch (RuntimeException re) {
@@ -259,10 +275,12 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
 
     protected void addBindingProvider(KNXBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        clearRoutes();
     }
 
     protected void removeBindingProvider(KNXBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        clearRoutes();
     }
 
     /*
@@ -274,6 +292,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
     @Override
     public void bindingChanged(BindingProvider provider, String itemName) {
         logger.trace("bindingChanged() for item {} msg received.", itemName);
+        clearRoutes();
         if (mKNXConnectionEstablished) {
             if (provider instanceof KNXBindingProvider) {
                 KNXBindingProvider knxProvider = (KNXBindingProvider) provider;
@@ -300,6 +319,7 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
     @Override
     public void allBindingsChanged(BindingProvider provider) {
         logger.trace("allBindingsChanged() msg received.");
+        clearRoutes();
         if (mKNXConnectionEstablished) {
             logger.debug("Initializing readable DPs.");
             if (provider instanceof KNXBindingProvider) {
@@ -374,6 +394,40 @@ public class KNXBinding extends AbstractBinding<KNXBindingProvider>implements Pr
         return true;
     }
 
+    /**
+     * Returns the items and datapoints listening to the given <code>groupAddress</code>. The
+     * result is looked up in the registered KNX binding providers once and kept until the
+     * bindings change.
+     *
+     * @param groupAddress the group address to route
+     * @return the listening items and their datapoints
+     */
+    private GroupAddressRoute getRoute(GroupAddress groupAddress) {
+        // new routes are added to the map they have been looked up for, which might have been
+        // replaced meanwhile by a change of the bindings
+        Map<GroupAddress, GroupAddressRoute> currentRoutes = routes;
+        GroupAddressRoute route = currentRoutes.get(groupAddress);
+        if (route == null) {
+            route = new GroupAddressRoute();
+            for (String itemName : getItemNames(groupAddress)) {
+                Iterable<Datapoint> datapoints = getDatapoints(itemName, groupAddress);
+                if (datapoints != null) {
+                    for (Datapoint datapoint : datapoints) {
+                        route.itemNames.add(itemName);
+                        route.datapoints.add(datapoint);
+                    }
+                }
+            }
+            route.commandGA = isCommandGA(groupAddress);
+            currentRoutes.put(groupAddress, route);
+        }
+        return route;
+    }
+
+    private void clearRoutes() {
+        routes = new ConcurrentHashMap<GroupAddress, GroupAddressRoute>();
+    }
+
     /**
      * Returns all listening item names. This method iterates over all registered KNX binding providers and aggregates
      * the result.
@@ -8,9 +8,14 @@
  */
 package org.openhab.binding.knx.internal.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.NoSuchElementException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.openhab.binding.knx.config.KNXBindingProvider;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -25,7 +30,6 @@ import org.openhab.model.item.binding.BindingConfigReader;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.datapoint.CommandDP;
@@ -93,6 +97,12 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
     /** the binding type to register for as a binding config reader */
     public static final String KNX_BINDING_TYPE = "knx";
 
+    /**
+     * the config items of all datapoints by their group addresses, guarded by <code>bindingConfigs</code>
+     * and rebuilt after the binding configs have changed
+     */
+    private Map<GroupAddress, List<KNXBindingConfigItem>> configItemsByAddress = null;
+
     /**
      * {@inheritDoc}
      */
@@ -125,35 +135,15 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Iterable<Datapoint> getDatapoints(final String itemName, final GroupAddress groupAddress) {
         synchronized (bindingConfigs) {
-            try {
-                Iterable<KNXBindingConfig> configList = Iterables.filter(Iterables.concat(bindingConfigs.values()),
-                        KNXBindingConfig.class);
-                Iterable<KNXBindingConfigItem> configItemList = Iterables.filter(Iterables.concat(configList),
-                        KNXBindingConfigItem.class);
-
-                Iterable<KNXBindingConfigItem> bindingConfigs = Iterables.filter(configItemList,
-                        new Predicate<KNXBindingConfigItem>() {
-                            @Override
-                            public boolean apply(KNXBindingConfigItem input) {
-                                return input.itemName.equals(itemName) && input.allDataPoints.contains(groupAddress);
-                            }
-                        });
-
-                Iterable<Datapoint> datapoints = Iterables.transform(bindingConfigs,
-                        new Function<KNXBindingConfigItem, Datapoint>() {
-                            @Override
-                            public Datapoint apply(KNXBindingConfigItem configItem) {
-                                return configItem.mainDataPoint;
-                            }
-                        });
-
-                return datapoints;
-            } catch (NoSuchElementException e) {
-                return null;
+            List<Datapoint> datapoints = new ArrayList<Datapoint>();
+            for (KNXBindingConfigItem configItem : getConfigItems(groupAddress)) {
+                if (configItem.itemName.equals(itemName)) {
+                    datapoints.add(configItem.mainDataPoint);
+                }
             }
+            return datapoints;
         }
     }
 
@@ -161,42 +151,19 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Iterable<Datapoint> getDatapoints(final String itemName, final Class<? extends Type> typeClass) {
         synchronized (bindingConfigs) {
-            try {
-                Iterable<KNXBindingConfig> configList = Iterables.filter(Iterables.concat(bindingConfigs.values()),
-                        KNXBindingConfig.class);
-                Iterable<KNXBindingConfigItem> configItemList = Iterables.filter(Iterables.concat(configList),
-                        KNXBindingConfigItem.class);
-                Iterable<KNXBindingConfigItem> bindingConfigs = Iterables.filter(configItemList,
-                        new Predicate<KNXBindingConfigItem>() {
-                            @Override
-                            public boolean apply(KNXBindingConfigItem input) {
-                                if (input == null) {
-                                    return false;
-                                }
-                                if (input.itemName.equals(itemName)) {
-                                    Class<?> dptTypeClass = KNXCoreTypeMapper.toTypeClass(input.mainDataPoint.getDPT());
-                                    return dptTypeClass != null && dptTypeClass.equals(typeClass);
-                                }
-                                return false;
-                            }
-                        });
-
-                Iterable<Datapoint> datapoints = Iterables.transform(bindingConfigs,
-                        new Function<KNXBindingConfigItem, Datapoint>() {
-                            @Override
-                            public Datapoint apply(KNXBindingConfigItem configItem) {
-                                return configItem.mainDataPoint;
-                            }
-                        });
-
-                return Lists.newArrayList(datapoints);
-            } catch (NoSuchElementException e) {
-                // ignore and return null
-                return null;
+            List<Datapoint> datapoints = new ArrayList<Datapoint>();
+            BindingConfig config = bindingConfigs.get(itemName);
+            if (config instanceof KNXBindingConfig) {
+                for (KNXBindingConfigItem configItem : (KNXBindingConfig) config) {
+                    Class<?> dptTypeClass = KNXCoreTypeMapper.toTypeClass(configItem.mainDataPoint.getDPT());
+                    if (dptTypeClass != null && dptTypeClass.equals(typeClass)) {
+                        datapoints.add(configItem.mainDataPoint);
+                    }
+                }
             }
+            return datapoints;
         }
     }
 
@@ -204,32 +171,13 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
      * {@inheritDoc}
      */
     @Override
-    @SuppressWarnings("unchecked")
     public Iterable<String> getListeningItemNames(final GroupAddress groupAddress) {
         synchronized (bindingConfigs) {
-            Iterable<KNXBindingConfig> configList = Iterables.filter(Iterables.concat(bindingConfigs.values()),
-                    KNXBindingConfig.class);
-            Iterable<KNXBindingConfigItem> configItemList = Iterables.filter(Iterables.concat(configList),
-                    KNXBindingConfigItem.class);
-            Iterable<KNXBindingConfigItem> filteredBindingConfigs = Iterables.filter(configItemList,
-                    new Predicate<KNXBindingConfigItem>() {
-                        @Override
-                        public boolean apply(KNXBindingConfigItem input) {
-                            if (input == null) {
-                                return false;
-                            }
-                            return input.allDataPoints.contains(groupAddress);
-                        }
-                    });
-            return Iterables.transform(filteredBindingConfigs, new Function<KNXBindingConfigItem, String>() {
-                @Override
-                public String apply(KNXBindingConfigItem from) {
-                    if (from == null) {
-                        return null;
-                    }
-                    return from.itemName;
-                }
-            });
+            List<String> itemNames = new ArrayList<String>();
+            for (KNXBindingConfigItem configItem : getConfigItems(groupAddress)) {
+                itemNames.add(configItem.itemName);
+            }
+            return itemNames;
         }
     }
 
@@ -241,22 +189,15 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
     @Override
     public boolean isCommandGA(final GroupAddress groupAddress) {
         synchronized (bindingConfigs) {
-            for (BindingConfig config : bindingConfigs.values()) {
-                KNXBindingConfig knxConfig = (KNXBindingConfig) config;
-                for (KNXBindingConfigItem configItem : knxConfig) {
-                    if (configItem.allDataPoints.contains(groupAddress)) {
-                        if (configItem.mainDataPoint instanceof CommandDP) {
-                            if (configItem.mainDataPoint.getMainAddress().equals(groupAddress)) {
-                                // the first GA in a CommandDP is always a command GA
-                                return true;
-                            } else {
-                                return false;
-                            }
-                        } else {
-                            // it is a StateDP, so the GA cannot be a command GA
-                            return false;
-                        }
-                    }
+            List<KNXBindingConfigItem> configItems = getConfigItems(groupAddress);
+            if (!configItems.isEmpty()) {
+                KNXBindingConfigItem configItem = configItems.get(0);
+                if (configItem.mainDataPoint instanceof CommandDP) {
+                    // the first GA in a CommandDP is always a command GA
+                    return configItem.mainDataPoint.getMainAddress().equals(groupAddress);
+                } else {
+                    // it is a StateDP, so the GA cannot be a command GA
+                    return false;
                 }
             }
         }
@@ -315,9 +256,10 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
     @Override
     public int getAutoRefreshTime(Datapoint dataPoint) {
         synchronized (bindingConfigs) {
-            for (BindingConfig config : bindingConfigs.values()) {
-                KNXBindingConfig knxConfig = (KNXBindingConfig) config;
-                for (KNXBindingConfigItem configItem : knxConfig) {
+            // the name of a datapoint is the name of its item
+            BindingConfig config = bindingConfigs.get(dataPoint.getName());
+            if (config instanceof KNXBindingConfig) {
+                for (KNXBindingConfigItem configItem : (KNXBindingConfig) config) {
                     if ((configItem.readableDataPoint != null) && (configItem.readableDataPoint.equals(dataPoint))) {
                         return configItem.autoRefreshInSecs;
                     }
@@ -353,6 +295,79 @@ public class KNXGenericBindingProvider extends AbstractGenericBindingProvider
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The group address index is reset before the listeners are notified, so that they already see the new
+     * binding config when they look up a group address.
+     */
+    @Override
+    protected void addBindingConfig(Item item, BindingConfig config) {
+        bindingConfigs.put(item.getName(), config);
+        invalidateConfigItems();
+        super.addBindingConfig(item, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The binding configs of the context are dropped and the group address index is reset before the listeners
+     * are notified, so that they no longer see the removed items when they look up a group address.
+     */
+    @Override
+    public void removeConfigurations(String context) {
+        Set<Item> items;
+        synchronized (contextMap) {
+            items = contextMap.get(context);
+        }
+        if (items != null) {
+            for (Item item : items) {
+                bindingConfigs.remove(item.getName());
+            }
+        }
+        invalidateConfigItems();
+        super.removeConfigurations(context);
+    }
+
+    private void invalidateConfigItems() {
+        synchronized (bindingConfigs) {
+            configItemsByAddress = null;
+        }
+    }
+
+    /**
+     * Returns the config items which contain a datapoint with the given group address, in the order of
+     * the binding configs. The caller has to hold the lock of <code>bindingConfigs</code>.
+     * 
+     * @param groupAddress the group address
+     * @return the config items
+     */
+    private List<KNXBindingConfigItem> getConfigItems(GroupAddress groupAddress) {
+        if (configItemsByAddress == null) {
+            configItemsByAddress = new HashMap<GroupAddress, List<KNXBindingConfigItem>>();
+            for (BindingConfig config : bindingConfigs.values()) {
+                if (!(config instanceof KNXBindingConfig)) {
+                    continue;
+                }
+                for (KNXBindingConfigItem configItem : (KNXBindingConfig) config) {
+                    for (Object datapoint : configItem.allDataPoints.getDatapoints()) {
+                        GroupAddress address = ((Datapoint) datapoint).getMainAddress();
+                        List<KNXBindingConfigItem> configItems = configItemsByAddress.get(address);
+                        if (configItems == null) {
+                            configItems = new ArrayList<KNXBindingConfigItem>(1);
+                            configItemsByAddress.put(address, configItems);
+                        }
+                        if (!configItems.contains(configItem)) {
+                            configItems.add(configItem);
+                        }
+                    }
+                }
+            }
+        }
+        List<KNXBindingConfigItem> configItems = configItemsByAddress.get(groupAddress);
+        return configItems != null ? configItems : Collections.<KNXBindingConfigItem> emptyList();
+    }
+
     /**
      * This is the main method that takes care of parsing a binding configuration
      * string for a given item. It returns a collection of {@link BindingConfig}
@@ -9,8 +9,9 @@
 package org.openhab.binding.knx.internal.dpt;
 
 import java.awt.Color;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -18,6 +19,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.config.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -79,6 +81,34 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     static private Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** the precision of large 4-octet float values */
+    static private final MathContext FLOAT_PRECISION = new MathContext(6, RoundingMode.HALF_EVEN);
+
+    /** the translators of all datapoint types used so far, by datapoint type id */
+    private final Map<String, Translator> translators = new ConcurrentHashMap<String, Translator>();
+
+    /**
+     * A translator which is reused for all telegrams of its datapoint type, together with
+     * the numbers and the openHAB type class of the datapoint type.
+     */
+    private static class Translator {
+
+        final DPTXlator xlator;
+        final String id;
+        final int mainNumber;
+        final int subNumber;
+        final Class<? extends Type> typeClass;
+
+        Translator(DPTXlator xlator, int mainNumber, int subNumber) {
+            this.xlator = xlator;
+            this.id = xlator.getType().getID();
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+            this.typeClass = toTypeClass(id);
+        }
+
+    }
+
     static {
         dptTypeMap = new HashMap<String, Class<? extends Type>>();
 
@@ -241,8 +271,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            dpt = getTranslator(dptID, mainNumber).xlator.getType();
 
         } catch (KNXException e) {
             e.printStackTrace();
@@ -312,179 +341,26 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
-
-            String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = " + datapoint.getDPT());
+            Translator translator = getTranslator(datapoint.getDPT(), datapoint.getMainNumber());
+            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+            if (translator.mainNumber == -1) {
+                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", translator.id);
                 return null;
             }
-            int subNumber = getSubNumber(id);
-            if (subNumber == -1) {
-                logger.debug("toType: couldn't identify su number in dptID: {}.", id);
+            if (translator.subNumber == -1) {
+                logger.debug("toType: couldn't identify su number in dptID: {}.", translator.id);
                 return null;
             }
-            /*
-             * Following code section deals with specific mapping of values from KNX to openHAB types were the String
-             * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
-             */
-            switch (mainNumber) {
-                case 1:
-                    DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
-                    switch (subNumber) {
-                        case 8:
-                            return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
-                        case 9:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 10:
-                            return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-                        case 19:
-                            return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-                        case 22:
-                            return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
-                        default:
-                            return translatorBoolean.getValueBoolean() ? OnOffType.ON : OnOffType.OFF;
-                    }
-                case 2:
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case 3:
-                    DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
-                    if (translator3BitControlled.getStepCode() == 0) {
-                        // Not supported: break
-                        logger.debug("toType: KNX DPT_Control_Dimming: break ignored.");
-                        return null;
-                    }
-                    switch (subNumber) {
-                        case 7:
-                            return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
-                                    : IncreaseDecreaseType.DECREASE;
-                        case 8:
-                            return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
-                    }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
-                    break;
-                case 18:
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    value = String.valueOf(decimalValue);
-
-                    break;
-                case 19:
-                    DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
-                    if (translatorDateTime.isFaultyClock()) {
-                        // Not supported: faulty clock
-                        logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "/1/1" (month and day without year)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
-                        return null;
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
-                        // Not supported: "1900" (year without month and day)
-                        logger.debug(
-                                "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
-                        return null;
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Not supported: No year, no date and no time
-                        logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
-                        return null;
-                    }
 
-                    Calendar cal = Calendar.getInstance();
-                    if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure date format, no time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Pure time format, no date information
-                        cal.clear();
-                        cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
-                        cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
-                        cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
-                            && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
-                        // Date format and time information
-                        cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
-                        return DateTimeType.valueOf(value);
-                    }
-                    break;
+            Type type = decode(translator, data);
+            if (type != null) {
+                return type;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
-            if (typeClass == null) {
-                return null;
-            }
-
-            if (typeClass.equals(PercentType.class)) {
-                return PercentType.valueOf(value.split(" ")[0]);
-            }
-            if (typeClass.equals(DecimalType.class)) {
-                return DecimalType.valueOf(value.split(" ")[0]);
-            }
-            if (typeClass.equals(StringType.class)) {
-                return StringType.valueOf(value);
-            }
-
-            if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
-                if ((date == null) || (date.isEmpty())) {
-                    logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
-                    return null;
-                } else {
-                    return DateTimeType.valueOf(date);
-                }
-            }
-
-            if (typeClass.equals(HSBType.class)) {
-                // value has format of "r:<red value> g:<green value> b:<blue value>"
-                int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
-                int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
-                int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
-
-                Color color = new Color(r, g, b);
-                return new HSBType(color);
+            // translators hold the data they translate, so they can't be shared while translating
+            synchronized (translator.xlator) {
+                return translate(datapoint, translator, data);
             }
         } catch (KNXFormatException kfe) {
             logger.info("Translator couldn't parse data for datapoint type ‘{}‘ (KNXFormatException).",
@@ -499,6 +375,237 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Decodes the raw data of the most common datapoint types (main numbers 1, 5, 9 and 14) directly
+     * into an openHAB type, without letting the translator format the value to a String first.
+     * 
+     * @param translator the translator of the datapoint type
+     * @param data the raw data from the KNX bus
+     * @return the openHAB type or {@code null} if the data has to be translated by the translator
+     */
+    private Type decode(Translator translator, byte[] data) {
+        switch (translator.mainNumber) {
+            case 1:
+                if (data.length < 1) {
+                    return null;
+                }
+                boolean value = (data[0] & 0x01) != 0;
+                switch (translator.subNumber) {
+                    case 8:
+                        return value ? UpDownType.DOWN : UpDownType.UP;
+                    case 9:
+                        return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 10:
+                        return value ? StopMoveType.MOVE : StopMoveType.STOP;
+                    case 19:
+                        return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    case 22:
+                        return new DecimalType(value ? 1 : 0);
+                    default:
+                        return value ? OnOffType.ON : OnOffType.OFF;
+                }
+            case 5:
+                if (data.length < 1 || translator.typeClass == null) {
+                    return null;
+                }
+                int unsigned = data[0] & 0xFF;
+                switch (translator.subNumber) {
+                    case 1:
+                        // scaling, 0..255 -> 0..100 %, rounded
+                        return new PercentType((unsigned * 100 + 127) / 255);
+                    case 3:
+                        // angle, 0..255 -> 0..360 degrees, rounded
+                        return new DecimalType((unsigned * 360 + 127) / 255);
+                    default:
+                        return new DecimalType(unsigned);
+                }
+            case 9:
+                if (data.length < 2 || translator.typeClass == null) {
+                    return null;
+                }
+                // value = 0.01 * mantissa * 2^exponent, with a 12 bit two's complement mantissa
+                int mantissa = ((data[0] & 0x07) << 8) | (data[1] & 0xFF);
+                if ((data[0] & 0x80) != 0) {
+                    mantissa -= 0x800;
+                }
+                int exponent = (data[0] >> 3) & 0x0F;
+                long unscaled = (long) mantissa << exponent;
+                if (unscaled == 0) {
+                    return new DecimalType(BigDecimal.valueOf(0, 1));
+                }
+                BigDecimal decimal = BigDecimal.valueOf(unscaled, 2).stripTrailingZeros();
+                return new DecimalType(decimal.scale() < 1 ? decimal.setScale(1) : decimal);
+            case 14:
+                if (data.length < 4 || translator.typeClass == null) {
+                    return null;
+                }
+                float f = Float.intBitsToFloat(((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16)
+                        | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF));
+                if (Math.abs(f) < 100000) {
+                    return new DecimalType(new BigDecimal(Float.toString(f)));
+                }
+                // large values are rounded to 6 significant digits
+                return new DecimalType(new BigDecimal(f).round(FLOAT_PRECISION).stripTrailingZeros());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Translates the raw data of all other datapoint types by their translator, which has to be
+     * locked by the caller.
+     */
+    private Type translate(Datapoint datapoint, Translator cachedTranslator, byte[] data) throws KNXException {
+        DPTXlator translator = cachedTranslator.xlator;
+        translator.setData(data);
+        String value = translator.getValue();
+
+        int mainNumber = cachedTranslator.mainNumber;
+        int subNumber = cachedTranslator.subNumber;
+
+        /*
+         * Following code section deals with specific mapping of values from KNX to openHAB types were the String
+         * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
+         */
+        switch (mainNumber) {
+            case 2:
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case 3:
+                DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
+                if (translator3BitControlled.getStepCode() == 0) {
+                    // Not supported: break
+                    logger.debug("toType: KNX DPT_Control_Dimming: break ignored.");
+                    return null;
+                }
+                switch (subNumber) {
+                    case 7:
+                        return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
+                                : IncreaseDecreaseType.DECREASE;
+                    case 8:
+                        return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
+                }
+            case 18:
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (value.startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                value = String.valueOf(decimalValue);
+
+                break;
+            case 19:
+                DPTXlatorDateTime translatorDateTime = (DPTXlatorDateTime) translator;
+                if (translatorDateTime.isFaultyClock()) {
+                    // Not supported: faulty clock
+                    logger.debug("toType: KNX clock msg ignored: clock faulty bit set, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "/1/1" (month and day without year)
+                    logger.debug(
+                            "toType: KNX clock msg ignored: no year, but day and month, which is not supported");
+                    return null;
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)) {
+                    // Not supported: "1900" (year without month and day)
+                    logger.debug(
+                            "toType: KNX clock msg ignored: no day and month, but year, which is not supported");
+                    return null;
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.DATE)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Not supported: No year, no date and no time
+                    logger.debug("toType: KNX clock msg ignored: no day and month or year, which is not supported");
+                    return null;
+                }
+
+                Calendar cal = Calendar.getInstance();
+                if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure date format, no time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Pure time format, no date information
+                    cal.clear();
+                    cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
+                    cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
+                    cal.set(Calendar.SECOND, translatorDateTime.getSecond());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
+                        && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
+                    // Date format and time information
+                    cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
+                    value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                    return DateTimeType.valueOf(value);
+                }
+                break;
+        }
+
+        Class<? extends Type> typeClass = cachedTranslator.typeClass;
+        if (typeClass == null) {
+            return null;
+        }
+
+        if (typeClass.equals(PercentType.class)) {
+            return PercentType.valueOf(value.split(" ")[0]);
+        }
+        if (typeClass.equals(DecimalType.class)) {
+            return DecimalType.valueOf(value.split(" ")[0]);
+        }
+        if (typeClass.equals(StringType.class)) {
+            return StringType.valueOf(value);
+        }
+
+        if (typeClass.equals(DateTimeType.class)) {
+            String date = formatDateTime(value, datapoint.getDPT());
+            if ((date == null) || (date.isEmpty())) {
+                logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
+                return null;
+            } else {
+                return DateTimeType.valueOf(date);
+            }
+        }
+
+        if (typeClass.equals(HSBType.class)) {
+            // value has format of "r:<red value> g:<green value> b:<blue value>"
+            int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
+            int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
+            int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
+
+            Color color = new Color(r, g, b);
+            return new HSBType(color);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the cached translator of the given datapoint type, a new translator is created
+     * the first time a datapoint type is used.
+     * 
+     * @param dptID the datapoint type id
+     * @param mainNumber the main number of the datapoint type, or 0 to derive it from the id
+     * @return the translator
+     * @throws KNXException if no translator is available for the datapoint type
+     */
+    private Translator getTranslator(String dptID, int mainNumber) throws KNXException {
+        Translator translator = translators.get(dptID);
+        if (translator == null) {
+            DPTXlator xlator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            String id = xlator.getType().getID();
+            translator = new Translator(xlator, getMainNumber(id), getSubNumber(id));
+            translators.put(dptID, translator);
+        }
+        return translator;
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      * 
@@ -506,7 +613,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
      * @return the openHAB type (command or state) class or {@code null} if the datapoint type id is not supported.
      */
     static public Class<? extends Type> toTypeClass(String dptId) {
-        logger.trace("toTypeClass looking for dptId = " + dptId);
+        logger.trace("toTypeClass looking for dptId = {}", dptId);
         return dptTypeMap.get(dptId);
     }
 
@@ -10,10 +10,14 @@ package org.openhab.binding.modbus.internal;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
@@ -53,7 +57,7 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
     private static final String TCP_PREFIX = "tcp";
     private static final String SERIAL_PREFIX = "serial";
 
-    private static final String VALID_COFIG_KEYS = "connection|id|start|length|type|valuetype|rawdatamultiplier|writemultipleregisters";
+    private static final String VALID_COFIG_KEYS = "connection|id|start|length|type|valuetype|rawdatamultiplier|writemultipleregisters|persistent";
     private static final Pattern EXTRACT_MODBUS_CONFIG_PATTERN = Pattern.compile(
             "^(" + TCP_PREFIX + "|" + UDP_PREFIX + "|" + SERIAL_PREFIX + "|)\\.(.*?)\\.(" + VALID_COFIG_KEYS + ")$");
 
@@ -63,12 +67,19 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
     /** slaves update interval in milliseconds, defaults to 200ms */
     public static int pollInterval = 200;
 
+    /** polls the slaves of each connection on its own thread */
+    private final ModbusPoller poller = new ModbusPoller();
+
+    /** the names of the items bound to each slave, rebuilt after the bindings have changed */
+    private volatile Map<String, List<String>> itemNamesBySlave = null;
+
     @Override
     public void activate() {
     }
 
     @Override
     public void deactivate() {
+        poller.stop();
     }
 
     @Override
@@ -89,9 +100,15 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
     protected void internalReceiveCommand(String itemName, Command command) {
         for (ModbusBindingProvider provider : providers) {
             if (provider.providesBindingFor(itemName)) {
-                ModbusBindingConfig config = provider.getConfig(itemName);
-                ModbusSlave slave = modbusSlaves.get(config.slaveName);
-                slave.executeCommand(command, config.readRegister, config.writeRegister);
+                final ModbusBindingConfig config = provider.getConfig(itemName);
+                final ModbusSlave slave = modbusSlaves.get(config.slaveName);
+                final Command slaveCommand = command;
+                poller.execute(slave, new Runnable() {
+                    @Override
+                    public void run() {
+                        slave.executeCommand(slaveCommand, config.readRegister, config.writeRegister);
+                    }
+                });
             }
         }
     }
@@ -197,32 +214,85 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
      * @return list of item names
      */
     public Collection<String> getItemNames() {
-        Collection<String> items = null;
+        Collection<String> items = new HashSet<String>();
         for (BindingProvider provider : providers) {
-            if (items == null) {
-                items = provider.getItemNames();
-            } else {
-                items.addAll(provider.getItemNames());
-            }
+            items.addAll(provider.getItemNames());
         }
         return items;
     }
 
     /**
-     * updates all slaves from the modbusSlaves
+     * Returns names of the items bound to the given slave
+     *
+     * @param slaveName the name of the slave
+     * @return list of item names
      */
+    public List<String> getItemNames(String slaveName) {
+        Map<String, List<String>> index = itemNamesBySlave;
+        if (index == null) {
+            index = buildItemIndex();
+        }
+        List<String> itemNames = index.get(slaveName);
+        return itemNames != null ? itemNames : Collections.<String> emptyList();
+    }
+
+    private synchronized Map<String, List<String>> buildItemIndex() {
+        Map<String, List<String>> index = itemNamesBySlave;
+        if (index == null) {
+            index = new HashMap<String, List<String>>();
+            for (ModbusBindingProvider provider : providers) {
+                for (String itemName : provider.getItemNames()) {
+                    ModbusBindingConfig config = provider.getConfig(itemName);
+                    if (config == null) {
+                        continue;
+                    }
+                    List<String> itemNames = index.get(config.slaveName);
+                    if (itemNames == null) {
+                        itemNames = new ArrayList<String>();
+                        index.put(config.slaveName, itemNames);
+                    }
+                    itemNames.add(itemName);
+                }
+            }
+            itemNamesBySlave = index;
+        }
+        return index;
+    }
+
     @Override
-    protected void execute() {
-        Collection<ModbusSlave> slaves = new HashSet<ModbusSlave>();
-        synchronized (slaves) {
-            slaves.addAll(modbusSlaves.values());
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        super.bindingChanged(provider, itemName);
+        itemsChanged();
+    }
+
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        super.allBindingsChanged(provider);
+        itemsChanged();
+    }
+
+    /**
+     * Rebuilds the item index and makes the next poll update all items
+     */
+    private void itemsChanged() {
+        synchronized (this) {
+            itemNamesBySlave = null;
         }
-        for (ModbusSlave slave : slaves) {
-            slave.update(this);
+        for (ModbusSlave slave : modbusSlaves.values()) {
+            slave.refresh();
         }
     }
 
+    /**
+     * updates all slaves from the modbusSlaves, the slaves of each connection on their own thread
+     */
+    @Override
+    protected void execute() {
+        poller.poll(new ArrayList<ModbusSlave>(modbusSlaves.values()), this);
+    }
+
     private void clearSlaves() {
+        poller.stop();
         for (ModbusSlave slave : modbusSlaves.values()) {
             slave.resetConnection();
         }
@@ -231,16 +301,19 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
 
     protected void addBindingProvider(ModbusBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        itemsChanged();
     }
 
     protected void removeBindingProvider(ModbusBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        itemsChanged();
     }
 
     @Override
     public void updated(Dictionary<String, ?> config) throws ConfigurationException {
         // remove all known items if configuration changed
         clearSlaves();
+        poller.setMergeReads(false);
         if (config != null) {
             Enumeration<String> keys = config.keys();
             while (keys.hasMoreElements()) {
@@ -260,6 +333,8 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
                         }
                     } else if ("writemultipleregisters".equals(key)) {
                         ModbusSlave.setWriteMultipleRegisters(Boolean.valueOf(config.get(key).toString()));
+                    } else if ("mergereads".equals(key)) {
+                        poller.setMergeReads(Boolean.valueOf(config.get(key).toString()));
                     } else {
                         logger.debug(
                                 "given modbus-slave-config-key '{}' does not follow the expected pattern or 'serial.<slaveId>.<{}>'",
@@ -340,6 +415,12 @@ public class ModbusBinding extends AbstractActiveBinding<ModbusBindingProvider>i
                     }
                 } else if ("rawdatamultiplier".equals(configKey)) {
                     modbusSlave.setRawDataMultiplier(Double.valueOf(value.toString()));
+                } else if ("persistent".equals(configKey)) {
+                    if (modbusSlave instanceof ModbusTcpSlave) {
+                        ((ModbusTcpSlave) modbusSlave).setPersistent(Boolean.valueOf(value));
+                    } else {
+                        logger.debug("the configKey '{}' is only supported by tcp slaves, ignoring it", configKey);
+                    }
                 } else {
                     throw new ConfigurationException(configKey, "the given configKey '" + configKey + "' is unknown");
                 }
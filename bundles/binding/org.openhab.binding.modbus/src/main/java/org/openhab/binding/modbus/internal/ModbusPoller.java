@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import org.openhab.binding.modbus.ModbusBindingProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.util.BitVector;
+
+/**
+ * Polls the Modbus slaves of each physical connection on its own thread. Slaves
+ * which share a connection (the same TCP or UDP endpoint or the serial port) are
+ * polled one after the other, while different connections are polled in parallel,
+ * so a slow device only delays the slaves behind the same connection.
+ * <p>
+ * A connection whose previous poll is still running is skipped. Commands are
+ * executed on the thread of their connection as well, so they never interleave
+ * with a running transaction.
+ * <p>
+ * Optionally, slaves of the same connection, unit id and type whose register
+ * ranges are adjacent or overlapping are read with a single request.
+ *
+ * @since 1.9.0
+ */
+class ModbusPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModbusPoller.class);
+
+    /** the maximum amount of registers which can be read with a single request */
+    private static final int MAX_REGISTERS = 125;
+
+    /** the maximum amount of coils or discrete inputs which can be read with a single request */
+    private static final int MAX_BITS = 2000;
+
+    private static final Comparator<ModbusSlave> BY_RANGE = new Comparator<ModbusSlave>() {
+        @Override
+        public int compare(ModbusSlave s1, ModbusSlave s2) {
+            int result = String.valueOf(s1.getType()).compareTo(String.valueOf(s2.getType()));
+            if (result == 0) {
+                result = s1.getId() - s2.getId();
+            }
+            if (result == 0) {
+                result = s1.getStart() - s2.getStart();
+            }
+            return result;
+        }
+    };
+
+    /**
+     * a single worker thread per connection
+     */
+    private final Map<String, ExecutorService> workers = new HashMap<String, ExecutorService>();
+
+    /**
+     * the connections which are being polled right now
+     */
+    private final Set<String> busy = new HashSet<String>();
+
+    private boolean mergeReads = false;
+
+    /**
+     * @param mergeReads <code>true</code> to read adjacent ranges of several slaves with a single request
+     */
+    synchronized void setMergeReads(boolean mergeReads) {
+        this.mergeReads = mergeReads;
+    }
+
+    /**
+     * Polls the given slaves, each connection on its own thread. Connections whose
+     * previous poll is still running are skipped.
+     *
+     * @param slaves the slaves to poll
+     * @param binding the binding to post the updates to
+     */
+    synchronized void poll(Collection<ModbusSlave> slaves, final ModbusBinding binding) {
+        Map<String, List<ModbusSlave>> slavesByConnection = new LinkedHashMap<String, List<ModbusSlave>>();
+        for (ModbusSlave slave : slaves) {
+            String connection = slave.getConnectionKey();
+            List<ModbusSlave> connectionSlaves = slavesByConnection.get(connection);
+            if (connectionSlaves == null) {
+                connectionSlaves = new ArrayList<ModbusSlave>();
+                slavesByConnection.put(connection, connectionSlaves);
+            }
+            connectionSlaves.add(slave);
+        }
+
+        for (Map.Entry<String, List<ModbusSlave>> entry : slavesByConnection.entrySet()) {
+            final String connection = entry.getKey();
+            if (busy.contains(connection)) {
+                logger.trace("Previous poll of connection '{}' is still running, skipping it", connection);
+                continue;
+            }
+
+            final List<List<ModbusSlave>> blocks = getReadBlocks(entry.getValue());
+            final ExecutorService worker = getWorker(connection);
+            busy.add(connection);
+            try {
+                worker.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (List<ModbusSlave> block : blocks) {
+                                update(block, binding);
+                            }
+                        } finally {
+                            done(connection, worker);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                busy.remove(connection);
+            }
+        }
+    }
+
+    /**
+     * Executes the given task on the thread of the connection of the given slave
+     *
+     * @param slave the slave the task talks to
+     * @param task the task to execute
+     */
+    synchronized void execute(ModbusSlave slave, final Runnable task) {
+        final String connection = slave.getConnectionKey();
+        try {
+            getWorker(connection).execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Error while executing command on connection '" + connection + "'", e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Worker of connection '{}' has been stopped, discarding command", connection);
+        }
+    }
+
+    /**
+     * Stops all worker threads, polls and commands which are still waiting are discarded.
+     */
+    synchronized void stop() {
+        for (ExecutorService worker : workers.values()) {
+            worker.shutdownNow();
+        }
+        workers.clear();
+        busy.clear();
+    }
+
+    private synchronized void done(String connection, ExecutorService worker) {
+        // the poller might have been stopped and restarted meanwhile
+        if (workers.get(connection) == worker) {
+            busy.remove(connection);
+        }
+    }
+
+    private ExecutorService getWorker(final String connection) {
+        ExecutorService worker = workers.get(connection);
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "Modbus Poller " + connection);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            workers.put(connection, worker);
+        }
+        return worker;
+    }
+
+    /**
+     * Groups the slaves of a connection into blocks which are read with a single request
+     */
+    private List<List<ModbusSlave>> getReadBlocks(List<ModbusSlave> slaves) {
+        List<List<ModbusSlave>> blocks = new ArrayList<List<ModbusSlave>>();
+        if (!mergeReads) {
+            for (ModbusSlave slave : slaves) {
+                blocks.add(Collections.singletonList(slave));
+            }
+            return blocks;
+        }
+
+        List<ModbusSlave> sorted = new ArrayList<ModbusSlave>(slaves);
+        Collections.sort(sorted, BY_RANGE);
+        List<ModbusSlave> block = null;
+        int blockEnd = 0;
+        for (ModbusSlave slave : sorted) {
+            int end = slave.getStart() + slave.getLength();
+            if (block != null && canMerge(block.get(0), slave, blockEnd)) {
+                block.add(slave);
+                blockEnd = Math.max(blockEnd, end);
+            } else {
+                block = new ArrayList<ModbusSlave>();
+                block.add(slave);
+                blocks.add(block);
+                blockEnd = end;
+            }
+        }
+        return blocks;
+    }
+
+    private static boolean canMerge(ModbusSlave first, ModbusSlave slave, int blockEnd) {
+        if (first.getType() == null || !first.getType().equals(slave.getType()) || first.getId() != slave.getId()
+                || slave.getStart() > blockEnd) {
+            return false;
+        }
+        int length = Math.max(blockEnd, slave.getStart() + slave.getLength()) - first.getStart();
+        return length <= (isBitType(first.getType()) ? MAX_BITS : MAX_REGISTERS);
+    }
+
+    /**
+     * Reads the range of all slaves of the block with a single request and updates each slave
+     * with its part of the data
+     */
+    private static void update(List<ModbusSlave> block, ModbusBinding binding) {
+        ModbusSlave first = block.get(0);
+        int start = first.getStart();
+        int end = start;
+        for (ModbusSlave slave : block) {
+            end = Math.max(end, slave.getStart() + slave.getLength());
+        }
+
+        Object data = first.read(start, end - start);
+        if (data == null) {
+            return;
+        }
+        if (block.size() > 1) {
+            logger.trace("Read {} slaves of connection '{}' with a single request", block.size(),
+                    first.getConnectionKey());
+        }
+        for (ModbusSlave slave : block) {
+            try {
+                slave.update(binding,
+                        block.size() == 1 ? data : slice(data, slave.getStart() - start, slave.getLength()));
+            } catch (RuntimeException e) {
+                logger.error("Error while updating the items of slave '" + slave.getName() + "'", e);
+            }
+        }
+    }
+
+    private static Object slice(Object data, int offset, int length) {
+        if (data instanceof BitVector) {
+            BitVector bits = (BitVector) data;
+            BitVector slice = new BitVector(length);
+            for (int i = 0; i < length && offset + i < bits.size(); i++) {
+                slice.setBit(i, bits.getBit(offset + i));
+            }
+            return slice;
+        }
+        return Arrays.copyOfRange((InputRegister[]) data, offset, offset + length);
+    }
+
+    private static boolean isBitType(String type) {
+        return ModbusBindingProvider.TYPE_COIL.equals(type) || ModbusBindingProvider.TYPE_DISCRETE.equals(type);
+    }
+
+}
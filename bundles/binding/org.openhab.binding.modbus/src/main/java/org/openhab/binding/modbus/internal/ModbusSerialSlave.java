@@ -100,6 +100,12 @@ public class ModbusSerialSlave extends ModbusSlave {
      * @param writeRegister register reference to write data to
      */
 
+    @Override
+    String getConnectionKey() {
+        // all serial slaves share the same connection
+        return "serial";
+    }
+
     @Override
     public boolean isConnected() {
         return connection != null;
@@ -8,7 +8,7 @@
  */
 package org.openhab.binding.modbus.internal;
 
-import java.util.Collection;
+import java.util.Arrays;
 
 import org.openhab.binding.modbus.ModbusBindingProvider;
 import org.openhab.core.library.types.DecimalType;
@@ -98,6 +98,9 @@ public abstract class ModbusSlave implements ModbusSlaveConnection {
     private Object storage;
     protected ModbusTransaction transaction = null;
 
+    /** <code>true</code> if the items have to be updated with the next poll even if the data didn't change */
+    private volatile boolean refresh = true;
+
     /**
      * @param slave slave name from cfg file used for item binding
      */
@@ -114,6 +117,8 @@ public abstract class ModbusSlave implements ModbusSlaveConnection {
      * @param writeRegister register address to write new data to
      */
     void executeCommand(Command command, int readRegister, int writeRegister) {
+        // the item state might differ from the device now, so check it with the next poll
+        refresh = true;
         if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
             setCoil(command, readRegister, writeRegister);
         }
@@ -262,16 +267,72 @@ public abstract class ModbusSlave implements ModbusSlaveConnection {
         }
     }
 
+    /**
+     * Returns a key which identifies the physical connection of this slave. Slaves
+     * with the same key share a connection and must not be accessed concurrently.
+     * 
+     * @return the connection key
+     */
+    abstract String getConnectionKey();
+
+    /**
+     * Makes the next poll update all items of this slave, even if the data didn't change
+     */
+    void refresh() {
+        refresh = true;
+    }
+
     /**
      * Reads data from the connected device and updates items with the new data
      * 
      * @param binding ModbusBindig that stores providers information
      */
     public void update(ModbusBinding binding) {
+        Object local = read(getStart(), getLength());
+        if (local != null) {
+            update(binding, local);
+        }
+    }
+
+    /**
+     * Stores the given data read from the device and updates the items bound to this
+     * slave, if the data has changed since the last poll
+     * 
+     * @param binding ModbusBindig that stores providers information
+     * @param local the data of this slave, either a {@link BitVector} or an array of {@link InputRegister}s
+     */
+    void update(ModbusBinding binding, Object local) {
+        Object previous = storage;
+        if (storage == null) {
+            storage = local;
+        } else {
+            synchronized (storage) {
+                storage = local;
+            }
+        }
+
+        if (!refresh && isSameData(previous, local)) {
+            return;
+        }
+        refresh = false;
+        for (String item : binding.getItemNames(name)) {
+            updateItem(binding, item);
+        }
+    }
+
+    /**
+     * Reads the given range of the data type of this slave from the connected device
+     * 
+     * @param start the reference of the first coil or register to read
+     * @param length the amount of coils or registers to read
+     * @return either a {@link BitVector} or an array of {@link InputRegister}s, <code>null</code>
+     *         if the device couldn't be read
+     */
+    Object read(int start, int length) {
         if (!connect()) {
             resetConnection();
             logger.info("ModbusSlave not connected");
-            return;
+            return null;
         }
 
         try {
@@ -279,7 +340,7 @@ public abstract class ModbusSlave implements ModbusSlaveConnection {
             Object local = null;
 
             if (ModbusBindingProvider.TYPE_COIL.equals(getType())) {
-                ModbusRequest request = new ReadCoilsRequest(getStart(), getLength());
+                ModbusRequest request = new ReadCoilsRequest(start, length);
                 if (this instanceof ModbusSerialSlave) {
                     request.setHeadless();
                 }
@@ -287,36 +348,56 @@ public abstract class ModbusSlave implements ModbusSlaveConnection {
                 ReadCoilsResponse responce = (ReadCoilsResponse) getModbusData(request);
                 local = responce.getCoils();
             } else if (ModbusBindingProvider.TYPE_DISCRETE.equals(getType())) {
-                ModbusRequest request = new ReadInputDiscretesRequest(getStart(), getLength());
+                ModbusRequest request = new ReadInputDiscretesRequest(start, length);
                 ReadInputDiscretesResponse responce = (ReadInputDiscretesResponse) getModbusData(request);
                 local = responce.getDiscretes();
             } else if (ModbusBindingProvider.TYPE_HOLDING.equals(getType())) {
-                ModbusRequest request = new ReadMultipleRegistersRequest(getStart(), getLength());
+                ModbusRequest request = new ReadMultipleRegistersRequest(start, length);
                 ReadMultipleRegistersResponse responce = (ReadMultipleRegistersResponse) getModbusData(request);
                 local = responce.getRegisters();
             } else if (ModbusBindingProvider.TYPE_INPUT.equals(getType())) {
-                ModbusRequest request = new ReadInputRegistersRequest(getStart(), getLength());
+                ModbusRequest request = new ReadInputRegistersRequest(start, length);
                 ReadInputRegistersResponse responce = (ReadInputRegistersResponse) getModbusData(request);
                 local = responce.getRegisters();
             }
-            if (storage == null) {
-                storage = local;
-            } else {
-                synchronized (storage) {
-                    storage = local;
-                }
-            }
-            Collection<String> items = binding.getItemNames();
-            for (String item : items) {
-                updateItem(binding, item);
-            }
+            return local;
         } catch (Exception e) {
             resetConnection();
             logger.info("ModbusSlave error getting responce from slave");
+            return null;
         }
 
     }
 
+    /**
+     * Compares the data of two polls
+     * 
+     * @return <code>true</code> if both contain the same values
+     */
+    private static boolean isSameData(Object previous, Object local) {
+        if (previous instanceof BitVector && local instanceof BitVector) {
+            BitVector previousBits = (BitVector) previous;
+            BitVector localBits = (BitVector) local;
+            return previousBits.size() == localBits.size()
+                    && Arrays.equals(previousBits.getBytes(), localBits.getBytes());
+        }
+        if (previous instanceof InputRegister[] && local instanceof InputRegister[]) {
+            InputRegister[] previousRegisters = (InputRegister[]) previous;
+            InputRegister[] localRegisters = (InputRegister[]) local;
+            if (previousRegisters.length != localRegisters.length) {
+                return false;
+            }
+            for (int i = 0; i < localRegisters.length; i++) {
+                if (previousRegisters[i] == null || localRegisters[i] == null
+                        || previousRegisters[i].getValue() != localRegisters[i].getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Updates OpenHAB item with data read from slave device
      * works only for type "coil" and "holding"
@@ -31,6 +31,9 @@ public class ModbusTcpSlave extends ModbusIPSlave {
 
     private TCPMasterConnection connection = null;
 
+    /** <code>true</code> to keep the connection open between transactions */
+    private boolean persistent = false;
+
     public ModbusTcpSlave(String slave) {
         super(slave);
         transaction = new ModbusTCPTransaction();
@@ -44,6 +47,15 @@ public class ModbusTcpSlave extends ModbusIPSlave {
      * @param writeRegister register reference to write data to
      */
 
+    @Override
+    String getConnectionKey() {
+        return "tcp:" + getHost() + ":" + getPort();
+    }
+
+    void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
     @Override
     public boolean isConnected() {
         return connection != null;
@@ -68,10 +80,11 @@ public class ModbusTcpSlave extends ModbusIPSlave {
                 connection.setPort(getPort());
                 connection.connect();
                 ((ModbusTCPTransaction) transaction).setConnection(connection);
-                // We want to close connection after every transaction since some modbus tcp servers
-                // can accept only single connection at a time. If we would keep the connection open,
-                // the server would be blocked for other users.
-                ((ModbusTCPTransaction) transaction).setReconnecting(true);
+                // By default we close the connection after every transaction since some modbus tcp
+                // servers can accept only single connection at a time. If we would keep the connection
+                // open, the server would be blocked for other users. Servers which accept several
+                // connections can be configured to keep it open, which saves a handshake per poll.
+                ((ModbusTCPTransaction) transaction).setReconnecting(!persistent);
             } catch (Exception e) {
                 logger.debug("ModbusSlave: Error connecting to master: {}", e.getMessage());
                 return false;
@@ -36,6 +36,11 @@ public class ModbusUdpSlave extends ModbusIPSlave {
         transaction = new ModbusUDPTransaction();
     }
 
+    @Override
+    String getConnectionKey() {
+        return "udp:" + getHost() + ":" + getPort();
+    }
+
     @Override
     public boolean isConnected() {
         return true;
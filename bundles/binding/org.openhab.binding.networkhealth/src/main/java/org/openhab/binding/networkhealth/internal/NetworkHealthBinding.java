@@ -9,7 +9,6 @@
 package org.openhab.binding.networkhealth.internal;
 
 import java.io.IOException;
-import java.net.SocketTimeoutException;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,7 +16,6 @@ import java.util.Map;
 import org.openhab.binding.networkhealth.NetworkHealthBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
 import org.openhab.core.library.types.OnOffType;
-import org.openhab.io.net.actions.Ping;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.Logger;
@@ -51,6 +49,8 @@ public class NetworkHealthBinding extends AbstractActiveBinding<NetworkHealthBin
     /** Cached state of all devices for which a binding exists. */
     private final Map<String, Boolean> cachedStates = new HashMap<String, Boolean>();
 
+    private final VitalityChecker vitalityChecker = new VitalityChecker();
+
     @Override
     protected String getName() {
         return "NetworkHealth Refresh Service";
@@ -70,42 +70,51 @@ public class NetworkHealthBinding extends AbstractActiveBinding<NetworkHealthBin
     }
 
 
+    @Override
+    public void activate() {
+        super.activate();
+        try {
+            vitalityChecker.start();
+        } catch (IOException e) {
+            logger.error("Couldn't start the vitality checker", e);
+        }
+    }
+
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        vitalityChecker.stop();
+    }
+
     /**
      * @{inheritDoc}
      */
     @Override
     public void execute() {
+        // the probes are executed concurrently, every item is updated as soon as its probe is completed
         for (NetworkHealthBindingProvider provider : providers) {
-            for (String itemName : provider.getItemNames()) {
+            for (final String itemName : provider.getItemNames()) {
 
                 String hostname = provider.getHostname(itemName);
                 int port = provider.getPort(itemName);
 
+                int itemTimeout = timeout;
                 if (provider.getTimeout(itemName) > 0) {
-                    timeout = provider.getTimeout(itemName);
+                    itemTimeout = provider.getTimeout(itemName);
                 }
 
-                boolean success = false;
-
-                try {
-                    success = Ping.checkVitality(hostname, port, timeout);
+                vitalityChecker.check(hostname, port, itemTimeout, new VitalityChecker.VitalityListener() {
+                    @Override
+                    public void vitalityChecked(String hostname, int port, boolean reachable) {
+                        if (eventPublisher != null) {
 
-                    logger.debug("established connection [host '{}' port '{}' timeout '{}']",
-                            new Object[] { hostname, port, timeout });
-                } catch (SocketTimeoutException se) {
-                    logger.debug("timed out while connecting to host '{}' port '{}' timeout '{}'",
-                            new Object[] { hostname, port, timeout });
-                } catch (IOException ioe) {
-                    logger.debug("couldn't establish network connection [host '{}' port '{}' timeout '{}']",
-                            new Object[] { hostname, port, timeout });
-                }
-                if (eventPublisher != null) {
-
-                    // check cached state and update only if state differs
-                    if (shouldPostUpdate(hostname, port, success)) {
-                        eventPublisher.postUpdate(itemName, success ? OnOffType.ON : OnOffType.OFF);
+                            // check cached state and update only if state differs
+                            if (shouldPostUpdate(hostname, port, reachable)) {
+                                eventPublisher.postUpdate(itemName, reachable ? OnOffType.ON : OnOffType.OFF);
+                            }
+                        }
                     }
-                }
+                });
             }
         }
     }
@@ -123,7 +132,7 @@ public class NetworkHealthBinding extends AbstractActiveBinding<NetworkHealthBin
      *         <code>false</code> if the state is already cached and did not
      *         change.
      */
-    private boolean shouldPostUpdate(String hostname, int port, boolean newState) {
+    private synchronized boolean shouldPostUpdate(String hostname, int port, boolean newState) {
         if (cachePeriod <= 0) {
             return true; // caching disabled
         }
@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.networkhealth.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the vitality of many hosts concurrently. TCP probes are non-blocking
+ * connects which are all handled by a single reactor thread through a
+ * {@link Selector}, so a refresh cycle takes about as long as the slowest probe
+ * instead of the sum of all probes.
+ * <p>
+ * Probes of the same host and port which are requested while such a probe is
+ * running are coalesced. Host names are resolved and ICMP probes (port
+ * <code>0</code>) are executed by a small pool of helper threads since the
+ * JDK offers no non-blocking API for them.
+ *
+ * @since 1.9.0
+ */
+class VitalityChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(VitalityChecker.class);
+
+    /** the amount of threads resolving host names and executing ICMP probes */
+    private static final int HELPER_THREADS = 4;
+
+    /**
+     * Receives the result of a probe.
+     */
+    interface VitalityListener {
+
+        /**
+         * Called as soon as the probe of the host is completed
+         *
+         * @param hostname the probed host
+         * @param port the probed port
+         * @param reachable <code>true</code> if the host is reachable on the port
+         */
+        void vitalityChecked(String hostname, int port, boolean reachable);
+
+    }
+
+    private class Probe {
+
+        final String key;
+        final String hostname;
+        final int port;
+        final int timeout;
+        final List<VitalityListener> listeners = new ArrayList<VitalityListener>();
+
+        InetSocketAddress address;
+        long deadline;
+
+        Probe(String key, String hostname, int port, int timeout) {
+            this.key = key;
+            this.hostname = hostname;
+            this.port = port;
+            this.timeout = timeout;
+        }
+
+    }
+
+    private final Map<String, Probe> probes = new HashMap<String, Probe>();
+    private final ConcurrentLinkedQueue<Probe> pendingConnects = new ConcurrentLinkedQueue<Probe>();
+
+    private Selector selector;
+    private Thread reactor;
+    private ExecutorService helpers;
+
+    /**
+     * Starts the reactor thread
+     *
+     * @throws IOException if the {@link Selector} could not be opened
+     */
+    synchronized void start() throws IOException {
+        if (reactor != null) {
+            return;
+        }
+
+        selector = Selector.open();
+        helpers = Executors.newFixedThreadPool(HELPER_THREADS, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "NetworkHealth Resolver " + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        final Selector reactorSelector = selector;
+        reactor = new Thread("NetworkHealth Reactor") {
+            @Override
+            public void run() {
+                react(reactorSelector);
+            }
+        };
+        reactor.setDaemon(true);
+        reactor.start();
+    }
+
+    /**
+     * Stops the reactor thread, running probes are discarded.
+     */
+    synchronized void stop() {
+        if (reactor == null) {
+            return;
+        }
+
+        reactor.interrupt();
+        reactor = null;
+        helpers.shutdownNow();
+        helpers = null;
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.debug("Couldn't close selector: {}", e.getMessage());
+        }
+        selector = null;
+        probes.clear();
+        pendingConnects.clear();
+    }
+
+    /**
+     * Checks the vitality of the given host asynchronously. If port <code>0</code>
+     * is given a regular ping is issued, otherwise a TCP connection to the port is
+     * established within the given timeout.
+     *
+     * @param hostname the host to check
+     * @param port the port to connect to or <code>0</code> to ping the host
+     * @param timeout the timeout in milliseconds
+     * @param listener the listener which is called with the result
+     */
+    synchronized void check(String hostname, int port, int timeout, VitalityListener listener) {
+        if (reactor == null) {
+            logger.debug("Vitality checker is not running, ignoring probe of '{}'", hostname);
+            return;
+        }
+
+        String key = hostname + ":" + port;
+        Probe probe = probes.get(key);
+        if (probe == null) {
+            final Probe newProbe = new Probe(key, hostname, port, timeout);
+            probes.put(key, newProbe);
+            helpers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    prepare(newProbe);
+                }
+            });
+            probe = newProbe;
+        } else {
+            logger.trace("Probe of '{}' is running already", key);
+        }
+        probe.listeners.add(listener);
+    }
+
+    /**
+     * Resolves the host of the given probe and either pings it or hands it over to the reactor
+     */
+    private void prepare(Probe probe) {
+        if (probe.hostname == null || probe.timeout <= 0) {
+            complete(probe, false);
+            return;
+        }
+
+        try {
+            if (probe.port == 0) {
+                complete(probe, InetAddress.getByName(probe.hostname).isReachable(probe.timeout));
+                return;
+            }
+
+            probe.address = new InetSocketAddress(probe.hostname, probe.port);
+            if (probe.address.isUnresolved()) {
+                logger.debug("couldn't resolve host '{}'", probe.hostname);
+                complete(probe, false);
+                return;
+            }
+        } catch (IOException e) {
+            logger.debug("couldn't establish network connection [host '{}' port '{}' timeout '{}']",
+                    new Object[] { probe.hostname, probe.port, probe.timeout });
+            complete(probe, false);
+            return;
+        }
+
+        Selector reactorSelector;
+        synchronized (this) {
+            reactorSelector = selector;
+        }
+        if (reactorSelector != null) {
+            pendingConnects.add(probe);
+            reactorSelector.wakeup();
+        }
+    }
+
+    private void react(Selector reactorSelector) {
+        while (!Thread.currentThread().isInterrupted() && reactorSelector.isOpen()) {
+            try {
+                registerPendingConnects(reactorSelector);
+
+                reactorSelector.select(getSelectTimeout(reactorSelector));
+
+                Iterator<SelectionKey> selectedKeys = reactorSelector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    finishConnect(key);
+                }
+
+                expireProbes(reactorSelector);
+            } catch (IOException e) {
+                logger.debug("Error while waiting for probes: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                if (reactorSelector.isOpen()) {
+                    logger.error("Error while checking vitality", e);
+                }
+            }
+        }
+    }
+
+    private void registerPendingConnects(Selector reactorSelector) {
+        Probe probe;
+        while ((probe = pendingConnects.poll()) != null) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                probe.deadline = System.currentTimeMillis() + probe.timeout;
+                if (channel.connect(probe.address)) {
+                    closeQuietly(channel);
+                    complete(probe, true);
+                } else {
+                    channel.register(reactorSelector, SelectionKey.OP_CONNECT, probe);
+                }
+            } catch (IOException e) {
+                closeQuietly(channel);
+                logger.debug("couldn't establish network connection [host '{}' port '{}' timeout '{}']",
+                        new Object[] { probe.hostname, probe.port, probe.timeout });
+                complete(probe, false);
+            }
+        }
+    }
+
+    private void finishConnect(SelectionKey key) {
+        Probe probe = (Probe) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        try {
+            if (!channel.finishConnect()) {
+                // still pending, wait for the next selection
+                return;
+            }
+            key.cancel();
+            closeQuietly(channel);
+            complete(probe, true);
+        } catch (IOException e) {
+            logger.debug("couldn't establish network connection [host '{}' port '{}' timeout '{}']",
+                    new Object[] { probe.hostname, probe.port, probe.timeout });
+            key.cancel();
+            closeQuietly(channel);
+            complete(probe, false);
+        }
+    }
+
+    private long getSelectTimeout(Selector reactorSelector) {
+        long nextDeadline = Long.MAX_VALUE;
+        for (SelectionKey key : reactorSelector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            if (key.isValid() && probe.deadline < nextDeadline) {
+                nextDeadline = probe.deadline;
+            }
+        }
+        if (nextDeadline == Long.MAX_VALUE) {
+            // nothing to wait for, until a new probe wakes up the selector
+            return 0;
+        }
+        return Math.max(nextDeadline - System.currentTimeMillis(), 1);
+    }
+
+    private void expireProbes(Selector reactorSelector) {
+        long now = System.currentTimeMillis();
+        for (SelectionKey key : reactorSelector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            if (key.isValid() && probe.deadline <= now) {
+                logger.debug("timed out while connecting to host '{}' port '{}' timeout '{}'",
+                        new Object[] { probe.hostname, probe.port, probe.timeout });
+                key.cancel();
+                closeQuietly(key.channel());
+                complete(probe, false);
+            }
+        }
+    }
+
+    private void complete(Probe probe, boolean reachable) {
+        List<VitalityListener> listeners;
+        synchronized (this) {
+            if (probes.get(probe.key) != probe) {
+                // the checker has been stopped meanwhile
+                return;
+            }
+            probes.remove(probe.key);
+            listeners = new ArrayList<VitalityListener>(probe.listeners);
+        }
+
+        if (reachable) {
+            logger.debug("established connection [host '{}' port '{}' timeout '{}']",
+                    new Object[] { probe.hostname, probe.port, probe.timeout });
+        }
+
+        for (VitalityListener listener : listeners) {
+            try {
+                listener.vitalityChecked(probe.hostname, probe.port, reachable);
+            } catch (RuntimeException e) {
+                logger.error("Error while processing the vitality of '" + probe.key + "'", e);
+            }
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+}
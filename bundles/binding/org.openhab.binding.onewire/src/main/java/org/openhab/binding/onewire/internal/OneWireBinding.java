@@ -8,9 +8,12 @@
  */
 package org.openhab.binding.onewire.internal;
 
+import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.onewire.OneWireBindingProvider;
@@ -20,6 +23,8 @@ import org.openhab.binding.onewire.internal.deviceproperties.AbstractOneWireDevi
 import org.openhab.binding.onewire.internal.deviceproperties.AbstractOneWireDevicePropertyWritableBindingConfig;
 import org.openhab.binding.onewire.internal.listener.InterfaceOneWireDevicePropertyWantsUpdateListener;
 import org.openhab.binding.onewire.internal.listener.OneWireDevicePropertyWantsUpdateEvent;
+import org.openhab.binding.onewire.internal.scheduler.OneWireBusReaders;
+import org.openhab.binding.onewire.internal.scheduler.OneWireBusReaders.InterfaceOneWireBusReadListener;
 import org.openhab.binding.onewire.internal.scheduler.OneWireUpdateScheduler;
 import org.openhab.core.binding.AbstractBinding;
 import org.openhab.core.binding.BindingConfig;
@@ -42,7 +47,7 @@ import org.slf4j.LoggerFactory;
  * @since 0.6.0
  */
 public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
-        implements ManagedService, InterfaceOneWireDevicePropertyWantsUpdateListener {
+        implements ManagedService, InterfaceOneWireDevicePropertyWantsUpdateListener, InterfaceOneWireBusReadListener {
 
     private static final Logger logger = LoggerFactory.getLogger(OneWireBinding.class);
 
@@ -51,6 +56,11 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
      */
     private OneWireUpdateScheduler ivOneWireReaderScheduler;
 
+    /**
+     * Reads the items of each bus master on its own thread
+     */
+    private OneWireBusReaders ivOneWireBusReaders;
+
     /**
      * Use the Cache to post only changed values for items to the eventPublisher
      */
@@ -64,6 +74,7 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
     public OneWireBinding() {
         super();
         ivOneWireReaderScheduler = new OneWireUpdateScheduler(this);
+        ivOneWireBusReaders = new OneWireBusReaders(this);
     }
 
     @Override
@@ -76,6 +87,7 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
     public void deactivate() {
         super.deactivate();
         ivOneWireReaderScheduler.stop();
+        ivOneWireBusReaders.stop();
     }
 
     protected void addBindingProvider(OneWireBindingProvider bindingProvider) {
@@ -155,6 +167,7 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
             if (pvProvider instanceof OneWireBindingProvider) {
                 OneWireBindingProvider lvBindingProvider = (OneWireBindingProvider) pvProvider;
                 ivOneWireReaderScheduler.clear();
+                ivOneWireBusReaders.clear();
                 ivCacheItemStates.clear();
 
                 Map<String, BindingConfig> lvBindigConfigs = lvBindingProvider.getBindingConfigs();
@@ -244,7 +257,81 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
 
         logger.debug("Item " + lvItemName + " wants update!");
 
-        updateItemFromOneWire(lvItemName);
+        AbstractOneWireDevicePropertyBindingConfig lvBindingConfig = getDevicePropertyBindingConfig(lvItemName);
+        if (lvBindingConfig != null) {
+            ivOneWireBusReaders.read(OneWireConnection.getBus(lvBindingConfig.getDevicePropertyPath()),
+                    lvBindingConfig.getDeviceId(), lvItemName);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.openhab.binding.onewire.internal.scheduler.OneWireBusReaders.
+     * InterfaceOneWireBusReadListener#readDevices(java.lang.String, java.util.Map)
+     */
+    @Override
+    public void readDevices(String pvBus, Map<String, Set<String>> pvItemNamesByDevice) {
+        if (OneWireConnection.getConnection(pvBus) == null) {
+            return;
+        }
+
+        if (OneWireConnection.isSimultaneousConversionEnabled() && countTemperatureReads(pvItemNamesByDevice) > 1) {
+            OneWireConnection.startSimultaneousTemperatureConversion(pvBus);
+        }
+
+        for (Set<String> lvItemNames : pvItemNamesByDevice.values()) {
+            List<String> lvDeviceItemNames = new ArrayList<String>();
+            List<AbstractOneWireDevicePropertyBindingConfig> lvBindingConfigs = new ArrayList<AbstractOneWireDevicePropertyBindingConfig>();
+            for (String lvItemName : lvItemNames) {
+                AbstractOneWireDevicePropertyBindingConfig lvBindingConfig = getDevicePropertyBindingConfig(
+                        lvItemName);
+                if (lvBindingConfig != null) {
+                    lvDeviceItemNames.add(lvItemName);
+                    lvBindingConfigs.add(lvBindingConfig);
+                }
+            }
+
+            Map<AbstractOneWireDevicePropertyBindingConfig, String> lvReadValues = OneWireConnection
+                    .readFromOneWire(lvBindingConfigs);
+            for (int i = 0; i < lvBindingConfigs.size(); i++) {
+                AbstractOneWireDevicePropertyBindingConfig lvBindingConfig = lvBindingConfigs.get(i);
+                updateItem(lvDeviceItemNames.get(i), lvBindingConfig, lvReadValues.get(lvBindingConfig));
+            }
+        }
+    }
+
+    private int countTemperatureReads(Map<String, Set<String>> pvItemNamesByDevice) {
+        int lvCount = 0;
+        for (Set<String> lvItemNames : pvItemNamesByDevice.values()) {
+            for (String lvItemName : lvItemNames) {
+                OneWireBindingConfig lvBindingConfig = getBindingConfig(lvItemName);
+                if (lvBindingConfig instanceof AbstractOneWireDevicePropertyBindingConfig
+                        && "temperature".equals(
+                                ((AbstractOneWireDevicePropertyBindingConfig) lvBindingConfig).getPropertyName())) {
+                    lvCount++;
+                }
+            }
+        }
+        return lvCount;
+    }
+
+    /**
+     *
+     * @param pvItemName
+     * @return the corresponding AbstractOneWireDevicePropertyBindingConfig to the given <code>pvItemName</code> or
+     *         <code>null</code> if there is none, the item is removed from the scheduler then
+     */
+    private AbstractOneWireDevicePropertyBindingConfig getDevicePropertyBindingConfig(String pvItemName) {
+        OneWireBindingConfig lvBindingConfig = getBindingConfig(pvItemName);
+        if (lvBindingConfig instanceof AbstractOneWireDevicePropertyBindingConfig) {
+            return (AbstractOneWireDevicePropertyBindingConfig) lvBindingConfig;
+        }
+
+        logger.error("no bindingConfig found for itemName=" + pvItemName
+                + " cannot update! It will be removed from scheduler");
+        ivOneWireReaderScheduler.removeItem(pvItemName);
+        return null;
     }
 
     /**
@@ -272,45 +359,25 @@ public class OneWireBinding extends AbstractBinding<OneWireBindingProvider>
         return null;
     }
 
-    /**
-     * Update an item with value from 1-wire device property
-     *
-     * @param pvItemName
-     */
-    public void updateItemFromOneWire(String pvItemName) {
-        if (OneWireConnection.getConnection() != null) {
-
-            AbstractOneWireDevicePropertyBindingConfig pvBindingConfig = (AbstractOneWireDevicePropertyBindingConfig) getBindingConfig(
-                    pvItemName);
-
-            if (pvBindingConfig == null) {
-                logger.error("no bindingConfig found for itemName=" + pvItemName
-                        + " cannot update! It will be removed from scheduler");
-                ivOneWireReaderScheduler.removeItem(pvItemName);
-                return;
+    private void updateItem(String pvItemName, AbstractOneWireDevicePropertyBindingConfig pvBindingConfig,
+            String pvReadValue) {
+        Item lvItem = getItem(pvItemName);
+        if (pvReadValue != null) {
+            Type lvNewType = pvBindingConfig.convertReadValueToType(pvReadValue);
+            if (lvItem != null) {
+                postUpdate(lvItem, lvNewType);
+            } else {
+                logger.error("There is no Item for ItemName=" + pvItemName);
             }
-
-            String lvReadValue = OneWireConnection.readFromOneWire(pvBindingConfig);
-
-            Item lvItem = getItem(pvItemName);
-            if (lvReadValue != null) {
-                Type lvNewType = pvBindingConfig.convertReadValueToType(lvReadValue);
-                if (lvItem != null) {
-                    postUpdate(lvItem, lvNewType);
-                } else {
-                    logger.error("There is no Item for ItemName=" + pvItemName);
-                }
+        } else {
+            String lvLogText = "Set Item for itemName=" + pvItemName + " to Undefined, because the readvalue is null";
+            if (pvBindingConfig.isIgnoreReadErrors()) {
+                logger.debug(lvLogText);
             } else {
-                String lvLogText = "Set Item for itemName=" + pvItemName
-                        + " to Undefined, because the readvalue is null";
-                if (pvBindingConfig.isIgnoreReadErrors()) {
-                    logger.debug(lvLogText);
-                } else {
-                    logger.error(lvLogText);
-                }
-
-                postUpdate(lvItem, UnDefType.UNDEF);
+                logger.error(lvLogText);
             }
+
+            postUpdate(lvItem, UnDefType.UNDEF);
         }
     }
 
@@ -9,7 +9,12 @@
 package org.openhab.binding.onewire.internal.connection;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.onewire.internal.deviceproperties.AbstractOneWireDevicePropertyBindingConfig;
@@ -36,9 +41,26 @@ public class OneWireConnection {
     private static final Logger logger = LoggerFactory.getLogger(OneWireConnection.class);
 
     /**
-     * Connection to the owserver server
+     * Path segment of a bus master, like <code>bus.0</code>
      */
-    private static OwfsConnection cvOwConnection = null;
+    private static final Pattern BUS_PATTERN = Pattern.compile("bus\\.\\d+");
+
+    /**
+     * Name of the bus which is used for all devices whose bus master is unknown
+     */
+    public static final String DEFAULT_BUS = "";
+
+    /**
+     * Connections to the owserver server, one per bus master so that different
+     * bus masters can be read in parallel
+     */
+    private static final Map<String, BusConnection> cvBusConnections = new HashMap<String, BusConnection>();
+
+    /**
+     * The bus master of each device which has been looked up, by the device as it is
+     * addressed in the root directory of the owserver
+     */
+    private static final Map<String, String> cvDeviceBuses = new HashMap<String, String>();
 
     /**
      * ip of the owserver (must be set in obenHab.cfg)
@@ -60,23 +82,172 @@ public class OneWireConnection {
      */
     private static int cvRetry = 3;
 
+    /**
+     * start the temperature conversion of all devices of a bus simultaneously before reading
+     * several temperatures (optional, defaults to false)
+     */
+    private static boolean cvSimultaneous = false;
+
     /**
      * signals that the connection is established
      */
-    private static boolean cvIsEstablished = false;
+    private static volatile boolean cvIsEstablished = false;
+
+    /**
+     * The connection of one bus master. All accesses to the connection must be synchronized on this object.
+     */
+    private static class BusConnection {
+
+        private final String ivBus;
+
+        private OwfsConnection ivOwConnection;
+
+        BusConnection(String pvBus) {
+            this.ivBus = pvBus;
+        }
+
+        OwfsConnection get() {
+            if (ivOwConnection == null) {
+                ivOwConnection = createConnection();
+            }
+            return ivOwConnection;
+        }
+
+        boolean reconnect() {
+            logger.info("Trying to reconnect to owserver (bus '{}')...", ivBus);
+            if (ivOwConnection != null) {
+                try {
+                    ivOwConnection.disconnect();
+                } catch (Exception lvException) {
+                    logger.error("Error while disconnecting from owserver: " + lvException, lvException);
+                }
+            }
+            ivOwConnection = createConnection();
+            return ivOwConnection != null;
+        }
+
+        void disconnect() {
+            if (ivOwConnection != null) {
+                try {
+                    ivOwConnection.disconnect();
+                } catch (Exception lvException) {
+                    logger.debug("Error while disconnecting from owserver: {}", lvException.getMessage());
+                }
+                ivOwConnection = null;
+            }
+        }
+    }
 
     /**
      * Returns a OwfsConnection
      * 
      * @return the OwfsConnection network link
      */
-    public static synchronized OwfsConnection getConnection() {
-        if (cvOwConnection == null) {
-            if (!connect()) {
+    public static OwfsConnection getConnection() {
+        BusConnection lvBusConnection = getBusConnection(DEFAULT_BUS);
+        synchronized (lvBusConnection) {
+            return lvBusConnection.get();
+        }
+    }
+
+    /**
+     * Returns the OwfsConnection which is used for the given bus master
+     * 
+     * @param pvBus
+     * @return the OwfsConnection network link or <code>null</code> if it couldn't be established
+     */
+    public static OwfsConnection getConnection(String pvBus) {
+        BusConnection lvBusConnection = getBusConnection(pvBus);
+        synchronized (lvBusConnection) {
+            return lvBusConnection.get();
+        }
+    }
+
+    /**
+     * Returns the bus master of the device of the given path, like <code>bus.0</code> for
+     * <code>uncached/bus.0/28.67C6697351FF/temperature</code>. If the path doesn't address
+     * a bus master, the bus master the device is connected to is looked up once on the
+     * owserver and remembered.
+     * 
+     * @param pvDevicePropertyPath
+     * @return the bus master or {@link #DEFAULT_BUS} if it is unknown
+     */
+    public static String getBus(String pvDevicePropertyPath) {
+        for (String lvPathPart : pvDevicePropertyPath.trim().split("/")) {
+            if (BUS_PATTERN.matcher(lvPathPart).matches()) {
+                return lvPathPart;
+            }
+            if (!lvPathPart.isEmpty() && !"uncached".equals(lvPathPart)) {
+                return getBusOfDevice(lvPathPart);
+            }
+        }
+        return DEFAULT_BUS;
+    }
+
+    private static String getBusOfDevice(String pvDevice) {
+        synchronized (cvDeviceBuses) {
+            String lvBus = cvDeviceBuses.get(pvDevice);
+            if (lvBus != null) {
+                return lvBus;
+            }
+        }
+
+        String lvBus = lookupBusOfDevice(pvDevice);
+        if (lvBus == null) {
+            // try again with the next read
+            return DEFAULT_BUS;
+        }
+        synchronized (cvDeviceBuses) {
+            cvDeviceBuses.put(pvDevice, lvBus);
+        }
+        return lvBus;
+    }
+
+    /**
+     * Searches the bus masters listed by the owserver for the given device
+     * 
+     * @param pvDevice
+     * @return the bus master of the device, {@link #DEFAULT_BUS} if it isn't connected to any
+     *         listed bus master or <code>null</code> if the owserver couldn't be asked
+     */
+    private static String lookupBusOfDevice(String pvDevice) {
+        BusConnection lvBusConnection = getBusConnection(DEFAULT_BUS);
+        synchronized (lvBusConnection) {
+            try {
+                OwfsConnection lvOwConnection = lvBusConnection.get();
+                if (lvOwConnection == null) {
+                    return null;
+                }
+                for (String lvEntry : lvOwConnection.listDirectory("/uncached")) {
+                    String lvBus = lvEntry.substring(lvEntry.lastIndexOf('/') + 1);
+                    if (BUS_PATTERN.matcher(lvBus).matches()
+                            && lvOwConnection.exists("/uncached/" + lvBus + "/" + pvDevice)) {
+                        logger.debug("device '{}' is connected to bus master '{}'", pvDevice, lvBus);
+                        return lvBus;
+                    }
+                }
+                logger.debug("device '{}' hasn't been found on any bus master", pvDevice);
+                return DEFAULT_BUS;
+            } catch (OwfsException oe) {
+                logger.debug("couldn't look up the bus master of device '{}': {}", pvDevice, oe.getMessage());
                 return null;
+            } catch (IOException ioe) {
+                logger.debug("couldn't look up the bus master of device '{}': {}", pvDevice, ioe.getMessage());
+                lvBusConnection.reconnect();
+                return null;
+            }
+        }
+    }
+
+    private static BusConnection getBusConnection(String pvBus) {
+        synchronized (cvBusConnections) {
+            BusConnection lvBusConnection = cvBusConnections.get(pvBus);
+            if (lvBusConnection == null) {
+                lvBusConnection = new BusConnection(pvBus);
+                cvBusConnections.put(pvBus, lvBusConnection);
             }
+            return lvBusConnection;
         }
-        return cvOwConnection;
     }
 
     /**
@@ -84,7 +255,20 @@ public class OneWireConnection {
      * 
      * @return true if connection was established, false otherwise
      */
-    public static synchronized boolean connect() {
+    public static boolean connect() {
+        BusConnection lvBusConnection = getBusConnection(DEFAULT_BUS);
+        synchronized (lvBusConnection) {
+            lvBusConnection.disconnect();
+            return lvBusConnection.get() != null;
+        }
+    }
+
+    /**
+     * Creates a new connection to the owserver
+     * 
+     * @return the connection or <code>null</code> if it couldn't be established
+     */
+    private static OwfsConnection createConnection() {
         if (cvIp != null && cvPort > 0) {
             OwfsConnectionFactory owfsConnectorFactory = new OwfsConnectionFactory(cvIp, cvPort);
             OwfsConnectionConfig owConnectionConfig = new OwfsConnectionConfig(cvIp, cvPort);
@@ -94,21 +278,21 @@ public class OneWireConnection {
             owfsConnectorFactory.setConnectionConfig(owConnectionConfig);
 
             try {
-                cvOwConnection = owfsConnectorFactory.createNewConnection();
-                cvOwConnection.listDirectory("/");
+                OwfsConnection lvOwConnection = owfsConnectorFactory.createNewConnection();
+                lvOwConnection.listDirectory("/");
                 logger.info("Connected to owserver [IP '" + cvIp + "' Port '" + cvPort + "']");
                 cvIsEstablished = true;
-                return true;
+                return lvOwConnection;
             } catch (Exception exception) {
                 logger.error("Couldn't connect to owserver [IP '" + cvIp + "' Port '" + cvPort + "']: ",
                         exception.getLocalizedMessage());
                 cvIsEstablished = false;
-                return false;
+                return null;
             }
         } else {
             logger.warn("Couldn't connect to owserver because of missing connection parameters [IP '{}' Port '{}'].",
                     cvIp, cvPort);
-            return false;
+            return null;
         }
     }
 
@@ -117,15 +301,11 @@ public class OneWireConnection {
      * 
      * @return
      */
-    public static synchronized boolean reconnect() {
-        logger.info("Trying to reconnect to owserver...");
-        try {
-            cvOwConnection.disconnect();
-        } catch (Exception lvException) {
-            logger.error("Error while disconnecting from owserver: " + lvException, lvException);
+    public static boolean reconnect() {
+        BusConnection lvBusConnection = getBusConnection(DEFAULT_BUS);
+        synchronized (lvBusConnection) {
+            return lvBusConnection.reconnect();
         }
-        cvOwConnection = null;
-        return connect();
     }
 
     public static synchronized void updated(Dictionary<String, ?> pvConfig) throws ConfigurationException {
@@ -155,7 +335,17 @@ public class OneWireConnection {
                 cvRetry = Integer.parseInt(lvRetryString);
             }
 
-            if (cvOwConnection == null) {
+            String lvSimultaneousString = (String) pvConfig.get("simultaneous");
+            if (StringUtils.isNotBlank(lvSimultaneousString)) {
+                cvSimultaneous = Boolean.parseBoolean(lvSimultaneousString);
+            }
+
+            synchronized (cvDeviceBuses) {
+                // the owserver may have changed
+                cvDeviceBuses.clear();
+            }
+
+            if (!cvIsEstablished) {
                 logger.debug("Not connected to owserver yet. Trying to connect...");
                 if (!connect()) {
                     logger.warn("Inital connection to owserver failed!");
@@ -176,22 +366,57 @@ public class OneWireConnection {
         return cvIsEstablished;
     }
 
+    /**
+     * @return boolean, should the temperature conversion of all devices of a bus be started simultaneously
+     */
+    public static boolean isSimultaneousConversionEnabled() {
+        return cvSimultaneous;
+    }
+
+    /**
+     * Starts the temperature conversion of all devices of the given bus master at once, so that the
+     * following reads of the temperatures don't have to wait for a conversion each.
+     * 
+     * @param pvBus the bus master or {@link #DEFAULT_BUS}
+     */
+    public static void startSimultaneousTemperatureConversion(String pvBus) {
+        String lvPath = DEFAULT_BUS.equals(pvBus) ? "simultaneous/temperature" : pvBus + "/simultaneous/temperature";
+        BusConnection lvBusConnection = getBusConnection(pvBus);
+        synchronized (lvBusConnection) {
+            try {
+                OwfsConnection lvOwConnection = lvBusConnection.get();
+                if (lvOwConnection != null) {
+                    logger.debug("starting simultaneous temperature conversion on '{}'", lvPath);
+                    lvOwConnection.write(lvPath, "1");
+                }
+            } catch (OwfsException oe) {
+                logger.debug("couldn't start simultaneous temperature conversion on '{}': {}", lvPath,
+                        oe.getMessage());
+            } catch (IOException ioe) {
+                logger.debug("couldn't start simultaneous temperature conversion on '{}': {}", lvPath,
+                        ioe.getMessage());
+                lvBusConnection.reconnect();
+            }
+        }
+    }
+
     /**
      * Checks if an device exists in 1-Wire network
      * 
+     * @param pvOwConnection
      * @param pvDevicePropertyPath
      * @return
      * @throws IOException
      * @throws OwfsException
      */
-    private static synchronized boolean checkIfDeviceExists(String pvDevicePropertyPath)
+    private static boolean checkIfDeviceExists(OwfsConnection pvOwConnection, String pvDevicePropertyPath)
             throws IOException, OwfsException {
         String[] pvDevicePropertyPathParts = pvDevicePropertyPath.trim().split("/");
 
         String lvDevicePath = pvDevicePropertyPathParts[0];
         logger.debug("check if device exisits '{}': ", new Object[] { lvDevicePath });
 
-        return OneWireConnection.getConnection().exists(lvDevicePath);
+        return pvOwConnection.exists(lvDevicePath);
     }
 
     /**
@@ -200,7 +425,41 @@ public class OneWireConnection {
      * @param pvDevicePropertyPath
      * @return device property value as String
      */
-    public static synchronized String readFromOneWire(AbstractOneWireDevicePropertyBindingConfig pvBindingConfig) {
+    public static String readFromOneWire(AbstractOneWireDevicePropertyBindingConfig pvBindingConfig) {
+        return readFromOneWire(Collections.singletonList(pvBindingConfig)).get(pvBindingConfig);
+    }
+
+    /**
+     * Reads the values of several properties of the same device from 1-Wire network. The
+     * existence of the device is checked only once and the bus master is held for all reads.
+     * 
+     * @param pvBindingConfigs the properties to read, all of the same device
+     * @return the read device property values as String, properties which couldn't be read are missing
+     */
+    public static Map<AbstractOneWireDevicePropertyBindingConfig, String> readFromOneWire(
+            List<AbstractOneWireDevicePropertyBindingConfig> pvBindingConfigs) {
+        Map<AbstractOneWireDevicePropertyBindingConfig, String> lvReadValues = new HashMap<AbstractOneWireDevicePropertyBindingConfig, String>();
+        if (pvBindingConfigs.isEmpty()) {
+            return lvReadValues;
+        }
+
+        BusConnection lvBusConnection = getBusConnection(
+                getBus(pvBindingConfigs.get(0).getDevicePropertyPath()));
+        synchronized (lvBusConnection) {
+            boolean lvDeviceExists = false;
+            for (AbstractOneWireDevicePropertyBindingConfig lvBindingConfig : pvBindingConfigs) {
+                String lvReadValue = readFromOneWire(lvBusConnection, lvBindingConfig, lvDeviceExists);
+                if (lvReadValue != null) {
+                    lvReadValues.put(lvBindingConfig, lvReadValue);
+                    lvDeviceExists = true;
+                }
+            }
+        }
+        return lvReadValues;
+    }
+
+    private static String readFromOneWire(BusConnection pvBusConnection,
+            AbstractOneWireDevicePropertyBindingConfig pvBindingConfig, boolean pvDeviceExists) {
         String lvDevicePropertyPath = pvBindingConfig.getDevicePropertyPath();
 
         int lvAttempt = 1;
@@ -208,8 +467,12 @@ public class OneWireConnection {
             try {
                 logger.debug("trying to read from '{}', read attempt={}",
                         new Object[] { lvDevicePropertyPath, lvAttempt });
-                if (checkIfDeviceExists(lvDevicePropertyPath)) {
-                    String lvReadValue = OneWireConnection.getConnection().read(lvDevicePropertyPath);
+                OwfsConnection lvOwConnection = pvBusConnection.get();
+                if (lvOwConnection == null) {
+                    return null;
+                }
+                if (pvDeviceExists || checkIfDeviceExists(lvOwConnection, lvDevicePropertyPath)) {
+                    String lvReadValue = lvOwConnection.read(lvDevicePropertyPath);
                     logger.debug("Read value '{}' from {}, read attempt={}",
                             new Object[] { lvReadValue, lvDevicePropertyPath, lvAttempt });
 
@@ -236,12 +499,12 @@ public class OneWireConnection {
                     logger.debug(lvLogText, oe);
                 } else {
                     logger.error(lvLogText, oe);
-                    reconnect();
+                    pvBusConnection.reconnect();
                 }
             } catch (IOException ioe) {
                 logger.error("couldn't establish network connection while read attempt " + lvAttempt + " '"
                         + lvDevicePropertyPath + "' ip:port=" + cvIp + ":" + cvPort, ioe);
-                reconnect();
+                pvBusConnection.reconnect();
             } catch (NumberFormatException lvNumberFormatException) {
                 logger.error(
                         "Ignoring 85C PowerOnReset values can only be used with temperature sensors! Read a value, which is not a number");
@@ -259,29 +522,36 @@ public class OneWireConnection {
      * @param pvDevicePropertyPath
      * @param pvValue
      */
-    public static synchronized void writeToOneWire(String pvDevicePropertyPath, String pvValue) {
-        int lvAttempt = 1;
-        while (lvAttempt <= cvRetry) {
-            try {
-                logger.debug("trying to write '{}' to '{}', write attempt={}",
-                        new Object[] { pvValue, pvDevicePropertyPath, lvAttempt });
-                if (checkIfDeviceExists(pvDevicePropertyPath)) {
-                    OneWireConnection.getConnection().write(pvDevicePropertyPath, pvValue);
-                    return; // Success, exit
-                } else {
-                    logger.info("there is no device for path {}, write attempt={}",
-                            new Object[] { pvDevicePropertyPath, lvAttempt });
+    public static void writeToOneWire(String pvDevicePropertyPath, String pvValue) {
+        BusConnection lvBusConnection = getBusConnection(getBus(pvDevicePropertyPath));
+        synchronized (lvBusConnection) {
+            int lvAttempt = 1;
+            while (lvAttempt <= cvRetry) {
+                try {
+                    logger.debug("trying to write '{}' to '{}', write attempt={}",
+                            new Object[] { pvValue, pvDevicePropertyPath, lvAttempt });
+                    OwfsConnection lvOwConnection = lvBusConnection.get();
+                    if (lvOwConnection == null) {
+                        return;
+                    }
+                    if (checkIfDeviceExists(lvOwConnection, pvDevicePropertyPath)) {
+                        lvOwConnection.write(pvDevicePropertyPath, pvValue);
+                        return; // Success, exit
+                    } else {
+                        logger.info("there is no device for path {}, write attempt={}",
+                                new Object[] { pvDevicePropertyPath, lvAttempt });
+                    }
+                } catch (OwfsException oe) {
+                    logger.error("writing " + pvValue + " to path " + pvDevicePropertyPath + " attempt " + lvAttempt
+                            + " throws exception", oe);
+                    lvBusConnection.reconnect();
+                } catch (IOException ioe) {
+                    logger.error("couldn't establish network connection while write attempt " + lvAttempt + " to '"
+                            + pvDevicePropertyPath + "' ip:port=" + cvIp + ":" + cvPort, ioe);
+                    lvBusConnection.reconnect();
+                } finally {
+                    lvAttempt++;
                 }
-            } catch (OwfsException oe) {
-                logger.error("writing " + pvValue + " to path " + pvDevicePropertyPath + " attempt " + lvAttempt
-                        + " throws exception", oe);
-                reconnect();
-            } catch (IOException ioe) {
-                logger.error("couldn't establish network connection while write attempt " + lvAttempt + " to '"
-                        + pvDevicePropertyPath + "' ip:port=" + cvIp + ":" + cvPort, ioe);
-                reconnect();
-            } finally {
-                lvAttempt++;
             }
         }
     }
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.onewire.internal.scheduler;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the items of each 1-Wire bus master on its own thread, so that a slow or
+ * broken bus doesn't delay the items of the other buses.
+ * <p>
+ * Items which want to be updated while their bus is busy are collected and read
+ * afterwards in a single batch, grouped by device, so that all properties of a
+ * device are read together. An item which is requested again before it has been
+ * read is read only once.
+ *
+ * @since 1.9.0
+ */
+public class OneWireBusReaders {
+
+    private static final Logger logger = LoggerFactory.getLogger(OneWireBusReaders.class);
+
+    /**
+     * Reads the items which want to be updated.
+     */
+    public interface InterfaceOneWireBusReadListener {
+
+        /**
+         * Called on the thread of the bus master with the items to read
+         *
+         * @param pvBus the bus master of the devices
+         * @param pvItemNamesByDevice the names of the items to read grouped by their deviceId
+         */
+        void readDevices(String pvBus, Map<String, Set<String>> pvItemNamesByDevice);
+
+    }
+
+    private final InterfaceOneWireBusReadListener ivReadListener;
+
+    /**
+     * the items waiting to be read per bus master, grouped by device
+     */
+    private final Map<String, Map<String, Set<String>>> ivPendingReads = new HashMap<String, Map<String, Set<String>>>();
+
+    /**
+     * a single reader thread per bus master
+     */
+    private final Map<String, ExecutorService> ivReaders = new HashMap<String, ExecutorService>();
+
+    /**
+     * @param pvReadListener
+     */
+    public OneWireBusReaders(InterfaceOneWireBusReadListener pvReadListener) {
+        this.ivReadListener = pvReadListener;
+    }
+
+    /**
+     * Reads the given item on the thread of the given bus master
+     *
+     * @param pvBus the bus master of the device
+     * @param pvDeviceId the device of the item
+     * @param pvItemName the item to read
+     */
+    public synchronized void read(final String pvBus, String pvDeviceId, String pvItemName) {
+        Map<String, Set<String>> lvPendingDevices = ivPendingReads.get(pvBus);
+        boolean lvIsDrainScheduled = lvPendingDevices != null;
+        if (lvPendingDevices == null) {
+            lvPendingDevices = new LinkedHashMap<String, Set<String>>();
+            ivPendingReads.put(pvBus, lvPendingDevices);
+        }
+
+        Set<String> lvItemNames = lvPendingDevices.get(pvDeviceId);
+        if (lvItemNames == null) {
+            lvItemNames = new LinkedHashSet<String>();
+            lvPendingDevices.put(pvDeviceId, lvItemNames);
+        }
+        lvItemNames.add(pvItemName);
+
+        if (!lvIsDrainScheduled) {
+            getReader(pvBus).execute(new Runnable() {
+                @Override
+                public void run() {
+                    drain(pvBus);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops all reader threads, items which are still waiting are discarded.
+     */
+    public synchronized void stop() {
+        for (ExecutorService lvReader : ivReaders.values()) {
+            lvReader.shutdownNow();
+        }
+        ivReaders.clear();
+        ivPendingReads.clear();
+    }
+
+    /**
+     * Discards all items which are still waiting to be read
+     */
+    public synchronized void clear() {
+        for (Map<String, Set<String>> lvPendingDevices : ivPendingReads.values()) {
+            lvPendingDevices.clear();
+        }
+    }
+
+    private void drain(String pvBus) {
+        Map<String, Set<String>> lvItemNamesByDevice;
+        synchronized (this) {
+            // new reads are collected in a new batch and scheduled with the next drain
+            lvItemNamesByDevice = ivPendingReads.remove(pvBus);
+        }
+        if (lvItemNamesByDevice == null || lvItemNamesByDevice.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Reading {} devices from bus '{}'", lvItemNamesByDevice.size(), pvBus);
+        try {
+            ivReadListener.readDevices(pvBus, lvItemNamesByDevice);
+        } catch (RuntimeException lvException) {
+            logger.error("Error while reading devices from bus '" + pvBus + "'", lvException);
+        }
+    }
+
+    private ExecutorService getReader(final String pvBus) {
+        ExecutorService lvReader = ivReaders.get(pvBus);
+        if (lvReader == null) {
+            lvReader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable pvRunnable) {
+                    String lvName = pvBus.isEmpty() ? "OneWireBinding/ReaderTask"
+                            : "OneWireBinding/ReaderTask " + pvBus;
+                    Thread lvThread = new Thread(pvRunnable, lvName);
+                    lvThread.setDaemon(true);
+                    return lvThread;
+                }
+            });
+            ivReaders.put(pvBus, lvReader);
+        }
+        return lvReader;
+    }
+
+}
@@ -9,13 +9,20 @@
 package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.snmp.SnmpBindingProvider;
 import org.openhab.core.binding.AbstractActiveBinding;
+import org.openhab.core.binding.BindingProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.library.items.StringItem;
@@ -84,6 +91,12 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
 
     private Map<String, Long> lastUpdateMap = new HashMap<String, Long>();
 
+    /** the maximum amount of OIDs requested with a single PDU */
+    private static final int MAX_VARIABLE_BINDINGS = 20;
+
+    /** the in-bound items by their address and OID, <code>null</code> if it has to be rebuilt */
+    private Map<Address, Map<OID, List<IndexedItem>>> itemIndex;
+
     @Override
     public void activate() {
         logger.debug("SNMP binding activated");
@@ -206,55 +219,131 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
      */
     @Override
     public void onResponse(ResponseEvent event) {
-        dispatchPdu(event.getPeerAddress(), event.getResponse());
+        // the response has been received, the request doesn't need to be retried anymore
+        if (event.getSource() instanceof Snmp) {
+            ((Snmp) event.getSource()).cancel(event.getRequest(), this);
+        }
+
+        PDU request = event.getRequest();
+        PDU response = event.getResponse();
+        if (response != null && response.getErrorStatus() != PDU.noError && request != null && request.size() > 1
+                && response.getErrorIndex() > 0 && response.getErrorIndex() <= request.size()) {
+            // SNMPv1 agents reject the whole request if one of the OIDs is unknown,
+            // so the request is repeated without the offending OID
+            VariableBinding failed = request.get(response.getErrorIndex() - 1);
+            logger.debug("SNMP: '{}' failed for OID '{}' of '{}', repeating request without it",
+                    response.getErrorStatusText(), failed.getOid(), event.getPeerAddress());
+
+            PDU pdu = new PDU();
+            pdu.setType(request.getType());
+            for (VariableBinding variableBinding : request.getVariableBindings()) {
+                if (variableBinding != failed) {
+                    pdu.add(new VariableBinding(variableBinding.getOid()));
+                }
+            }
+            if (event.getUserObject() instanceof CommunityTarget) {
+                sendGetPDU((CommunityTarget) event.getUserObject(), pdu);
+            }
+            return;
+        }
+
+        dispatchPdu(event.getPeerAddress(), response);
     }
 
     private void dispatchPdu(Address address, PDU pdu) {
         if (pdu != null & address != null) {
             logger.debug("Received PDU from '{}' '{}'", address, pdu);
+
+            Map<OID, List<IndexedItem>> itemsByOid = getItemIndex().get(address);
+            if (itemsByOid == null) {
+                logger.trace("No items are bound to address '{}'", address);
+                return;
+            }
+
+            for (VariableBinding variableBinding : pdu.getVariableBindings()) {
+                List<IndexedItem> items = itemsByOid.get(variableBinding.getOid());
+                if (items == null) {
+                    logger.trace("No items are bound to OID '{}'", variableBinding.getOid());
+                    continue;
+                }
+
+                Variable variable = variableBinding.getVariable();
+                if (variable == null || variable.isException()) {
+                    logger.debug("PDU contains no value for OID '{}': {}", variableBinding.getOid(), variable);
+                    continue;
+                }
+
+                for (IndexedItem item : items) {
+                    postUpdate(item.provider, item.itemName, variable);
+                }
+            }
+        }
+    }
+
+    private void postUpdate(SnmpBindingProvider provider, String itemName, Variable variable) {
+        Class<? extends Item> itemType = provider.getItemType(itemName);
+
+        // Do any transformations
+        String value = variable.toString();
+        try {
+            value = provider.doTransformation(itemName, value);
+        } catch (TransformationException e) {
+            logger.error("Transformation error with item {}: {}", itemName, e);
+        }
+
+        // Change to a state
+        State state = null;
+        if (itemType.isAssignableFrom(StringItem.class)) {
+            state = StringType.valueOf(value);
+        } else if (itemType.isAssignableFrom(NumberItem.class)) {
+            state = DecimalType.valueOf(value);
+        } else if (itemType.isAssignableFrom(SwitchItem.class)) {
+            state = OnOffType.valueOf(value);
+        }
+
+        if (state != null) {
+            eventPublisher.postUpdate(itemName, state);
+        } else {
+            logger.debug("'{}' couldn't be parsed to a State. Valid State-Types are String and Number",
+                    variable.toString());
+        }
+    }
+
+    /**
+     * Returns the index of all in-bound items by their address and OID, the index is
+     * rebuilt if the bindings have changed since it was built.
+     */
+    private synchronized Map<Address, Map<OID, List<IndexedItem>>> getItemIndex() {
+        if (itemIndex == null) {
+            Map<Address, Map<OID, List<IndexedItem>>> index = new HashMap<Address, Map<OID, List<IndexedItem>>>();
             for (SnmpBindingProvider provider : providers) {
-                for (String itemName : provider.getItemNames()) {
-                    // Check the IP address
-                    if (!provider.getAddress(itemName).equals(address)) {
+                for (String itemName : provider.getInBindingItemNames()) {
+                    Address address = provider.getAddress(itemName);
+                    OID oid = provider.getOID(itemName);
+                    if (address == null || oid == null) {
                         continue;
                     }
 
-                    // Check the OID
-                    OID oid = provider.getOID(itemName);
-                    Variable variable = pdu.getVariable(oid);
-                    if (variable != null) {
-                        Class<? extends Item> itemType = provider.getItemType(itemName);
-
-                        // Do any transformations
-                        String value = variable.toString();
-                        try {
-                            value = provider.doTransformation(itemName, value);
-                        } catch (TransformationException e) {
-                            logger.error("Transformation error with item {}: {}", itemName, e);
-                        }
-
-                        // Change to a state
-                        State state = null;
-                        if (itemType.isAssignableFrom(StringItem.class)) {
-                            state = StringType.valueOf(value);
-                        } else if (itemType.isAssignableFrom(NumberItem.class)) {
-                            state = DecimalType.valueOf(value);
-                        } else if (itemType.isAssignableFrom(SwitchItem.class)) {
-                            state = OnOffType.valueOf(value);
-                        }
-
-                        if (state != null) {
-                            eventPublisher.postUpdate(itemName, state);
-                        } else {
-                            logger.debug("'{}' couldn't be parsed to a State. Valid State-Types are String and Number",
-                                    variable.toString());
-                        }
-                    } else {
-                        logger.trace("PDU doesn't contain a variable with OID ‘{}‘", oid.toString());
+                    Map<OID, List<IndexedItem>> itemsByOid = index.get(address);
+                    if (itemsByOid == null) {
+                        itemsByOid = new HashMap<OID, List<IndexedItem>>();
+                        index.put(address, itemsByOid);
                     }
+                    List<IndexedItem> items = itemsByOid.get(oid);
+                    if (items == null) {
+                        items = new ArrayList<IndexedItem>();
+                        itemsByOid.put(oid, items);
+                    }
+                    items.add(new IndexedItem(provider, itemName));
                 }
             }
+            itemIndex = index;
         }
+        return itemIndex;
+    }
+
+    private synchronized void invalidateItemIndex() {
+        itemIndex = null;
     }
 
     /**
@@ -313,6 +402,11 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
      */
     @Override
     public void execute() {
+        // the OIDs of all due items, grouped by target so that every target
+        // is queried with as few PDUs as possible
+        Map<String, CommunityTarget> targets = new LinkedHashMap<String, CommunityTarget>();
+        Map<String, Set<OID>> oidsByTarget = new HashMap<String, Set<OID>>();
+
         for (SnmpBindingProvider provider : providers) {
             for (String itemName : provider.getInBindingItemNames()) {
                 int refreshInterval = provider.getRefreshInterval(itemName);
@@ -333,40 +427,88 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
                 if (needsUpdate) {
                     logger.debug("Item '{}' is about to be refreshed", itemName);
 
-                    // Set up the target
-                    CommunityTarget target = new CommunityTarget();
-                    target.setCommunity(provider.getCommunity(itemName));
-                    target.setAddress(provider.getAddress(itemName));
-                    target.setRetries(retries);
-                    target.setTimeout(timeout);
-                    target.setVersion(provider.getSnmpVersion(itemName));
-
-                    // Create the PDU
-                    PDU pdu = new PDU();
-                    pdu.add(new VariableBinding(provider.getOID(itemName)));
-                    pdu.setType(PDU.GET);
-
-                    logger.debug("SNMP: Send PDU {} {}", provider.getAddress(itemName), pdu);
-
-                    if (snmp == null) {
-                        logger.error("SNMP: snmp not initialised - aborting request");
-                    } else {
-                        sendPDU(target, pdu);
+                    Address address = provider.getAddress(itemName);
+                    OctetString itemCommunity = provider.getCommunity(itemName);
+                    int version = provider.getSnmpVersion(itemName);
+                    String targetKey = address + "|" + itemCommunity + "|" + version;
+
+                    Set<OID> oids = oidsByTarget.get(targetKey);
+                    if (oids == null) {
+                        // Set up the target
+                        CommunityTarget target = new CommunityTarget();
+                        target.setCommunity(itemCommunity);
+                        target.setAddress(address);
+                        target.setRetries(retries);
+                        target.setTimeout(timeout);
+                        target.setVersion(version);
+                        targets.put(targetKey, target);
+
+                        oids = new LinkedHashSet<OID>();
+                        oidsByTarget.put(targetKey, oids);
                     }
+                    oids.add(provider.getOID(itemName));
 
                     lastUpdateMap.put(itemName, System.currentTimeMillis());
                 }
             }
         }
 
+        for (Entry<String, CommunityTarget> target : targets.entrySet()) {
+            // Create the PDUs, each containing up to MAX_VARIABLE_BINDINGS OIDs
+            PDU pdu = null;
+            for (OID oid : oidsByTarget.get(target.getKey())) {
+                if (pdu == null) {
+                    pdu = new PDU();
+                    pdu.setType(PDU.GET);
+                }
+                pdu.add(new VariableBinding(oid));
+                if (pdu.size() >= MAX_VARIABLE_BINDINGS) {
+                    sendGetPDU(target.getValue(), pdu);
+                    pdu = null;
+                }
+            }
+            if (pdu != null) {
+                sendGetPDU(target.getValue(), pdu);
+            }
+        }
+    }
+
+    private void sendGetPDU(CommunityTarget target, PDU pdu) {
+        logger.debug("SNMP: Send PDU {} {}", target.getAddress(), pdu);
+
+        if (snmp == null) {
+            logger.error("SNMP: snmp not initialised - aborting request");
+        } else {
+            sendPDU(target, pdu);
+        }
     }
 
     protected void addBindingProvider(SnmpBindingProvider bindingProvider) {
         super.addBindingProvider(bindingProvider);
+        invalidateItemIndex();
     }
 
     protected void removeBindingProvider(SnmpBindingProvider bindingProvider) {
         super.removeBindingProvider(bindingProvider);
+        invalidateItemIndex();
+    }
+
+    /**
+     * @{inheritDoc
+     */
+    @Override
+    public void bindingChanged(BindingProvider provider, String itemName) {
+        invalidateItemIndex();
+        super.bindingChanged(provider, itemName);
+    }
+
+    /**
+     * @{inheritDoc
+     */
+    @Override
+    public void allBindingsChanged(BindingProvider provider) {
+        invalidateItemIndex();
+        super.allBindingsChanged(provider);
     }
 
     /**
@@ -440,10 +582,25 @@ public class SnmpBinding extends AbstractActiveBinding<SnmpBindingProvider>
 
     private void sendPDU(CommunityTarget target, PDU pdu) {
         try {
-            snmp.send(pdu, target, null, this);
+            // the target is passed as user object, so a failed request can be repeated
+            snmp.send(pdu, target, target, this);
         } catch (IOException e) {
             logger.error("Error sending PDU", e);
         }
     }
 
+    /**
+     * An in-bound item in the index of items by address and OID
+     */
+    private static class IndexedItem {
+
+        final SnmpBindingProvider provider;
+        final String itemName;
+
+        IndexedItem(SnmpBindingProvider provider, String itemName) {
+            this.provider = provider;
+            this.itemName = itemName;
+        }
+    }
+
 }
@@ -508,6 +508,7 @@ public enum SonosCommandType {
             typeClass = StringType.class;
             direction = Direction.IN;
             polling = true;
+            evented = true;
             jobClass = SonosBinding.MediaInfoJob.class;
         }
     },
@@ -521,6 +522,7 @@ public enum SonosCommandType {
             typeClass = StringType.class;
             direction = Direction.IN;
             polling = true;
+            evented = true;
             jobClass = SonosBinding.CurrentURIFormattedJob.class;
 
         }
@@ -536,6 +538,7 @@ public enum SonosCommandType {
             typeClass = StringType.class;
             direction = Direction.IN;
             polling = true;
+            evented = true;
             jobClass = SonosBinding.CurrentURIFormattedJob.class;
         }
 
@@ -550,6 +553,7 @@ public enum SonosCommandType {
             typeClass = StringType.class;
             direction = Direction.IN;
             polling = true;
+            evented = true;
             jobClass = SonosBinding.CurrentURIFormattedJob.class;
         }
 
@@ -564,6 +568,7 @@ public enum SonosCommandType {
             typeClass = StringType.class;
             direction = Direction.IN;
             polling = true;
+            evented = true;
             jobClass = SonosBinding.CurrentURIFormattedJob.class;
         }
 
@@ -601,6 +606,8 @@ public enum SonosCommandType {
     Direction direction;
     // true if a variable need to be polled pro-actively, e.g. values are not returned as part of a GENA subscription
     boolean polling = false;
+    // true if a polled value is also derived from GENA events of the service, polling is then only a fallback
+    boolean evented = false;
     // class of the Job that will fetch the value(s) for this command.
     Class<? extends Job> jobClass;
 
@@ -631,6 +638,13 @@ public enum SonosCommandType {
         return polling;
     }
 
+    /**
+     * @return true if the polled value is also derived from GENA events of the service
+     */
+    public boolean isEvented() {
+        return evented;
+    }
+
     public Class<? extends Type> getTypeClass() {
         return typeClass;
     }
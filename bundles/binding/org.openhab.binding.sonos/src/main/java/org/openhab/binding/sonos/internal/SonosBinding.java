@@ -11,7 +11,6 @@ package org.openhab.binding.sonos.internal;
 import static org.quartz.JobBuilder.newJob;
 import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
 import static org.quartz.TriggerBuilder.newTrigger;
-import static org.quartz.impl.matchers.GroupMatcher.jobGroupEquals;
 
 import java.util.ArrayList;
 import java.util.Dictionary;
@@ -38,6 +37,7 @@ import org.openhab.core.types.TypeParser;
 import org.openhab.model.item.binding.BindingConfigParseException;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
@@ -813,58 +813,12 @@ public class SonosBinding extends AbstractActiveBinding<SonosBindingProvider>imp
 
                                 RemoteDevice theDevice = thePlayer.getDevice();
 
-                                // Only set up a polling job if the device supports the given SonosCommandType
+                                // Only poll the value if the device supports the given SonosCommandType
                                 // Not all Sonos devices have the same capabilities
                                 if (theDevice != null) {
                                     if (theDevice
                                             .findService(new UDAServiceId(sonosCommandType.getService())) != null) {
-
-                                        boolean jobExists = false;
-
-                                        // enumerate each job group
-                                        try {
-                                            for (String group : sched.getJobGroupNames()) {
-                                                // enumerate each job in group
-                                                for (JobKey jobKey : sched.getJobKeys(jobGroupEquals(group))) {
-                                                    if (jobKey.getName().equals(provider.getSonosID(itemName, aCommand)
-                                                            + "-" + sonosCommandType.getJobClass().toString())) {
-                                                        jobExists = true;
-                                                        break;
-                                                    }
-                                                }
-                                            }
-                                        } catch (SchedulerException e1) {
-                                            logger.error(
-                                                    "An exception occurred while quering the Quartz Scheduler ({})",
-                                                    e1.getMessage());
-                                        }
-
-                                        if (!jobExists) {
-                                            // set up the Quartz jobs
-                                            JobDataMap map = new JobDataMap();
-                                            map.put("Player", thePlayer);
-
-                                            JobDetail job = newJob(sonosCommandType.getJobClass()).withIdentity(
-                                                    provider.getSonosID(itemName, aCommand) + "-"
-                                                            + sonosCommandType.getJobClass().toString(),
-                                                    "Sonos-" + provider.toString()).usingJobData(map).build();
-
-                                            Trigger trigger = newTrigger()
-                                                    .withIdentity(
-                                                            provider.getSonosID(itemName, aCommand) + "-"
-                                                                    + sonosCommandType.getJobClass().toString(),
-                                                            "Sonos-" + provider.toString())
-                                                    .startNow().withSchedule(simpleSchedule().repeatForever()
-                                                            .withIntervalInMilliseconds(pollingPeriod))
-                                                    .build();
-
-                                            try {
-                                                sched.scheduleJob(job, trigger);
-                                            } catch (SchedulerException e) {
-                                                logger.error("An exception occurred while scheduling a Quartz Job ({})",
-                                                        e.getMessage());
-                                            }
-                                        }
+                                        thePlayer.addPolling(sonosCommandType);
                                     }
                                 }
                             }
@@ -872,6 +826,50 @@ public class SonosBinding extends AbstractActiveBinding<SonosBindingProvider>imp
                     }
                 }
             }
+
+            // set up a single Quartz job per player, which polls all values of the player in one go
+            if (sched != null) {
+                for (SonosZonePlayer thePlayer : new ArrayList<SonosZonePlayer>(sonosZonePlayerCache)) {
+                    if (thePlayer.getDevice() == null) {
+                        continue;
+                    }
+
+                    String jobName = thePlayer.getUdn().getIdentifierString() + "-poll";
+                    try {
+                        if (!sched.checkExists(new JobKey(jobName, "Sonos"))) {
+                            JobDataMap map = new JobDataMap();
+                            map.put("Player", thePlayer);
+
+                            JobDetail job = newJob(PollJob.class).withIdentity(jobName, "Sonos").usingJobData(map)
+                                    .build();
+
+                            Trigger trigger = newTrigger().withIdentity(jobName, "Sonos").startNow()
+                                    .withSchedule(
+                                            simpleSchedule().repeatForever().withIntervalInMilliseconds(pollingPeriod))
+                                    .build();
+
+                            sched.scheduleJob(job, trigger);
+                        }
+                    } catch (SchedulerException e) {
+                        logger.error("An exception occurred while scheduling a Quartz Job ({})", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the transport state of the given player and of the players in its group as changed, as their current
+     * track is derived from the transport state of the group's coordinator. The current track is updated by the
+     * poll job of each player, not on the thread delivering the event.
+     *
+     * @param changedPlayer the player whose transport state changed
+     */
+    public void transportChanged(SonosZonePlayer changedPlayer) {
+        for (SonosZonePlayer player : new ArrayList<SonosZonePlayer>(sonosZonePlayerCache)) {
+            if (player == changedPlayer || getCoordinatorForZonePlayer(player) == changedPlayer) {
+                player.transportChanged();
+            }
         }
     }
 
@@ -927,6 +925,20 @@ public class SonosBinding extends AbstractActiveBinding<SonosBindingProvider>imp
         return "Sonos Refresh Service";
     }
 
+    @DisallowConcurrentExecution
+    public static class PollJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+
+            JobDataMap dataMap = context.getJobDetail().getJobDataMap();
+            SonosZonePlayer thePlayer = (SonosZonePlayer) dataMap.get("Player");
+
+            thePlayer.poll(context);
+
+        }
+    }
+
     public static class LedJob implements Job {
 
         @Override
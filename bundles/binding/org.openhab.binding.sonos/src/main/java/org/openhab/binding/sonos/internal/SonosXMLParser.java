@@ -32,6 +32,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.joda.time.DateTime;
 import org.joda.time.LocalTime;
@@ -76,6 +78,17 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    /** the maximum number of idle readers kept for reuse */
+    private static final int MAX_IDLE_READERS = 4;
+
+    /**
+     * Readers which are currently not in use. Creating a reader takes longer than parsing the small documents sent
+     * by the zone players, so readers are reused. A reader is only used by one thread at a time.
+     */
+    private static final BlockingQueue<XMLReader> idleReaders = new ArrayBlockingQueue<XMLReader>(MAX_IDLE_READERS);
+
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -108,11 +121,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         AlarmHandler handler = new AlarmHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             logger.error("Could not parse Alarms from String {}", xml);
         }
@@ -126,11 +137,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosEntry> getEntriesFromString(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         EntryHandler handler = new EntryHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             logger.error("Could not parse Entries from String {}", xml);
         }
@@ -146,11 +155,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getEmbededMetaDataFromResource(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         EmbededMetaDataHandler handler = new EmbededMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             logger.error("Could not parse Entries from String {}", xml);
         }
@@ -165,11 +172,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ZoneGroupHandler handler = new ZoneGroupHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             logger.error("Could not parse ZoneGroup from String {}", xml);
@@ -180,11 +185,9 @@ public class SonosXMLParser {
     }
 
     public static List<String> getRadioTimeFromXML(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         OpmlHandler handler = new OpmlHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             logger.error("Could not parse RadioTime from String {}", xml);
@@ -195,11 +198,9 @@ public class SonosXMLParser {
     }
 
     public static Map<String, StateVariableValue> getRenderingControlFromXML(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             logger.debug("Could not parse Rendering Control event: {}", e);
@@ -208,11 +209,9 @@ public class SonosXMLParser {
     }
 
     public static Map<String, StateVariableValue> getAVTransportFromXML(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         AVTransportEventHandler handler = new AVTransportEventHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             logger.error("Could not parse AV Transport Event: {}", e);
@@ -221,12 +220,10 @@ public class SonosXMLParser {
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         // logger.debug("getTrackFromXML {}",xml);
         MetaDataHandler handler = new MetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             logger.error("Could not parse AV Transport Event: {}", e);
@@ -234,6 +231,27 @@ public class SonosXMLParser {
         return handler.getMetaData();
     }
 
+    /**
+     * Parses the given xml string with a reader taken from the pool
+     *
+     * @param xml
+     * @param handler the handler receiving the content of the xml string
+     * @throws SAXException
+     * @throws IOException
+     */
+    private static void parse(String xml, DefaultHandler handler) throws SAXException, IOException {
+        XMLReader reader = idleReaders.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        }
+        reader.setContentHandler(handler);
+        reader.parse(new InputSource(new StringReader(xml)));
+
+        // a reader which failed is not reused, so that no state of the failed document is left behind
+        reader.setContentHandler(NO_HANDLER);
+        idleReaders.offer(reader);
+    }
+
     static private class EntryHandler extends DefaultHandler {
 
         // Maintain a set of elements about which it is unuseful to complain about.
@@ -14,6 +14,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang.StringUtils;
 import org.joda.time.DateTime;
@@ -26,6 +29,9 @@ import org.joda.time.format.PeriodFormatterBuilder;
 import org.openhab.binding.sonos.SonosCommandType;
 import org.openhab.binding.sonos.internal.SonosBinding.SonosZonePlayerState;
 import org.openhab.io.net.http.HttpUtil;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.teleal.cling.UpnpService;
@@ -71,7 +77,7 @@ class SonosZonePlayer {
     private RemoteDevice device = null;
     private UDN udn;
     private String id;
-    private DateTime lastOPMLQuery;
+    private volatile DateTime lastOPMLQuery;
     private SonosZonePlayerState savedState = null;
 
     static protected UpnpService upnpService;
@@ -80,6 +86,51 @@ class SonosZonePlayer {
     private Map<String, StateVariableValue> stateMap = Collections
             .synchronizedMap(new HashMap<String, StateVariableValue>());
 
+    /** the time in ms between polls of values which are also updated by GENA events */
+    private static final long EVENTED_POLLING_PERIOD = 60000;
+
+    /**
+     * A job polling values of this player
+     */
+    private static class PollingJob {
+        final Job job;
+        final String service;
+        final boolean evented;
+        volatile long lastRun = 0;
+
+        PollingJob(Job job, String service, boolean evented) {
+            this.job = job;
+            this.service = service;
+            this.evented = evented;
+        }
+    }
+
+    /** the jobs polling values of this player, by their class */
+    private final Map<Class<? extends Job>, PollingJob> pollingJobs = new ConcurrentHashMap<Class<? extends Job>, PollingJob>();
+
+    /** the services of this player with an established GENA subscription */
+    private final Set<String> subscribedServices = Collections
+            .newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Meta data parsed from a state variable
+     */
+    private static class ParsedMetaData {
+        final String xml;
+        final SonosMetaData metaData;
+
+        ParsedMetaData(String xml, SonosMetaData metaData) {
+            this.xml = xml;
+            this.metaData = metaData;
+        }
+    }
+
+    /** set when a GENA event changed the transport state, the current track is then derived on the next poll */
+    private final AtomicBoolean transportChanged = new AtomicBoolean();
+
+    /** the meta data last parsed, by state variable, as the same meta data is requested over and over */
+    private final Map<String, ParsedMetaData> parsedMetaData = new ConcurrentHashMap<String, ParsedMetaData>();
+
     /**
      * @return the stateMap
      */
@@ -91,6 +142,80 @@ class SonosZonePlayer {
         return isConfigured;
     }
 
+    /**
+     * Adds the job polling the value of the given command type, unless it is polled already
+     */
+    public void addPolling(SonosCommandType sonosCommandType) {
+        Class<? extends Job> jobClass = sonosCommandType.getJobClass();
+        if (jobClass == null || pollingJobs.containsKey(jobClass)) {
+            return;
+        }
+        try {
+            pollingJobs.put(jobClass,
+                    new PollingJob(jobClass.newInstance(), sonosCommandType.getService(), sonosCommandType.isEvented()));
+        } catch (Exception e) {
+            logger.error("Could not create the polling job {} for Sonos device {}", jobClass.getSimpleName(), id);
+        }
+    }
+
+    /**
+     * @return true if the value of the given job is polled for this player
+     */
+    public boolean isPolling(Class<? extends Job> jobClass) {
+        return pollingJobs.containsKey(jobClass);
+    }
+
+    /**
+     * Runs all jobs polling the values of this player. Values which are also updated by GENA events are only
+     * polled every {@link #EVENTED_POLLING_PERIOD} ms as long as the subscription to their service is established.
+     */
+    public void poll(JobExecutionContext context) {
+        if (transportChanged.getAndSet(false) && isPolling(SonosBinding.CurrentURIFormattedJob.class)) {
+            try {
+                updateCurrentURIFormatted(false);
+            } catch (RuntimeException e) {
+                logger.error("Error updating the current track of Sonos device " + id, e);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (PollingJob pollingJob : pollingJobs.values()) {
+            if (pollingJob.evented && subscribedServices.contains(pollingJob.service)
+                    && now - pollingJob.lastRun < EVENTED_POLLING_PERIOD) {
+                continue;
+            }
+            pollingJob.lastRun = now;
+            try {
+                pollingJob.job.execute(context);
+            } catch (JobExecutionException e) {
+                logger.error("Error polling Sonos device {}: {}", id, e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Error polling Sonos device " + id, e);
+            }
+        }
+    }
+
+    /**
+     * Marks the transport state as changed, so that the current track is derived from the evented values
+     * with the next poll
+     */
+    public void transportChanged() {
+        transportChanged.set(true);
+    }
+
+    /**
+     * Parses the meta data of the given state variable, reusing the result of the last call as long as the
+     * variable hasn't changed
+     */
+    private SonosMetaData getMetaData(String variable, String xml) throws SAXException {
+        ParsedMetaData parsed = parsedMetaData.get(variable);
+        if (parsed == null || !parsed.xml.equals(xml)) {
+            parsed = new ParsedMetaData(xml, SonosXMLParser.getMetaDataFromXML(xml));
+            parsedMetaData.put(variable, parsed);
+        }
+        return parsed.metaData;
+    }
+
     SonosZonePlayer(String id, SonosBinding binding) {
 
         if (binding != null) {
@@ -186,11 +311,13 @@ class SonosZonePlayer {
 
         @Override
         public void established(GENASubscription sub) {
+            subscribedServices.add(sub.getService().getServiceId().getId());
         }
 
         @Override
         protected void failed(GENASubscription subscription, UpnpResponse responseStatus, Exception exception,
                 String defaultMsg) {
+            subscribedServices.remove(subscription.getService().getServiceId().getId());
         }
 
         @Override
@@ -242,6 +369,11 @@ class SonosZonePlayer {
             if (isConfigured) {
                 stateMap.putAll(mapToProcess);
                 sonosBinding.processVariableMap(device, mapToProcess);
+
+                if (!mapToProcess.isEmpty() && service.getServiceType().getType().equals("AVTransport")) {
+                    // the current track is derived from the transport state, without waiting for the fallback poll
+                    sonosBinding.transportChanged(SonosZonePlayer.this);
+                }
             }
         }
 
@@ -253,6 +385,7 @@ class SonosZonePlayer {
         @Override
         protected void ended(GENASubscription subscription, CancelReason reason, UpnpResponse responseStatus) {
 
+            subscribedServices.remove(subscription.getService().getServiceId().getId());
             if (device != null && isConfigured()) {
                 // rebooting the GENA subscription
                 Service service = subscription.getService();
@@ -1073,6 +1206,22 @@ class SonosZonePlayer {
 
     }
 
+    /**
+     * @return the transport URI of the last GENA event, or the one of the last media info if there was none
+     */
+    private String getEventedCurrentURI() {
+        if (stateMap != null && isConfigured()) {
+            StateVariableValue status = stateMap.get("AVTransportURI");
+            if (status == null) {
+                status = stateMap.get("CurrentURI");
+            }
+            if (status != null) {
+                return status.getValue().toString();
+            }
+        }
+        return null;
+    }
+
     public long getCurrenTrackNr() {
 
         if (stateMap != null && isConfigured()) {
@@ -1148,6 +1297,13 @@ class SonosZonePlayer {
     }
 
     public boolean updateCurrentURIFormatted() {
+        return updateCurrentURIFormatted(true);
+    }
+
+    /**
+     * @param queryMediaInfo false to use the transport URI known from GENA events instead of querying the media info
+     */
+    private boolean updateCurrentURIFormatted(boolean queryMediaInfo) {
 
         if (stateMap != null && isConfigured()) {
 
@@ -1156,12 +1312,13 @@ class SonosZonePlayer {
             SonosMetaData currentTrack = null;
 
             if (!isGroupCoordinator()) {
-                currentURI = getCoordinator().getCurrentURI();
+                currentURI = queryMediaInfo ? getCoordinator().getCurrentURI()
+                        : getCoordinator().getEventedCurrentURI();
                 currentURIMetaData = getCoordinator().getCurrentURIMetadata();
                 currentTrack = getCoordinator().getTrackMetadata();
 
             } else {
-                currentURI = getCurrentURI();
+                currentURI = queryMediaInfo ? getCurrentURI() : getEventedCurrentURI();
                 currentURIMetaData = getCurrentURIMetadata();
                 currentTrack = getTrackMetadata();
             }
@@ -1334,7 +1491,7 @@ class SonosZonePlayer {
             if (value != null) {
                 try {
                     if (((String) value.getValue()).length() != 0) {
-                        currentTrack = SonosXMLParser.getMetaDataFromXML((String) value.getValue());
+                        currentTrack = getMetaData("CurrentURIMetaData", (String) value.getValue());
                     }
                 } catch (SAXException e) {
                     logger.error("Could not parse MetaData from String {}", value.getValue().toString());
@@ -1355,7 +1512,7 @@ class SonosZonePlayer {
             if (value != null) {
                 try {
                     if (((String) value.getValue()).length() != 0) {
-                        currentTrack = SonosXMLParser.getMetaDataFromXML((String) value.getValue());
+                        currentTrack = getMetaData("CurrentTrackMetaData", (String) value.getValue());
                     }
                 } catch (SAXException e) {
                     logger.error("Could not parse MetaData from String {}", value.getValue().toString());
@@ -1376,7 +1533,7 @@ class SonosZonePlayer {
             if (value != null) {
                 try {
                     if (((String) value.getValue()).length() != 0) {
-                        currentTrack = SonosXMLParser.getMetaDataFromXML((String) value.getValue());
+                        currentTrack = getMetaData("EnqueuedTransportURIMetaData", (String) value.getValue());
                     }
                 } catch (SAXException e) {
                     logger.error("Could not parse MetaData from String {}", value.getValue().toString());
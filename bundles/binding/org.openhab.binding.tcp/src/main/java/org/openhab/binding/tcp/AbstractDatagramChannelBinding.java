@@ -16,16 +16,22 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
@@ -54,6 +60,9 @@ import org.slf4j.LoggerFactory;
  * requires a ChannelBindingProvider based binding provider. Data is pushed around using ByteBuffers with an indicator
  * for blocking/non-blocking (synchronous/asynchronous) communication
  *
+ * The events of the channels are handled by a dedicated reactor thread as soon as they occur, whereas the refresh
+ * thread only sets up the channels of the configured Items
+ *
  * @author Karel Goderis
  * @since 1.1.0
  *
@@ -87,12 +96,24 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     protected DatagramChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
-    // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    // Queue to store BufferElements that need to be written to the network. The selector has to be woken up after
+    // adding an element, so that the reactor thread picks it up
+    protected Queue<WriteBufferElement> writeQueue = new ConcurrentLinkedQueue<WriteBufferElement>();
 
     // Simple datastructure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
 
+    // the thread that waits for the events of the selector and processes them
+    private volatile Thread reactor = null;
+
+    // held while a channel is registered with the selector, so that the reactor thread does not wait in the selector
+    // meanwhile
+    private final Object selectorGuard = new Object();
+
+    // the buffer the reactor thread reads into. It is reused for every read, unless it is handed over to a blocking
+    // write/read operation
+    private ByteBuffer reactorBuffer = null;
+
     /**
      * Datastructure to represent that state of a communications channel
      * 
@@ -110,13 +131,13 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
-        public ByteBuffer buffer;
+        public volatile ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO DatagramChannel that represents this UDP/IP connection
-        public DatagramChannel channel;
+        public volatile DatagramChannel channel;
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
@@ -210,6 +231,10 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
      * contains() - return true if a channel that matches the provided criteria exists in the ChannelTracker
      * replace() - replaces the underlying Java NIO channel on the Channels that match the provided criteria
      * 
+     * The Channels are indexed by Item and by remote address, the indexes are rebuilt when Channels have been added
+     * or removed. Lookups by Java NIO channel go through all the Channels, as the Java NIO channel of a Channel is
+     * replaced whenever it reconnects.
+     * 
      * @author Karel Goderis
      * @since 1.4.0
      * 
@@ -218,9 +243,71 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         private static final long serialVersionUID = 1543958347565096785L;
 
+        // the Channels of each Item
+        private final Map<String, List<C>> itemIndex = new HashMap<String, List<C>>();
+        // the Channels of each resolved remote address
+        private final Map<InetSocketAddress, List<C>> remoteIndex = new HashMap<InetSocketAddress, List<C>>();
+        // the Channels that use an address mask instead of a resolved remote address
+        private final List<C> maskedChannels = new ArrayList<C>();
+        // the modification count of the list when the indexes were built
+        private int indexedModCount = -1;
+
+        @Override
+        public boolean add(C aChannel) {
+            // the reactor thread queries the Channels while the refresh thread adds them
+            synchronized (this) {
+                return super.add(aChannel);
+            }
+        }
+
+        private void updateIndexes() {
+            if (indexedModCount == modCount) {
+                return;
+            }
+
+            itemIndex.clear();
+            remoteIndex.clear();
+            maskedChannels.clear();
+            for (C aChannel : this) {
+                addToIndex(itemIndex, aChannel.item, aChannel);
+                if (aChannel.remote != null) {
+                    addToIndex(remoteIndex, aChannel.remote, aChannel);
+                } else {
+                    maskedChannels.add(aChannel);
+                }
+            }
+            indexedModCount = modCount;
+        }
+
+        private <K> void addToIndex(Map<K, List<C>> index, K key, C aChannel) {
+            List<C> indexedChannels = index.get(key);
+            if (indexedChannels == null) {
+                indexedChannels = new ArrayList<C>();
+                index.put(key, indexedChannels);
+            }
+            indexedChannels.add(aChannel);
+        }
+
+        private List<C> getByItem(String itemName) {
+            updateIndexes();
+            List<C> indexedChannels = itemIndex.get(itemName);
+            return indexedChannels != null ? indexedChannels : Collections.<C> emptyList();
+        }
+
+        private List<C> getByRemote(InetSocketAddress remoteAddress) {
+            updateIndexes();
+            List<C> indexedChannels = remoteIndex.get(remoteAddress);
+            return indexedChannels != null ? indexedChannels : Collections.<C> emptyList();
+        }
+
+        private List<C> getMasked() {
+            updateIndexes();
+            return maskedChannels;
+        }
+
         public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -235,7 +322,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -250,7 +337,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel get(String item, Command command, Direction direction, String host, String port) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -281,7 +368,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
@@ -290,7 +377,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                     }
                 }
 
-                Iterator<C> it2 = iterator();
+                Iterator<C> it2 = getByRemote(remoteAddress).iterator();
                 while (it2.hasNext()) {
                     C aChannel = it2.next();
                     if (remoteAddress.equals(aChannel.remote)) {
@@ -304,7 +391,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
@@ -319,7 +406,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
@@ -335,7 +422,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         public void replace(String itemName, Direction direction, DatagramChannel theDatagramChannel,
                 DatagramChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
@@ -350,7 +437,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 DatagramChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
@@ -367,7 +454,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                 ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
@@ -386,7 +473,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                 ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
                 if (useAddressMask) {
-                    Iterator<C> it = iterator();
+                    Iterator<C> it = getMasked().iterator();
                     while (it.hasNext()) {
                         C aChannel = it.next();
                         if (direction.equals(aChannel.direction)) {
@@ -400,7 +487,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         }
                     }
                 } else {
-                    Iterator<C> it = iterator();
+                    Iterator<C> it = getByRemote(remote).iterator();
                     while (it.hasNext()) {
                         C aChannel = it.next();
                         if (remote.equals(aChannel.remote) && direction.equals(aChannel.direction)) {
@@ -415,7 +502,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public void setAll(String itemName, Direction direction, DatagramChannel theDatagramChannel, boolean b) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && theDatagramChannel.equals(aChannel.channel)
@@ -428,7 +515,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirstServed(InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
@@ -454,7 +541,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, DatagramChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
@@ -495,7 +582,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
@@ -523,7 +610,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public void replace(InetSocketAddress remoteAddress, DatagramChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && !channel.equals(aChannel.channel)) {
@@ -576,7 +663,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && direction.equals(aChannel.direction)
@@ -595,7 +682,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                 ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(clientAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (clientAddress.equals(aChannel.remote) && theDatagramChannel.equals(aChannel.channel)
@@ -687,10 +774,10 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
             logger.info("Listening for incoming data on {}", listenerChannel.getLocalAddress());
 
-            synchronized (selector) {
+            synchronized (selectorGuard) {
                 selector.wakeup();
                 try {
-                    listenerKey = listenerChannel.register(selector, listenerChannel.validOps());
+                    listenerKey = listenerChannel.register(selector, SelectionKey.OP_READ);
                 } catch (ClosedChannelException e1) {
                     logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
                 }
@@ -712,7 +799,17 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             selector = Selector.open();
         } catch (IOException e) {
             logger.error("An exception occurred while registering the selector: {}", e.getMessage());
+            return;
         }
+
+        reactor = new Thread(getClass().getSimpleName() + " Reactor") {
+            @Override
+            public void run() {
+                react(this);
+            }
+        };
+        reactor.setDaemon(true);
+        reactor.start();
     }
 
     /**
@@ -721,6 +818,11 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
     @Override
     public void deactivate() {
 
+        if (reactor != null) {
+            reactor.interrupt();
+            reactor = null;
+        }
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -1040,14 +1142,22 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
             if (theBuffer != null) {
                 writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                selector.wakeup();
 
                 long currentElapsedTimeMillis = System.currentTimeMillis();
 
-                while (theChannel.buffer == null && (System.currentTimeMillis() - currentElapsedTimeMillis) < timeOut) {
-                    try {
-                        Thread.sleep(50);
-                    } catch (InterruptedException e) {
-                        logger.warn("An Exception occurred while waiting waiting during a blocking buffer write");
+                // the reactor thread notifies the Channel as soon as the response is received
+                synchronized (theChannel) {
+                    long remainingTime = timeOut;
+                    while (theChannel.buffer == null && remainingTime > 0) {
+                        try {
+                            theChannel.wait(remainingTime);
+                        } catch (InterruptedException e) {
+                            logger.warn("An Exception occurred while waiting waiting during a blocking buffer write");
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                        remainingTime = timeOut - (System.currentTimeMillis() - currentElapsedTimeMillis);
                     }
                 }
 
@@ -1057,6 +1167,9 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                     theChannel.buffer = null;
                     theChannel.isBlocking = false;
                 }
+
+                // writes queued behind the blocking operation can proceed
+                selector.wakeup();
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1066,6 +1179,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
             if (theBuffer != null) {
                 writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                selector.wakeup();
             }
 
             return theBuffer;
@@ -1121,11 +1235,13 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                             logger.error("An exception occurred while configuring a channel: {}", e.getMessage());
                         }
 
-                        synchronized (theBinding.selector) {
+                        synchronized (theBinding.selectorGuard) {
                             theBinding.selector.wakeup();
                             try {
                                 if (theChannel.channel != null) {
-                                    theChannel.channel.register(theBinding.selector, theChannel.channel.validOps());
+                                    // the interest in write events is added by the reactor thread when data is
+                                    // queued
+                                    theChannel.channel.register(theBinding.selector, SelectionKey.OP_READ);
                                 }
                             } catch (ClosedChannelException e1) {
                                 logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
@@ -1349,16 +1465,6 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                                     e.getMessage());
                                         }
 
-                                        synchronized (selector) {
-                                            selector.wakeup();
-                                            try {
-                                                newDatagramChannel.register(selector, newDatagramChannel.validOps());
-                                            } catch (ClosedChannelException e1) {
-                                                logger.error("An exception occurred while registering a selector: {}",
-                                                        e1.getMessage());
-                                            }
-                                        }
-
                                         newChannel.channel = newDatagramChannel;
                                         logger.debug("Setting up the outbound channel {}", newChannel);
 
@@ -1369,6 +1475,18 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                             logger.error("An exception occurred while connecting a channel: {}",
                                                     e.getMessage());
                                         }
+
+                                        // the channel is registered once it is connected, as the reactor thread
+                                        // immediately selects it
+                                        synchronized (selectorGuard) {
+                                            selector.wakeup();
+                                            try {
+                                                newDatagramChannel.register(selector, SelectionKey.OP_READ);
+                                            } catch (ClosedChannelException e1) {
+                                                logger.error("An exception occurred while registering a selector: {}",
+                                                        e1.getMessage());
+                                            }
+                                        }
                                     } else {
                                         logger.info("There is already an active channel {} for the remote end {}",
                                                 newChannel.channel, newChannel.remote);
@@ -1381,15 +1499,74 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
             }
         }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
+    }
+
+    /**
+     * Waits for the events of the selector and processes them, until the binding is deactivated
+     *
+     * @param thread the reactor thread
+     */
+    private void react(Thread thread) {
+        while (reactor == thread && selector.isOpen()) {
             try {
+                synchronized (selectorGuard) {
+                    // wait here while another thread registers a channel with the selector
+                }
+
+                enableWrites();
+
                 // Wait for an event
-                selector.selectNow();
+                selector.select();
+
+                processSelectedKeys();
+            } catch (ClosedSelectorException e) {
+                return;
             } catch (IOException e) {
                 logger.error("An exception occurred while Selecting ({})", e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("An exception occurred while processing the events of the selector", e);
             }
         }
+    }
+
+    /**
+     * Adds the interest in write events to the channels which have data queued, unless they are in a blocking
+     * write/read operation. The interest is removed again by the reactor thread when there is nothing left to write.
+     */
+    private void enableWrites() {
+        for (WriteBufferElement anElement : writeQueue) {
+            DatagramChannel theDatagramChannel = anElement.channel.channel;
+            if (theDatagramChannel != null && !channels.isBlocking(theDatagramChannel)) {
+                SelectionKey selKey = theDatagramChannel.keyFor(selector);
+                if (selKey != null && selKey.isValid()) {
+                    selKey.interestOps(selKey.interestOps() | SelectionKey.OP_WRITE);
+                }
+            }
+        }
+    }
+
+    private void disableWrites(SelectionKey selKey) {
+        if (selKey.isValid()) {
+            selKey.interestOps(selKey.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Returns the buffer the reactor thread reads into. The buffer is reused, unless it has been handed over to a
+     * blocking write/read operation
+     */
+    private ByteBuffer getReactorBuffer() {
+        if (reactorBuffer == null || reactorBuffer.capacity() != maximumBufferSize) {
+            reactorBuffer = ByteBuffer.allocate(maximumBufferSize);
+        } else {
+            // implementations might parse the whole backing array, so it must not contain data of a previous read
+            Arrays.fill(reactorBuffer.array(), (byte) 0);
+            reactorBuffer.clear();
+        }
+        return reactorBuffer;
+    }
+
+    private void processSelectedKeys() {
 
         // Get list of selection keys with pending events
         Iterator<SelectionKey> it = selector.selectedKeys().iterator();
@@ -1405,7 +1582,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                 if (selKey.isReadable()) {
                     InetSocketAddress clientAddress = null;
-                    ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
+                    ByteBuffer readBuffer = getReactorBuffer();
                     int numberBytesRead = 0;
                     boolean error = false;
 
@@ -1475,6 +1652,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                     if (error) {
                         if (selKey != listenerKey) {
+                            // stop selecting the broken channel, it is replaced when it reconnects
+                            selKey.cancel();
 
                             Scheduler scheduler = null;
                             try {
@@ -1540,7 +1719,11 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                                 // find the Channel with this DGC that is holding a Blocking flag
                                 theChannel = channels.getBlocking(theDatagramChannel);
-                                theChannel.buffer = readBuffer;
+                                reactorBuffer = null;
+                                synchronized (theChannel) {
+                                    theChannel.buffer = readBuffer;
+                                    theChannel.notifyAll();
+                                }
 
                             } else {
                                 for (Channel aChannel : channelsToServe) {
@@ -1577,7 +1760,7 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                         Iterator<WriteBufferElement> iterator = writeQueue.iterator();
                         while (iterator.hasNext()) {
                             WriteBufferElement anElement = iterator.next();
-                            if (anElement.channel.channel.equals(listenerChannel)) {
+                            if (listenerChannel.equals(anElement.channel.channel)) {
                                 theElement = anElement;
                                 break;
                             }
@@ -1589,21 +1772,25 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
 
                     if (isBlocking) {
                         // if this channel is already flagged as being in a blocked write/read operation, we skip this
-                        // selKey
+                        // selKey until the operation is finished
+                        disableWrites(selKey);
                     } else {
 
                         if (selKey != listenerKey) {
                             Iterator<WriteBufferElement> iterator = writeQueue.iterator();
                             while (iterator.hasNext()) {
                                 WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theDatagramChannel)) {
+                                if (theDatagramChannel.equals(anElement.channel.channel)) {
                                     theElement = anElement;
                                     break;
                                 }
                             }
                         }
 
-                        if (theElement != null && theElement.buffer != null) {
+                        if (theElement == null || theElement.buffer == null) {
+                            // nothing left to write on this channel
+                            disableWrites(selKey);
+                        } else {
 
                             logger.debug("Picked {} from the queue", theElement);
 
@@ -1719,6 +1906,8 @@ public abstract class AbstractDatagramChannelBinding<P extends ChannelBindingPro
                                                 e.getMessage());
                                     }
                                 }
+
+                                disableWrites(selKey);
                             } else {
                                 if (theElement != null) {
                                     writeQueue.remove(theElement);
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.NoConnectionPendingException;
 import java.nio.channels.NotYetConnectedException;
 import java.nio.channels.SelectionKey;
@@ -24,10 +25,15 @@ import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.binding.AbstractActiveBinding;
@@ -56,6 +62,9 @@ import org.slf4j.LoggerFactory;
  * requires a ChannelBindingProvider based binding provider. Data is pushed around using ByteBuffers with an indicator
  * for blocking/non-blocking (synchronous/asynchronous) communication
  *
+ * The events of the channels are handled by a dedicated reactor thread as soon as they occur, whereas the refresh
+ * thread only sets up the channels of the configured Items
+ *
  * @author Karel Goderis
  * @since 1.1.0
  *
@@ -91,12 +100,24 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     protected ServerSocketChannel listenerChannel = null;
     protected SelectionKey listenerKey = null;
 
-    // Queue to store BufferElements that need to be written to the network
-    protected List<WriteBufferElement> writeQueue = Collections.synchronizedList(new ArrayList<WriteBufferElement>());
+    // Queue to store BufferElements that need to be written to the network. The selector has to be woken up after
+    // adding an element, so that the reactor thread picks it up
+    protected Queue<WriteBufferElement> writeQueue = new ConcurrentLinkedQueue<WriteBufferElement>();
 
     // Simple datastructure to track the state of Channels
     protected ChannelTracker<Channel> channels = new ChannelTracker<Channel>();
 
+    // the thread that waits for the events of the selector and processes them
+    private volatile Thread reactor = null;
+
+    // held while a channel is registered with the selector, so that the reactor thread does not wait in the selector
+    // meanwhile
+    private final Object selectorGuard = new Object();
+
+    // the buffer the reactor thread reads into. It is reused for every read, unless it is handed over to a blocking
+    // write/read operation
+    private ByteBuffer reactorBuffer = null;
+
     /**
      * Datastructure to represent that state of a communications channel
      * 
@@ -114,13 +135,13 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         // the direction, in our out, of this channel
         public Direction direction;
         // flag to indicate if the channel is in a blocking write/read operation
-        public boolean isBlocking;
+        public volatile boolean isBlocking;
         // placeholder to store the received data as the result of a blocking write/read operation
-        public ByteBuffer buffer;
+        public volatile ByteBuffer buffer;
         // flag to indicate if the channel is reconnecting / recovering from a previous communication error
-        public boolean isReconnecting;
+        public volatile boolean isReconnecting;
         // reference to the underlying Java NIO SocketChannel that represents this TCP/IP connection
-        public SocketChannel channel;
+        public volatile SocketChannel channel;
         // remote host name to use. Could be "*" when using masked addresses
         public String host;
         // remote port number to use. Could be "*" when using masked addresses
@@ -213,6 +234,10 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
      * contains() - return true if a channel that matches the provided criteria exists in the ChannelTracker
      * replace() - replaces the underlying Java NIO channel on the Channels that match the provided criteria
      * 
+     * The Channels are indexed by Item and by remote address, the indexes are rebuilt when Channels have been added
+     * or removed. Lookups by Java NIO channel go through all the Channels, as the Java NIO channel of a Channel is
+     * replaced whenever it reconnects.
+     * 
      * @author Karel Goderis
      * @since 1.4.0
      * 
@@ -221,9 +246,77 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         private static final long serialVersionUID = 1543958347565096785L;
 
+        // the Channels of each Item
+        private final Map<String, List<C>> itemIndex = new HashMap<String, List<C>>();
+        // the Channels of each resolved remote address
+        private final Map<InetSocketAddress, List<C>> remoteIndex = new HashMap<InetSocketAddress, List<C>>();
+        // the Channels that use an address mask instead of a resolved remote address
+        private final List<C> maskedChannels = new ArrayList<C>();
+        // the modification count of the list when the indexes were built
+        private int indexedModCount = -1;
+
+        @Override
+        public boolean add(C aChannel) {
+            // the reactor thread queries the Channels while the refresh thread adds them
+            synchronized (this) {
+                return super.add(aChannel);
+            }
+        }
+
+        private void updateIndexes() {
+            if (indexedModCount == modCount) {
+                return;
+            }
+
+            itemIndex.clear();
+            remoteIndex.clear();
+            maskedChannels.clear();
+            for (C aChannel : this) {
+                addToIndex(itemIndex, aChannel.item, aChannel);
+                if (aChannel.remote != null) {
+                    addToIndex(remoteIndex, aChannel.remote, aChannel);
+                } else {
+                    maskedChannels.add(aChannel);
+                }
+            }
+            indexedModCount = modCount;
+        }
+
+        private <K> void addToIndex(Map<K, List<C>> index, K key, C aChannel) {
+            List<C> indexedChannels = index.get(key);
+            if (indexedChannels == null) {
+                indexedChannels = new ArrayList<C>();
+                index.put(key, indexedChannels);
+            }
+            indexedChannels.add(aChannel);
+        }
+
+        private List<C> getByItem(String itemName) {
+            updateIndexes();
+            List<C> indexedChannels = itemIndex.get(itemName);
+            return indexedChannels != null ? indexedChannels : Collections.<C> emptyList();
+        }
+
+        private List<C> getByRemote(InetSocketAddress remoteAddress) {
+            updateIndexes();
+            List<C> indexedChannels = remoteIndex.get(remoteAddress);
+            return indexedChannels != null ? indexedChannels : Collections.<C> emptyList();
+        }
+
+        private List<C> getByRemoteOrMask(InetSocketAddress remoteAddress) {
+            List<C> indexedChannels = getByRemote(remoteAddress);
+            if (!useAddressMask || maskedChannels.isEmpty()) {
+                return indexedChannels;
+            }
+
+            List<C> selectedChannels = new ArrayList<C>(maskedChannels);
+            selectedChannels.addAll(indexedChannels);
+            return selectedChannels;
+        }
+
         public boolean contains(String item, Command command, Direction direction, InetSocketAddress remote) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -238,7 +331,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel get(String item, Command command, Direction direction, InetSocketAddress remote) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -253,7 +346,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel get(String item, Command command, Direction direction, String host, String port) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(item).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (item.equals(aChannel.item) && command.equals(aChannel.command)
@@ -284,7 +377,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirst(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel == null
@@ -293,7 +386,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                     }
                 }
 
-                Iterator<C> it2 = iterator();
+                Iterator<C> it2 = getByRemote(remoteAddress).iterator();
                 while (it2.hasNext()) {
                     C aChannel = it2.next();
                     if (remoteAddress.equals(aChannel.remote)) {
@@ -307,7 +400,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirst(String itemName, Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
@@ -322,7 +415,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirstServed(String itemName, Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && remoteAddress.equals(aChannel.remote)
@@ -338,7 +431,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         public void replace(String itemName, Direction direction, SocketChannel oldSocketChannel,
                 SocketChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && oldSocketChannel.equals(aChannel.channel)
@@ -353,7 +446,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
         public void replace(String itemName, Direction direction, InetSocketAddress remoteAddress,
                 SocketChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
@@ -381,7 +474,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                 ArrayList<Channel> selectedChannels = new ArrayList<Channel>();
 
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
@@ -396,7 +489,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public void setAllBlocking(String itemName, Direction direction, SocketChannel theSocketChannel, boolean b) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByItem(itemName).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (itemName.equals(aChannel.item) && theSocketChannel.equals(aChannel.channel)
@@ -409,7 +502,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirstServed(InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null) {
@@ -435,7 +528,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public void replace(Direction direction, InetSocketAddress remoteAddress, SocketChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
@@ -487,7 +580,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirstServed(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemote(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (remoteAddress.equals(aChannel.remote) && aChannel.channel != null
@@ -515,7 +608,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public void replace(InetSocketAddress remoteAddress, SocketChannel channel) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = getByRemoteOrMask(remoteAddress).iterator();
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
@@ -578,7 +671,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
         public Channel getFirstNotServed(Direction direction, InetSocketAddress remoteAddress) {
             synchronized (this) {
-                Iterator<C> it = iterator();
+                Iterator<C> it = (useAddressMask ? iterator() : getByRemote(remoteAddress).iterator());
                 while (it.hasNext()) {
                     C aChannel = it.next();
                     if (useAddressMask && (aChannel.host.equals("*") || aChannel.port.equals("*"))
@@ -682,7 +775,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
             logger.info("Listening for incoming connections on {}", listenerChannel.getLocalAddress());
 
-            synchronized (selector) {
+            synchronized (selectorGuard) {
                 selector.wakeup();
                 try {
                     listenerKey = listenerChannel.register(selector, SelectionKey.OP_ACCEPT);
@@ -708,7 +801,17 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             selector = Selector.open();
         } catch (IOException e) {
             logger.error("An exception occurred while registering the selector: {}", e.getMessage());
+            return;
         }
+
+        reactor = new Thread(getClass().getSimpleName() + " Reactor") {
+            @Override
+            public void run() {
+                react(this);
+            }
+        };
+        reactor.setDaemon(true);
+        reactor.start();
     }
 
     /**
@@ -717,6 +820,11 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
     @Override
     public void deactivate() {
 
+        if (reactor != null) {
+            reactor.interrupt();
+            reactor = null;
+        }
+
         try {
             selector.close();
         } catch (IOException e) {
@@ -1059,15 +1167,23 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             if (theBuffer != null) {
                 if (theSocketChannel.isConnected() || queueUntilConnected) {
                     writeQueue.add(new WriteBufferElement(theChannel, theBuffer, true));
+                    selector.wakeup();
                 }
 
                 long currentElapsedTimeMillis = System.currentTimeMillis();
 
-                while (theChannel.buffer == null && (System.currentTimeMillis() - currentElapsedTimeMillis) < timeOut) {
-                    try {
-                        Thread.sleep(100);
-                    } catch (InterruptedException e) {
-                        logger.warn("Exception occurred while waiting waiting during a blocking buffer write");
+                // the reactor thread notifies the Channel as soon as the response is received
+                synchronized (theChannel) {
+                    long remainingTime = timeOut;
+                    while (theChannel.buffer == null && remainingTime > 0) {
+                        try {
+                            theChannel.wait(remainingTime);
+                        } catch (InterruptedException e) {
+                            logger.warn("Exception occurred while waiting waiting during a blocking buffer write");
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                        remainingTime = timeOut - (System.currentTimeMillis() - currentElapsedTimeMillis);
                     }
                 }
 
@@ -1077,6 +1193,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                     theChannel.buffer = null;
                     theChannel.isBlocking = false;
                 }
+
+                // writes queued behind the blocking operation can proceed
+                selector.wakeup();
                 return responseBuffer;
             } else {
                 return theBuffer;
@@ -1087,6 +1206,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             if (theBuffer != null) {
                 if (theSocketChannel.isConnected() || queueUntilConnected) {
                     writeQueue.add(new WriteBufferElement(theChannel, theBuffer, false));
+                    selector.wakeup();
                 }
             }
 
@@ -1142,9 +1262,20 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                         logger.error("An exception occurred while configuring a channel: {}", e.getMessage());
                     }
 
-                    synchronized (theBinding.selector) {
+                    try {
+                        if (theChannel.channel != null) {
+                            theChannel.channel.connect(theChannel.remote);
+                            logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
+                        }
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while connecting a channel: {}", e.getMessage());
+                    }
+
+                    // the channel is registered once it is connecting, as the reactor thread immediately selects it
+                    synchronized (theBinding.selectorGuard) {
                         theBinding.selector.wakeup();
-                        int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT;
+                        // the interest in write events is added by the reactor thread when data is queued
+                        int interestSet = SelectionKey.OP_READ | SelectionKey.OP_CONNECT;
                         try {
                             if (theChannel.channel != null) {
                                 theChannel.channel.register(theBinding.selector, interestSet);
@@ -1153,15 +1284,6 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             logger.error("An exception occurred while registering a selector: {}", e1.getMessage());
                         }
                     }
-
-                    try {
-                        if (theChannel.channel != null) {
-                            theChannel.channel.connect(theChannel.remote);
-                            logger.info("Attempting to reconnect the channel for {}", theChannel.remote);
-                        }
-                    } catch (Exception e) {
-                        logger.error("An exception occurred while connecting a channel: {}", e.getMessage());
-                    }
                 } else {
                     logger.debug("I cannot proceed without remote address");
                 }
@@ -1340,19 +1462,6 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                                         e.getMessage());
                                             }
 
-                                            synchronized (selector) {
-                                                selector.wakeup();
-                                                int interestSet = SelectionKey.OP_READ | SelectionKey.OP_WRITE
-                                                        | SelectionKey.OP_CONNECT;
-                                                try {
-                                                    newSocketChannel.register(selector, interestSet);
-                                                } catch (ClosedChannelException e1) {
-                                                    logger.error(
-                                                            "An exception occurred while registering a selector: {}",
-                                                            e1.getMessage());
-                                                }
-                                            }
-
                                             newChannel.channel = newSocketChannel;
                                             logger.debug("Setting up the outbound channel {}", newChannel);
 
@@ -1363,6 +1472,20 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                                 logger.error("An exception occurred while connecting a channel: {}",
                                                         e.getMessage());
                                             }
+
+                                            // the channel is registered once it is connecting, as the reactor thread
+                                            // immediately selects it
+                                            synchronized (selectorGuard) {
+                                                selector.wakeup();
+                                                int interestSet = SelectionKey.OP_READ | SelectionKey.OP_CONNECT;
+                                                try {
+                                                    newSocketChannel.register(selector, interestSet);
+                                                } catch (ClosedChannelException e1) {
+                                                    logger.error(
+                                                            "An exception occurred while registering a selector: {}",
+                                                            e1.getMessage());
+                                                }
+                                            }
                                         }
                                     }
                                 } else {
@@ -1376,15 +1499,74 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
             }
         }
 
-        // Check on channels for which we have to process data
-        synchronized (selector) {
+    }
+
+    /**
+     * Waits for the events of the selector and processes them, until the binding is deactivated
+     *
+     * @param thread the reactor thread
+     */
+    private void react(Thread thread) {
+        while (reactor == thread && selector.isOpen()) {
             try {
+                synchronized (selectorGuard) {
+                    // wait here while another thread registers a channel with the selector
+                }
+
+                enableWrites();
+
                 // Wait for an event
-                selector.selectNow();
+                selector.select();
+
+                processSelectedKeys();
+            } catch (ClosedSelectorException e) {
+                return;
             } catch (IOException e) {
                 logger.error("An exception occurred while Selecting ({})", e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("An exception occurred while processing the events of the selector", e);
             }
         }
+    }
+
+    /**
+     * Adds the interest in write events to the channels which have data queued, unless they are in a blocking
+     * write/read operation. The interest is removed again by the reactor thread when there is nothing left to write.
+     */
+    private void enableWrites() {
+        for (WriteBufferElement anElement : writeQueue) {
+            SocketChannel theSocketChannel = anElement.channel.channel;
+            if (theSocketChannel != null && !channels.isBlocking(theSocketChannel)) {
+                SelectionKey selKey = theSocketChannel.keyFor(selector);
+                if (selKey != null && selKey.isValid()) {
+                    selKey.interestOps(selKey.interestOps() | SelectionKey.OP_WRITE);
+                }
+            }
+        }
+    }
+
+    private void disableWrites(SelectionKey selKey) {
+        if (selKey.isValid()) {
+            selKey.interestOps(selKey.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Returns the buffer the reactor thread reads into. The buffer is reused, unless it has been handed over to a
+     * blocking write/read operation
+     */
+    private ByteBuffer getReactorBuffer() {
+        if (reactorBuffer == null || reactorBuffer.capacity() != maximumBufferSize) {
+            reactorBuffer = ByteBuffer.allocate(maximumBufferSize);
+        } else {
+            // implementations might parse the whole backing array, so it must not contain data of a previous read
+            Arrays.fill(reactorBuffer.array(), (byte) 0);
+            reactorBuffer.clear();
+        }
+        return reactorBuffer;
+    }
+
+    private void processSelectedKeys() {
 
         // Get list of selection keys with pending events
         Iterator<SelectionKey> it = selector.selectedKeys().iterator();
@@ -1450,10 +1632,10 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                                     e.getMessage());
                                         }
 
-                                        synchronized (selector) {
+                                        synchronized (selectorGuard) {
                                             selector.wakeup();
                                             try {
-                                                newChannel.register(selector, newChannel.validOps());
+                                                newChannel.register(selector, SelectionKey.OP_READ);
                                             } catch (ClosedChannelException e1) {
                                                 logger.error("An exception occurred while registering a selector: {}",
                                                         e1.getMessage());
@@ -1596,6 +1778,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                                 logger.info("The channel for {} is now connected", remote);
 
+                                // the interest in write events is added by the reactor thread when data is queued
+                                selKey.interestOps(SelectionKey.OP_READ);
+
                                 if (itemShareChannels) {
                                     channels.replace(theChannel.item, theChannel.direction, remote, theChannel.channel);
                                 }
@@ -1664,7 +1849,7 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                     } else if (selKey.isReadable()) {
 
-                        ByteBuffer readBuffer = ByteBuffer.allocate(maximumBufferSize);
+                        ByteBuffer readBuffer = getReactorBuffer();
                         int numberBytesRead = 0;
                         boolean error = false;
 
@@ -1697,6 +1882,9 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                         }
 
                         if (error) {
+                            // stop selecting the broken channel, it is replaced when it reconnects
+                            selKey.cancel();
+
                             if (theChannel.direction == Direction.OUT) {
 
                                 Scheduler scheduler = null;
@@ -1757,8 +1945,12 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                     // that initiated the write opreation - it has to parse the buffer itself
 
                                     theChannel = channels.getBlocking(theSocketChannel);
-                                    theChannel.buffer = readBuffer;
-                                    theChannel.isBlocking = false;
+                                    reactorBuffer = null;
+                                    synchronized (theChannel) {
+                                        theChannel.buffer = readBuffer;
+                                        theChannel.isBlocking = false;
+                                        theChannel.notifyAll();
+                                    }
 
                                 } else {
                                     for (Channel aChannel : channelsToServe) {
@@ -1785,7 +1977,8 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
 
                         if (isBlocking) {
                             // if this channel is already flagged as being in a blocked write/read operation, we skip
-                            // this selKey
+                            // this selKey until the operation is finished
+                            disableWrites(selKey);
                         } else {
 
                             // pick up a QueueElement for this channel, if any
@@ -1795,13 +1988,16 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                             Iterator<WriteBufferElement> iterator = writeQueue.iterator();
                             while (iterator.hasNext()) {
                                 WriteBufferElement anElement = iterator.next();
-                                if (anElement.channel.channel.equals(theSocketChannel)) {
+                                if (theSocketChannel.equals(anElement.channel.channel)) {
                                     theElement = anElement;
                                     break;
                                 }
                             }
 
-                            if (theElement != null && theElement.buffer != null) {
+                            if (theElement == null || theElement.buffer == null) {
+                                // nothing left to write on this channel
+                                disableWrites(selKey);
+                            } else {
 
                                 logger.debug("Picked {} from the queue", theElement);
 
@@ -1879,6 +2075,8 @@ public abstract class AbstractSocketChannelBinding<P extends ChannelBindingProvi
                                     } else {
                                         theElement.channel.channel = null;
                                     }
+
+                                    disableWrites(selKey);
                                 } else {
                                     if (theElement != null) {
                                         writeQueue.remove(theElement);
@@ -12,7 +12,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
@@ -34,7 +38,15 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
 public class ZWaveProductDatabase {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveProductDatabase.class);
 
-    ZWaveDbRoot database = null;
+    /**
+     * The product files which have been loaded already, keyed by their file name.
+     * The files are never modified once they are loaded, so they are shared by all
+     * instances.
+     */
+    private static final ConcurrentMap<String, ZWaveDbProductFile> productFiles = new ConcurrentHashMap<String, ZWaveDbProductFile>();
+
+    private static XStream productFileStream = null;
+
     Languages language = Languages.ENGLISH;
 
     ZWaveDbManufacturer selManufacturer = null;
@@ -44,7 +56,6 @@ public class ZWaveProductDatabase {
     String productVersion;
 
     public ZWaveProductDatabase() {
-        loadDatabase();
     }
 
     /**
@@ -55,7 +66,6 @@ public class ZWaveProductDatabase {
      */
     public ZWaveProductDatabase(Languages Language) {
         language = Language;
-        loadDatabase();
     }
 
     /**
@@ -66,15 +76,21 @@ public class ZWaveProductDatabase {
      */
     public ZWaveProductDatabase(String Language) {
         language = Languages.fromString(Language);
-        loadDatabase();
     }
 
-    private void loadDatabase() {
+    /**
+     * The product database is parsed only once, when it is used for the first
+     * time, and is shared by all instances afterwards.
+     */
+    private static class DatabaseHolder {
+        static final ZWaveDbIndex INDEX = loadDatabase();
+    }
+
+    private static ZWaveDbIndex loadDatabase() {
         URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/products.xml");
         if (entry == null) {
-            database = null;
             logger.error("Unable to load ZWave product database!");
-            return;
+            return new ZWaveDbIndex(null);
         }
 
         XStream xstream = new XStream(new StaxDriver());
@@ -85,15 +101,15 @@ public class ZWaveProductDatabase {
 
         xstream.processAnnotations(ZWaveDbRoot.class);
 
+        InputStream x = null;
         try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            database = (ZWaveDbRoot) xstream.fromXML(x);
-            if (database == null) {
-                return;
-            }
+            x = entry.openStream();
+            return new ZWaveDbIndex((ZWaveDbRoot) xstream.fromXML(x));
         } catch (IOException e) {
-            e.printStackTrace();
+            logger.error("Unable to load ZWave product database: {}", e.toString());
+            return new ZWaveDbIndex(null);
+        } finally {
+            closeQuietly(x);
         }
     }
 
@@ -119,46 +135,79 @@ public class ZWaveProductDatabase {
             return null;
         }
 
+        productFile = productFiles.get(cfgFile);
+        if (productFile == null) {
+            productFile = loadProductFile(cfgFile);
+        }
+        return productFile;
+    }
+
+    private static synchronized ZWaveDbProductFile loadProductFile(String cfgFile) {
+        // another thread might have loaded the file meanwhile
+        ZWaveDbProductFile file = productFiles.get(cfgFile);
+        if (file != null) {
+            return file;
+        }
+
         URL entry = FrameworkUtil.getBundle(ZWaveProductDatabase.class).getEntry("database/" + cfgFile);
         if (entry == null) {
-            database = null;
             logger.error("Unable to load ZWave product file: '{}'", cfgFile);
             return null;
         }
 
-        XStream xstream = new XStream(new StaxDriver());
-        xstream.alias("Product", ZWaveDbProductFile.class);
-        xstream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
-        xstream.alias("Parameter", ZWaveDbConfigurationParameter.class);
-        xstream.alias("Item", ZWaveDbConfigurationListItem.class);
-        xstream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
-        xstream.alias("Group", ZWaveDbAssociationGroup.class);
-        xstream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
-        xstream.alias("Class", ZWaveDbCommandClass.class);
-
-        xstream.processAnnotations(ZWaveDbProductFile.class);
+        if (productFileStream == null) {
+            XStream xstream = new XStream(new StaxDriver());
+            xstream.alias("Product", ZWaveDbProductFile.class);
+            xstream.alias("Configuration", ZWaveDbProductFile.ZWaveDbConfiguration.class);
+            xstream.alias("Parameter", ZWaveDbConfigurationParameter.class);
+            xstream.alias("Item", ZWaveDbConfigurationListItem.class);
+            xstream.alias("Associations", ZWaveDbProductFile.ZWaveDbAssociation.class);
+            xstream.alias("Group", ZWaveDbAssociationGroup.class);
+            xstream.alias("CommandClass", ZWaveDbProductFile.ZWaveDbCommandClassList.class);
+            xstream.alias("Class", ZWaveDbCommandClass.class);
+
+            xstream.processAnnotations(ZWaveDbProductFile.class);
+            productFileStream = xstream;
+        }
 
+        InputStream x = null;
         try {
-            // this.Manufacturer = (ZWaveDbManufacturer)
-            InputStream x = entry.openStream();
-            productFile = (ZWaveDbProductFile) xstream.fromXML(x);
+            x = entry.openStream();
+            file = (ZWaveDbProductFile) productFileStream.fromXML(x);
         } catch (IOException e) {
             logger.error("Unable to load ZWave product file '{}' : {}", cfgFile, e.toString());
+            return null;
+        } finally {
+            closeQuietly(x);
         }
 
-        return productFile;
+        if (file != null) {
+            productFiles.put(cfgFile, file);
+        }
+        return file;
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // ignore
+        }
     }
 
     public List<ZWaveDbManufacturer> GetManufacturers() {
-        return database.Manufacturer;
+        return DatabaseHolder.INDEX.manufacturers;
     }
 
     public List<ZWaveDbProduct> GetProducts() {
-        if (selManufacturer == null) {
+        if (selManufacturer == null || selManufacturer.Product == null) {
             return Collections.emptyList();
         }
 
-        return selManufacturer.Product;
+        return Collections.unmodifiableList(selManufacturer.Product);
     }
 
     /**
@@ -168,21 +217,11 @@ public class ZWaveProductDatabase {
      * @return true if the manufacturer was found
      */
     public boolean FindManufacturer(int manufacturerId) {
-        if (database == null) {
-            return false;
-        }
-
-        selManufacturer = null;
+        selManufacturer = DatabaseHolder.INDEX.manufacturersById.get(manufacturerId);
         selProduct = null;
         productFile = null;
 
-        for (ZWaveDbManufacturer manufacturer : database.Manufacturer) {
-            if (manufacturer.Id == manufacturerId) {
-                selManufacturer = manufacturer;
-                return true;
-            }
-        }
-        return false;
+        return selManufacturer != null;
     }
 
     /**
@@ -219,16 +258,15 @@ public class ZWaveProductDatabase {
             return false;
         }
         productVersion = version;
+        productFile = null;
 
-        for (ZWaveDbProduct product : selManufacturer.Product) {
-            for (ZWaveDbProductReference reference : product.Reference) {
-                if (reference.Type == productType && reference.Id == productId) {
-                    selProduct = product;
-                    return true;
-                }
-            }
+        ZWaveDbProduct product = DatabaseHolder.INDEX.productsByKey
+                .get(ZWaveDbIndex.getKey(selManufacturer.Id, productType, productId));
+        if (product == null) {
+            return false;
         }
-        return false;
+        selProduct = product;
+        return true;
     }
 
     /**
@@ -376,6 +414,63 @@ public class ZWaveProductDatabase {
         List<ZWaveDbManufacturer> Manufacturer;
     }
 
+    /**
+     * The immutable index of the product database, which looks up manufacturers by
+     * their id and products by their manufacturer, type and id.
+     */
+    private static class ZWaveDbIndex {
+        final List<ZWaveDbManufacturer> manufacturers;
+        final Map<Integer, ZWaveDbManufacturer> manufacturersById;
+        final Map<Long, ZWaveDbProduct> productsByKey;
+
+        ZWaveDbIndex(ZWaveDbRoot database) {
+            if (database == null || database.Manufacturer == null) {
+                manufacturers = Collections.emptyList();
+                manufacturersById = Collections.emptyMap();
+                productsByKey = Collections.emptyMap();
+                return;
+            }
+
+            Map<Integer, ZWaveDbManufacturer> manufacturerMap = new HashMap<Integer, ZWaveDbManufacturer>();
+            Map<Long, ZWaveDbProduct> productMap = new HashMap<Long, ZWaveDbProduct>();
+            for (ZWaveDbManufacturer manufacturer : database.Manufacturer) {
+                if (manufacturer.Id == null || manufacturerMap.containsKey(manufacturer.Id)) {
+                    continue;
+                }
+                manufacturerMap.put(manufacturer.Id, manufacturer);
+                if (manufacturer.Product == null) {
+                    continue;
+                }
+                for (ZWaveDbProduct product : manufacturer.Product) {
+                    if (product.Reference == null) {
+                        continue;
+                    }
+                    for (ZWaveDbProductReference reference : product.Reference) {
+                        if (reference.Type == null || reference.Id == null) {
+                            continue;
+                        }
+                        // the first product with a reference wins, as before
+                        Long key = getKey(manufacturer.Id, reference.Type, reference.Id);
+                        if (!productMap.containsKey(key)) {
+                            productMap.put(key, product);
+                        }
+                    }
+                }
+            }
+
+            manufacturers = Collections.unmodifiableList(database.Manufacturer);
+            manufacturersById = Collections.unmodifiableMap(manufacturerMap);
+            productsByKey = Collections.unmodifiableMap(productMap);
+            logger.debug("Loaded ZWave product database with {} manufacturers and {} products",
+                    manufacturersById.size(), productsByKey.size());
+        }
+
+        static Long getKey(int manufacturerId, int productType, int productId) {
+            return ((long) (manufacturerId & 0xFFFF) << 32) | ((long) (productType & 0xFFFF) << 16)
+                    | (productId & 0xFFFF);
+        }
+    }
+
     /**
      * Helper function to find the label associated with the specified database
      * language If no language is defined, or if the label cant be found in the
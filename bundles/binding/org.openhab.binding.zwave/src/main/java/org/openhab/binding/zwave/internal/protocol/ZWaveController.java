@@ -87,7 +87,6 @@ public class ZWaveController {
 
     private static final int ZWAVE_RESPONSE_TIMEOUT = 5000; // 5000 ms ZWAVE_RESPONSE TIMEOUT
     private static final int ZWAVE_RECEIVE_TIMEOUT = 1000; // 1000 ms ZWAVE_RECEIVE_TIMEOUT
-    private static final int INITIAL_TX_QUEUE_SIZE = 128;
     private static final int INITIAL_RX_QUEUE_SIZE = 8;
     private static final long WATCHDOG_TIMER_PERIOD = 10000; // 10 seconds watchdog timer
 
@@ -97,8 +96,7 @@ public class ZWaveController {
 
     private final ConcurrentHashMap<Integer, ZWaveNode> zwaveNodes = new ConcurrentHashMap<Integer, ZWaveNode>();
     private final ArrayList<ZWaveEventListener> zwaveEventListeners = new ArrayList<ZWaveEventListener>();
-    private final PriorityBlockingQueue<SerialMessage> sendQueue = new PriorityBlockingQueue<SerialMessage>(
-            INITIAL_TX_QUEUE_SIZE, new SerialMessage.SerialMessageComparator(this));
+    private final ZWaveSendQueue sendQueue = new ZWaveSendQueue(this);
     private final PriorityBlockingQueue<SerialMessage> recvQueue = new PriorityBlockingQueue<SerialMessage>(
             INITIAL_RX_QUEUE_SIZE, new SerialMessage.SerialMessageComparator(this));
     private ZWaveSendThread sendThread;
@@ -373,6 +371,9 @@ public class ZWaveController {
 
         disconnect();
 
+        // write the nodes which have been changed recently
+        new ZWaveNodeSerializer().flush();
+
         // clear nodes collection and send queue
         ArrayList<ZWaveEventListener> copy = new ArrayList<ZWaveEventListener>(this.zwaveEventListeners);
         for (Object listener : copy.toArray()) {
@@ -714,6 +715,12 @@ public class ZWaveController {
             // Handle node state changes
             switch (statusEvent.getState()) {
                 case DEAD:
+                    // Don't hold up the other nodes with messages that will time out anyway
+                    int discarded = sendQueue.clear(statusEvent.getNodeId());
+                    if (discarded > 0) {
+                        logger.debug("NODE {}: Node is DEAD. Discarded {} queued messages.", statusEvent.getNodeId(),
+                                discarded);
+                    }
                     break;
                 case FAILED:
                     break;
@@ -1252,6 +1259,13 @@ public class ZWaveController {
                     // Get the node for this message
                     ZWaveNode node = getNode(lastSentMessage.getMessageNode());
 
+                    // A DEAD node gets a single attempt, so it doesn't block the other nodes for
+                    // the full timeout on every retry.
+                    if (node != null && node.isDead() && lastSentMessage.attempts > 0) {
+                        logger.debug("NODE {}: Node is DEAD. Sending message without retries.", node.getNodeId());
+                        lastSentMessage.attempts = 0;
+                    }
+
                     // If it's a battery device, it needs to be awake, or we queue the frame until it is.
                     if (node != null && !node.isListening() && !node.isFrequentlyListening()) {
                         ZWaveWakeUpCommandClass wakeUpCommandClass = (ZWaveWakeUpCommandClass) node
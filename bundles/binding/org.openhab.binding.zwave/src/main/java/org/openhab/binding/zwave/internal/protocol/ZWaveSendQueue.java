@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.zwave.internal.protocol;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.openhab.binding.zwave.internal.protocol.SerialMessage.SerialMessageClass;
+import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveCommandClass.CommandClass;
+import org.openhab.binding.zwave.internal.protocol.commandclass.ZWaveWakeUpCommandClass;
+
+/**
+ * The send queue of the {@link ZWaveController}. Messages are queued per node, so
+ * that the nodes take turns and a node with many queued messages, or a node which
+ * doesn't respond, can't hold up the messages for all other nodes.
+ * <p>
+ * The next message is chosen when it is taken from the queue, using the state of
+ * the nodes at that time -:
+ * <ul>
+ * <li>messages for battery nodes which are awake come first, as these nodes go back
+ * to sleep soon</li>
+ * <li>followed by messages for listening nodes and messages for the controller</li>
+ * <li>followed by messages for sleeping battery nodes</li>
+ * <li>followed by messages for nodes which are DEAD or FAILED</li>
+ * </ul>
+ * Within each of these groups, the message with the highest priority is sent
+ * first. Nodes with messages of the same priority are served round robin.
+ * Messages for the same node are sent in order of their priority and then in the
+ * order they were queued.
+ *
+ * @since 1.9.0
+ */
+class ZWaveSendQueue {
+
+    /** the key of the messages which aren't sent to a node */
+    private static final int CONTROLLER = -1;
+
+    private static final int RANK_AWAKE = 0;
+    private static final int RANK_LISTENING = 1;
+    private static final int RANK_SLEEPING = 2;
+    private static final int RANK_DEAD = 3;
+
+    private final ZWaveController controller;
+    private final SerialMessage.SerialMessageComparator comparator;
+
+    /**
+     * the queued messages per node, in the order the nodes are served next
+     */
+    private final Map<Integer, PriorityQueue<SerialMessage>> queues = new LinkedHashMap<Integer, PriorityQueue<SerialMessage>>();
+
+    private int size = 0;
+
+    /**
+     * @param controller the controller, used to look up the state of the nodes
+     */
+    ZWaveSendQueue(ZWaveController controller) {
+        this.controller = controller;
+        this.comparator = new SerialMessage.SerialMessageComparator(controller);
+    }
+
+    /**
+     * Queues the given message
+     *
+     * @param serialMessage the message to send
+     */
+    synchronized void add(SerialMessage serialMessage) {
+        int key = getKey(serialMessage);
+        PriorityQueue<SerialMessage> queue = queues.get(key);
+        if (queue == null) {
+            queue = new PriorityQueue<SerialMessage>(4, comparator);
+            queues.put(key, queue);
+        }
+        queue.add(serialMessage);
+        size++;
+        notifyAll();
+    }
+
+    /**
+     * Takes the next message to send from the queue, waiting until there is one
+     *
+     * @return the message to send
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    synchronized SerialMessage take() throws InterruptedException {
+        while (size == 0) {
+            wait();
+        }
+
+        Integer bestKey = null;
+        SerialMessage best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (Map.Entry<Integer, PriorityQueue<SerialMessage>> entry : queues.entrySet()) {
+            SerialMessage head = entry.getValue().peek();
+            int rank = getRank(entry.getKey());
+            if (best == null || rank < bestRank
+                    || (rank == bestRank && head.getPriority().compareTo(best.getPriority()) < 0)) {
+                bestKey = entry.getKey();
+                best = head;
+                bestRank = rank;
+            }
+        }
+
+        // the node goes to the end of the line, so that the other nodes get their turn
+        PriorityQueue<SerialMessage> queue = queues.remove(bestKey);
+        queue.poll();
+        if (!queue.isEmpty()) {
+            queues.put(bestKey, queue);
+        }
+        size--;
+        return best;
+    }
+
+    /**
+     * @return the number of queued messages
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Discards all queued messages
+     */
+    synchronized void clear() {
+        queues.clear();
+        size = 0;
+    }
+
+    /**
+     * Discards all queued messages for the given node
+     *
+     * @param nodeId the id of the node
+     * @return the number of discarded messages
+     */
+    synchronized int clear(int nodeId) {
+        PriorityQueue<SerialMessage> queue = queues.remove(nodeId);
+        if (queue == null) {
+            return 0;
+        }
+        size -= queue.size();
+        return queue.size();
+    }
+
+    private static int getKey(SerialMessage serialMessage) {
+        if (serialMessage.getMessageClass() == SerialMessageClass.SendData
+                || serialMessage.getMessageClass() == SerialMessageClass.RequestNodeInfo) {
+            return serialMessage.getMessageNode();
+        }
+        return CONTROLLER;
+    }
+
+    private int getRank(int key) {
+        if (key == CONTROLLER) {
+            return RANK_LISTENING;
+        }
+        ZWaveNode node = controller.getNode(key);
+        if (node == null) {
+            return RANK_LISTENING;
+        }
+        if (node.isDead()) {
+            return RANK_DEAD;
+        }
+        if (node.isListening() || node.isFrequentlyListening()) {
+            return RANK_LISTENING;
+        }
+        ZWaveWakeUpCommandClass wakeUpCommandClass = (ZWaveWakeUpCommandClass) node
+                .getCommandClass(CommandClass.WAKE_UP);
+        if (wakeUpCommandClass != null && wakeUpCommandClass.isAwake()) {
+            return RANK_AWAKE;
+        }
+        return RANK_SLEEPING;
+    }
+
+}
@@ -9,13 +9,24 @@
 package org.openhab.binding.zwave.internal.protocol.initialization;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.binding.zwave.internal.protocol.ZWaveDeviceClass;
 import org.openhab.binding.zwave.internal.protocol.ZWaveEndpoint;
@@ -27,11 +38,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.CompactWriter;
 import com.thoughtworks.xstream.io.xml.StaxDriver;
 
 /**
  * ZWaveNodeSerializer class. Serializes nodes to XML and back again.
+ * <p>
+ * Nodes are converted to XML right away, on the thread which changes them, and
+ * written in the background shortly after, so that a burst of changes to a node
+ * is written only once. A node is only written
+ * if its XML differs from what was written last, and the XML is written without
+ * indentation to keep the files small. All instances share the same store.
  *
  * @author Jan-Willem Spuij
  * @since 1.4.0
@@ -39,31 +56,48 @@ import com.thoughtworks.xstream.io.xml.StaxDriver;
 public class ZWaveNodeSerializer {
 
     private static final Logger logger = LoggerFactory.getLogger(ZWaveNodeSerializer.class);
-    private final XStream stream = new XStream(new StaxDriver());
-    private String folderName = "etc/zwave";
+
+    /** the time in milliseconds a node is written after it has been changed */
+    private static final long WRITE_DELAY = 2000;
+
+    private static final XStream stream = createStream();
+    private static String folderName = "etc/zwave";
+
+    /** the XML of the nodes which are waiting to be written */
+    private static final Map<Integer, byte[]> pendingNodes = new HashMap<Integer, byte[]>();
+
+    /** the digest of the XML which has been written last per node */
+    private static final Map<Integer, byte[]> writtenDigests = new HashMap<Integer, byte[]>();
+
+    private static ScheduledExecutorService writer = null;
 
     /**
      * Constructor. Creates a new instance of the {@link ZWaveNodeSerializer}
      * class.
      */
     public ZWaveNodeSerializer() {
-        logger.trace("Initializing ZWaveNodeSerializer.");
-
-        // Change the folder for OH2
-        // ConfigConstants.getUserDataFolder();
-        final String USERDATA_DIR_PROG_ARGUMENT = "smarthome.userdata";
-        final String eshUserDataFolder = System.getProperty(USERDATA_DIR_PROG_ARGUMENT);
-        if (eshUserDataFolder != null) {
-            folderName = eshUserDataFolder + "/zwave";
-        }
+        synchronized (stream) {
+            // Change the folder for OH2
+            // ConfigConstants.getUserDataFolder();
+            final String USERDATA_DIR_PROG_ARGUMENT = "smarthome.userdata";
+            final String eshUserDataFolder = System.getProperty(USERDATA_DIR_PROG_ARGUMENT);
+            if (eshUserDataFolder != null) {
+                folderName = eshUserDataFolder + "/zwave";
+            }
 
-        final File folder = new File(folderName);
+            final File folder = new File(folderName);
 
-        // create path for serialization.
-        if (!folder.exists()) {
-            logger.debug("Creating directory {}", folderName);
-            folder.mkdirs();
+            // create path for serialization.
+            if (!folder.exists()) {
+                logger.debug("Creating directory {}", folderName);
+                folder.mkdirs();
+            }
         }
+    }
+
+    private static XStream createStream() {
+        logger.trace("Initializing ZWaveNodeSerializer.");
+        XStream stream = new XStream(new StaxDriver());
         stream.processAnnotations(ZWaveNode.class);
         stream.processAnnotations(ZWaveEndpoint.class);
         stream.processAnnotations(ZWaveDeviceClass.class);
@@ -83,39 +117,121 @@ public class ZWaveNodeSerializer {
         }
         stream.processAnnotations(MeterScale.class);
         logger.trace("Initialized ZWaveNodeSerializer.");
+        return stream;
     }
 
     /**
-     * Serializes an XML tree of a {@link ZWaveNode}
+     * Serializes an XML tree of a {@link ZWaveNode}. The XML is written in the
+     * background after a short delay, unless it is replaced by a further change
+     * of the node until then.
      * 
      * @param node
      *            the node to serialize
      */
     public void SerializeNode(ZWaveNode node) {
+        if (node == null) {
+            return;
+        }
+
+        // Don't serialise if the stage is not at least finished static
+        // If we do serialise when we haven't completed the static stages
+        // then when the binding starts it will have incomplete information!
+        if (node.getNodeInitializationStage().isStaticComplete() == false) {
+            logger.debug("NODE {}: Serialise aborted as static stages not complete", node.getNodeId());
+            return;
+        }
+
+        final int nodeId = node.getNodeId();
         synchronized (stream) {
-            // Don't serialise if the stage is not at least finished static
-            // If we do serialise when we haven't completed the static stages
-            // then when the binding starts it will have incomplete information!
-            if (node.getNodeInitializationStage().isStaticComplete() == false) {
-                logger.debug("NODE {}: Serialise aborted as static stages not complete", node.getNodeId());
+            byte[] xml;
+            try {
+                StringWriter buffer = new StringWriter();
+                stream.marshal(node, new CompactWriter(buffer));
+                xml = buffer.toString().getBytes("UTF-8");
+            } catch (IOException e) {
+                logger.error("NODE {}: Error serializing node: {}", nodeId, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                logger.error("NODE {}: Error serializing node: {}", nodeId, e.getMessage());
                 return;
             }
 
-            File file = new File(this.folderName, String.format("node%d.xml", node.getNodeId()));
-            BufferedWriter writer = null;
+            if (pendingNodes.put(nodeId, xml) != null) {
+                // the node is written with the write which is scheduled already
+                return;
+            }
+            if (writer == null) {
+                writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "ZWaveNodeSerializer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            writer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    write(nodeId);
+                }
+            }, WRITE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all nodes which are waiting to be written right away.
+     */
+    public void flush() {
+        List<Integer> nodeIds;
+        synchronized (stream) {
+            nodeIds = new ArrayList<Integer>(pendingNodes.keySet());
+        }
+        for (Integer nodeId : nodeIds) {
+            write(nodeId);
+        }
+    }
+
+    private static void write(int nodeId) {
+        synchronized (stream) {
+            byte[] xml = pendingNodes.remove(nodeId);
+            if (xml == null) {
+                // the node has been flushed or deleted meanwhile
+                return;
+            }
+
+            byte[] digest = getDigest(xml);
+            if (digest != null && Arrays.equals(digest, writtenDigests.get(nodeId))) {
+                logger.trace("NODE {}: Node is unchanged, not serializing it", nodeId);
+                return;
+            }
+
+            File file = new File(folderName, String.format("node%d.xml", nodeId));
+            File tempFile = new File(folderName, String.format("node%d.xml.tmp", nodeId));
+            OutputStream output = null;
 
-            logger.debug("NODE {}: Serializing to file {}", node.getNodeId(), file.getPath());
+            logger.debug("NODE {}: Serializing to file {}", nodeId, file.getPath());
 
             try {
-                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
-                stream.marshal(node, new PrettyPrintWriter(writer));
-                writer.flush();
+                // write to a temporary file first, so a crash can't leave a truncated file behind
+                output = new FileOutputStream(tempFile);
+                output.write(xml);
+                output.close();
+                output = null;
+                if (!tempFile.renameTo(file)) {
+                    // renaming onto an existing file fails on some platforms
+                    file.delete();
+                    if (!tempFile.renameTo(file)) {
+                        throw new IOException("Unable to rename " + tempFile.getPath());
+                    }
+                }
+                writtenDigests.put(nodeId, digest);
             } catch (IOException e) {
-                logger.error("NODE {}: Error serializing to file: {}", node.getNodeId(), e.getMessage());
+                logger.error("NODE {}: Error serializing to file: {}", nodeId, e.getMessage());
             } finally {
-                if (writer != null) {
+                if (output != null) {
                     try {
-                        writer.close();
+                        output.close();
                     } catch (IOException e) {
                     }
                 }
@@ -123,6 +239,14 @@ public class ZWaveNodeSerializer {
         }
     }
 
+    private static byte[] getDigest(byte[] xml) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(xml);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
     /**
      * Deserializes an XML tree of a {@link ZWaveNode}
      * 
@@ -132,7 +256,7 @@ public class ZWaveNodeSerializer {
      */
     public ZWaveNode DeserializeNode(int nodeId) {
         synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
+            File file = new File(folderName, String.format("node%d.xml", nodeId));
             BufferedReader reader = null;
 
             logger.debug("NODE {}: Serializing from file {}", nodeId, file.getPath());
@@ -167,7 +291,9 @@ public class ZWaveNodeSerializer {
      */
     public boolean DeleteNode(int nodeId) {
         synchronized (stream) {
-            File file = new File(this.folderName, String.format("node%d.xml", nodeId));
+            pendingNodes.remove(nodeId);
+            writtenDigests.remove(nodeId);
+            File file = new File(folderName, String.format("node%d.xml", nodeId));
 
             return file.delete();
         }
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.core.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A queryable persistence service which is able to retrieve the latest persisted
+ * state of many items at once. It is used to restore item states on startup with
+ * as few queries as possible. Services which do not implement this interface are
+ * queried item by item.
+ *
+ * @since 1.9.0
+ */
+public interface BulkQueryablePersistenceService extends QueryablePersistenceService {
+
+	/**
+	 * Queries the {@link PersistenceService} for the latest persisted state of the given items
+	 *
+	 * @param itemNames the names of the items to query
+	 * @return a map of item names to their latest persisted state, items without a persisted
+	 *         state are not contained in the map
+	 */
+	Map<String, HistoricItem> queryLatest(Collection<String> itemNames);
+
+}
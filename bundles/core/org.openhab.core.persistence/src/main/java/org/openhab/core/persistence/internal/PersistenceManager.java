@@ -21,7 +21,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.ecore.EObject;
 import org.openhab.core.events.AbstractEventSubscriber;
@@ -32,6 +37,7 @@ import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemRegistryChangeListener;
 import org.openhab.core.items.StateChangeListener;
+import org.openhab.core.persistence.BulkQueryablePersistenceService;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
@@ -73,6 +79,9 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 	
 	private static final Logger logger = LoggerFactory.getLogger(PersistenceManager.class);
 
+	/** the maximum number of parallel queries to restore item states from services without bulk query support */
+	private static final int MAX_RESTORE_THREADS = 4;
+
 	private static PersistenceManager instance;
 	
 	// the scheduler used for timer events
@@ -180,13 +189,15 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 		if(model!=null) {
 			persistenceConfigurations.put(modelName, model.getConfigs());
 			defaultStrategies.put(modelName, model.getDefaults());
+			Set<Item> items = new HashSet<Item>();
 			for(PersistenceConfiguration config : model.getConfigs()) {
 				if(hasStrategy(modelName, config, GlobalStrategies.RESTORE)) {
 					for(Item item : getAllItems(config)) {
-						initialize(item);
+						items.add(item);
 					}
 				}
 			}
+			initialize(items);
 			createTimers(modelName);
 		}
 	}
@@ -333,8 +344,13 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 	}
 
 	public void allItemsChanged(Collection<String> oldItemNames) {
-		for(Item item : itemRegistry.getItems()) {
-			itemAdded(item);
+		Collection<Item> items = itemRegistry.getItems();
+		initialize(items);
+		for(Item item : items) {
+			if (item instanceof GenericItem) {
+				GenericItem genericItem = (GenericItem) item;
+				genericItem.addStateChangeListener(this);
+			}
 		}
 	}
 
@@ -348,45 +364,148 @@ public class PersistenceManager extends AbstractEventSubscriber implements Model
 
 	/**
 	 * Handles the "restoreOnStartup" strategy for the item.
-	 * If the item state is still undefined when entering this method, all persistence configurations are checked,
-	 * if they have the "restoreOnStartup" strategy configured for the item. If so, the item state will be set
-	 * to its last persisted value.
 	 * 
 	 * @param item the item to restore the state for
+	 * @see #initialize(Collection)
 	 */
 	protected void initialize(Item item) {
+		initialize(Collections.singleton(item));
+	}
+
+	/**
+	 * Handles the "restoreOnStartup" strategy for the given items.
+	 * All persistence configurations are checked, if they have the "restoreOnStartup" strategy configured for
+	 * items whose state is still undefined when entering this method. If so, the item states will be set
+	 * to their last persisted value. Each persistence service is asked for the states of all its items at once.
+	 * 
+	 * @param items the items to restore the states for
+	 */
+	protected void initialize(Collection<Item> items) {
 		// get the last persisted state from the persistence service if no state is yet set
-		if(item.getState().equals(UnDefType.NULL) && item instanceof GenericItem) {
-			for(Entry<String, List<PersistenceConfiguration>> entry : persistenceConfigurations.entrySet()) {
-				String serviceName = entry.getKey();
-				for(PersistenceConfiguration config : entry.getValue()) {
-					if(hasStrategy(serviceName, config, GlobalStrategies.RESTORE)) {
-						if(appliesToItem(config, item)) {
-							PersistenceService service = persistenceServices.get(serviceName);
-							if(service instanceof QueryablePersistenceService) {
-								QueryablePersistenceService queryService = (QueryablePersistenceService) service;
-								FilterCriteria filter = new FilterCriteria().setItemName(item.getName()).setPageSize(1);
-								Iterable<HistoricItem> result = queryService.query(filter);
-								Iterator<HistoricItem> it = result.iterator();
-								if(it.hasNext()) {
-									HistoricItem historicItem = it.next();
-									GenericItem genericItem = (GenericItem) item;
-									genericItem.removeStateChangeListener(this);
-									genericItem.setState(historicItem.getState());
-									genericItem.addStateChangeListener(this);
-									logger.debug("Restored item state from '{}' for item '{}' -> '{}'", 
-											new Object[] { DateFormat.getDateTimeInstance().format(historicItem.getTimestamp()), 
-											item.getName(), historicItem.getState().toString() } );
-									return;
-								}
-							} else if(service!=null) {
-								logger.warn("Failed to restore item states as persistence service '{}' can not be queried.", serviceName);
-							}
-						}
+		Map<String, GenericItem> pendingItems = new HashMap<String, GenericItem>();
+		for(Item item : items) {
+			if(item.getState().equals(UnDefType.NULL) && item instanceof GenericItem) {
+				pendingItems.put(item.getName(), (GenericItem) item);
+			}
+		}
+
+		for(Entry<String, List<PersistenceConfiguration>> entry : persistenceConfigurations.entrySet()) {
+			if(pendingItems.isEmpty()) {
+				return;
+			}
+			String serviceName = entry.getKey();
+			Set<String> itemNames = new HashSet<String>();
+			for(PersistenceConfiguration config : entry.getValue()) {
+				if(hasStrategy(serviceName, config, GlobalStrategies.RESTORE)) {
+					itemNames.addAll(getRestorableItemNames(config, pendingItems));
+				}
+			}
+			if(itemNames.isEmpty()) {
+				continue;
+			}
+
+			PersistenceService service = persistenceServices.get(serviceName);
+			if(service instanceof QueryablePersistenceService) {
+				Map<String, HistoricItem> historicItems = queryLatest((QueryablePersistenceService) service, itemNames);
+				for(Entry<String, HistoricItem> historicEntry : historicItems.entrySet()) {
+					GenericItem genericItem = pendingItems.remove(historicEntry.getKey());
+					if(genericItem != null) {
+						HistoricItem historicItem = historicEntry.getValue();
+						genericItem.removeStateChangeListener(this);
+						genericItem.setState(historicItem.getState());
+						genericItem.addStateChangeListener(this);
+						logger.debug("Restored item state from '{}' for item '{}' -> '{}'", 
+								new Object[] { DateFormat.getDateTimeInstance().format(historicItem.getTimestamp()), 
+								genericItem.getName(), historicItem.getState().toString() } );
+					}
+				}
+			} else if(service!=null) {
+				logger.warn("Failed to restore item states as persistence service '{}' can not be queried.", serviceName);
+			}
+		}
+	}
+
+	/**
+	 * Determines the names of the pending items a persistence configuration applies to. For a single
+	 * item the configuration is checked directly, otherwise the items of the configuration are resolved
+	 * only once and matched against the pending items.
+	 * 
+	 * @param config the persistence configuration entry
+	 * @param pendingItems the items which still need to be restored, keyed by their name
+	 * @return the names of the pending items the configuration applies to
+	 */
+	private Collection<String> getRestorableItemNames(PersistenceConfiguration config, Map<String, GenericItem> pendingItems) {
+		if(pendingItems.size() == 1) {
+			GenericItem item = pendingItems.values().iterator().next();
+			return appliesToItem(config, item) ? Collections.singleton(item.getName()) : Collections.<String>emptySet();
+		}
+		Set<String> itemNames = new HashSet<String>();
+		for(Item item : getAllItems(config)) {
+			if(pendingItems.containsKey(item.getName())) {
+				itemNames.add(item.getName());
+			}
+		}
+		return itemNames;
+	}
+
+	/**
+	 * Retrieves the latest persisted states of the given items. Services implementing
+	 * {@link BulkQueryablePersistenceService} are asked for all items at once, all other
+	 * services are queried item by item using up to {@value #MAX_RESTORE_THREADS} parallel queries.
+	 * 
+	 * @param service the persistence service to query
+	 * @param itemNames the names of the items to retrieve the states for
+	 * @return a map of item names to their latest persisted state
+	 */
+	private Map<String, HistoricItem> queryLatest(final QueryablePersistenceService service, Collection<String> itemNames) {
+		if(service instanceof BulkQueryablePersistenceService) {
+			return ((BulkQueryablePersistenceService) service).queryLatest(itemNames);
+		}
+
+		Map<String, HistoricItem> historicItems = new HashMap<String, HistoricItem>();
+		if(itemNames.size() == 1) {
+			String itemName = itemNames.iterator().next();
+			HistoricItem historicItem = queryLatest(service, itemName);
+			if(historicItem != null) {
+				historicItems.put(itemName, historicItem);
+			}
+			return historicItems;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_RESTORE_THREADS, itemNames.size()));
+		try {
+			Map<String, Future<HistoricItem>> futures = new HashMap<String, Future<HistoricItem>>();
+			for(final String itemName : itemNames) {
+				futures.put(itemName, executor.submit(new Callable<HistoricItem>() {
+					public HistoricItem call() {
+						return queryLatest(service, itemName);
+					}
+				}));
+			}
+			for(Entry<String, Future<HistoricItem>> future : futures.entrySet()) {
+				try {
+					HistoricItem historicItem = future.getValue().get();
+					if(historicItem != null) {
+						historicItems.put(future.getKey(), historicItem);
 					}
+				} catch (ExecutionException e) {
+					logger.warn("Failed to restore state of item '{}' from persistence service '{}'", 
+							new Object[] { future.getKey(), service.getName(), e.getCause() });
 				}
-			}	
-		}		
+			}
+		} catch (InterruptedException e) {
+			logger.debug("Restoring item states from persistence service '{}' has been interrupted.", service.getName());
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return historicItems;
+	}
+
+	private HistoricItem queryLatest(QueryablePersistenceService service, String itemName) {
+		FilterCriteria filter = new FilterCriteria().setItemName(itemName).setPageSize(1);
+		Iterator<HistoricItem> it = service.query(filter).iterator();
+		return it.hasNext() ? it.next() : null;
 	}
 
 	public void itemRemoved(Item item) {
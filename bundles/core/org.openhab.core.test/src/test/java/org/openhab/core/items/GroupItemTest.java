@@ -53,6 +53,15 @@ public class GroupItemTest {
 		}
 	}
 	
+	@Test
+	public void testSameMemberIsAddedOnce() {
+		GroupItem groupItem = new GroupItem("group");
+		TestItem member = new TestItem("member");
+		groupItem.addMember(member);
+		groupItem.addMember(member);
+		Assert.assertEquals(1, groupItem.getMembers().size());
+	}
+	
 	
 	class TestItem extends GenericItem {
 
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.core.transform;
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.Assert;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 1.9.0
+ */
+public class TransformationCacheTest {
+
+	private int compilations;
+
+	private TransformationCache.Compiler<String> compiler = new TransformationCache.Compiler<String>() {
+		public String compile(String key) throws TransformationException {
+			compilations++;
+			return key + compilations;
+		}
+	};
+
+	@Before
+	public void init() {
+		compilations = 0;
+	}
+
+	@Test
+	public void testExpressionIsCompiledOnce() throws TransformationException {
+		TransformationCache<String> cache = new TransformationCache<String>();
+
+		Assert.assertEquals("a1", cache.get("a", compiler));
+		Assert.assertEquals("a1", cache.get("a", compiler));
+		Assert.assertEquals("b2", cache.get("b", compiler));
+		Assert.assertEquals(2, compilations);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() throws TransformationException {
+		TransformationCache<String> cache = new TransformationCache<String>(2);
+
+		cache.get("a", compiler);
+		cache.get("b", compiler);
+		cache.get("a", compiler);
+		cache.get("c", compiler);
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals("a1", cache.get("a", compiler));
+		Assert.assertEquals("b4", cache.get("b", compiler));
+	}
+
+	@Test
+	public void testModifiedFileIsCompiledAgain() throws TransformationException, IOException {
+		TransformationCache<String> cache = new TransformationCache<String>();
+
+		File file = new File("./target/transform/cache.map");
+		FileUtils.writeStringToFile(file, "A=1");
+		file.setLastModified(1000000);
+
+		String first = cache.get(file, compiler);
+		Assert.assertEquals(first, cache.get(file, compiler));
+		Assert.assertEquals(1, compilations);
+
+		FileUtils.writeStringToFile(file, "A=12");
+		file.setLastModified(2000000);
+
+		Assert.assertFalse(first.equals(cache.get(file, compiler)));
+		Assert.assertEquals(2, compilations);
+	}
+
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.core.transform;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache for compiled transformation artifacts (parsed mapping files,
+ * compiled patterns, stylesheets, scripts ...) which are expensive to create
+ * on every call of a {@link TransformationService}.
+ * <p>
+ * Artifacts are either keyed by an expression or by a transformation file. File
+ * based artifacts are recompiled as soon as the modification time or the size of
+ * the file changes, so changes to a transformation file become effective without
+ * a restart. When the cache is full the least recently used artifact is evicted.
+ * <p>
+ * The cached artifacts are shared between threads, so they must either be thread-safe
+ * or the caller has to synchronize on them.
+ *
+ * @param <V> the type of the cached artifacts
+ * @since 1.9.0
+ */
+public class TransformationCache<V> {
+
+	/** the default maximum amount of cached artifacts */
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	/**
+	 * Creates the artifact for a key which is not contained in the cache yet.
+	 *
+	 * @param <V> the type of the created artifacts
+	 */
+	public interface Compiler<V> {
+
+		/**
+		 * Creates the artifact for the given key
+		 *
+		 * @param key the expression or the path of the transformation file
+		 * @return the artifact, must not be <code>null</code>
+		 * @throws TransformationException if the artifact could not be created
+		 */
+		V compile(String key) throws TransformationException;
+
+	}
+
+	private static class Entry<V> {
+
+		final V artifact;
+		final long lastModified;
+		final long length;
+
+		Entry(V artifact, long lastModified, long length) {
+			this.artifact = artifact;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+	}
+
+	private final Map<String, Entry<V>> entries;
+
+	/**
+	 * Creates a new cache holding up to {@link #DEFAULT_MAX_SIZE} artifacts
+	 */
+	public TransformationCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a new cache
+	 *
+	 * @param maxSize the maximum amount of cached artifacts
+	 */
+	public TransformationCache(final int maxSize) {
+		this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the artifact for the given expression, creating it if necessary
+	 *
+	 * @param expression the expression the artifact is created from
+	 * @param compiler the compiler to create the artifact if it is not cached
+	 * @return the cached or newly created artifact
+	 * @throws TransformationException if the artifact could not be created
+	 */
+	public V get(String expression, Compiler<V> compiler) throws TransformationException {
+		synchronized (entries) {
+			Entry<V> entry = entries.get(expression);
+			if (entry != null) {
+				return entry.artifact;
+			}
+		}
+		V artifact = compiler.compile(expression);
+		synchronized (entries) {
+			entries.put(expression, new Entry<V>(artifact, 0, 0));
+		}
+		return artifact;
+	}
+
+	/**
+	 * Returns the artifact for the given transformation file. The artifact is created
+	 * again if the file has been modified since it was cached.
+	 *
+	 * @param file the transformation file the artifact is created from
+	 * @param compiler the compiler to create the artifact, it is passed the path of the file
+	 * @return the cached or newly created artifact
+	 * @throws TransformationException if the artifact could not be created
+	 */
+	public V get(File file, Compiler<V> compiler) throws TransformationException {
+		String path = file.getPath();
+		long lastModified = file.lastModified();
+		long length = file.length();
+		synchronized (entries) {
+			Entry<V> entry = entries.get(path);
+			if (entry != null) {
+				if (entry.lastModified == lastModified && entry.length == length) {
+					return entry.artifact;
+				}
+				entries.remove(path);
+			}
+		}
+		V artifact = compiler.compile(path);
+		// a file which does not exist (yet) is not cached, so it is picked up as soon as it is created
+		if (lastModified != 0) {
+			synchronized (entries) {
+				entries.put(path, new Entry<V>(artifact, lastModified, length));
+			}
+		}
+		return artifact;
+	}
+
+	/**
+	 * Removes all cached artifacts
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return the amount of currently cached artifacts
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+}
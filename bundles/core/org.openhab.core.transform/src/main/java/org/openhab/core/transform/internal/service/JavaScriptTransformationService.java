@@ -14,12 +14,16 @@ import java.io.FileNotFoundException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.apache.commons.io.IOUtils;
 import org.openhab.config.core.ConfigDispatcher;
+import org.openhab.core.transform.TransformationCache;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.transform.internal.TransformationActivator;
@@ -37,7 +41,35 @@ public class JavaScriptTransformationService implements TransformationService {
 
 	static final Logger logger = 
 		LoggerFactory.getLogger(JavaScriptTransformationService.class);
-	
+
+	/** the compiled scripts, evaluated with their own bindings for every transformation */
+	private static final TransformationCache<CompiledScript> cache = new TransformationCache<CompiledScript>();
+
+	private static final TransformationCache.Compiler<CompiledScript> compiler = new TransformationCache.Compiler<CompiledScript>() {
+		public CompiledScript compile(String path) throws TransformationException {
+			Reader reader;
+			try {
+				reader = new InputStreamReader(new FileInputStream(path));
+			} catch (FileNotFoundException e) {
+				throw new TransformationException("An error occured while loading script.", e);
+			}
+
+			ScriptEngine engine = new ScriptEngineManager().getEngineByName("javascript");
+			if (!(engine instanceof Compilable)) {
+				IOUtils.closeQuietly(reader);
+				throw new TransformationException("The Java Script engine does not support compiling scripts.");
+			}
+
+			try {
+				return ((Compilable) engine).compile(reader);
+			} catch (ScriptException e) {
+				throw new TransformationException("An error occured while executing script.", e);
+			} finally {
+				IOUtils.closeQuietly(reader);
+			}
+		}
+	};
+
 	/**
 	 * Transforms the input <code>source</code> by Java Script. It expects the
 	 * transformation rule to be read from a file which is stored under the
@@ -60,32 +92,29 @@ public class JavaScriptTransformationService implements TransformationService {
 
 		logger.debug("about to transform '{}' by the Java Script '{}'", source, filename);
 
-		Reader reader;
-
-		try {
-			String path = ConfigDispatcher.getConfigFolder() 
-				+ File.separator + TransformationActivator.TRANSFORM_FOLDER_NAME
-				+ File.separator + filename;
-			reader = new InputStreamReader(new FileInputStream(path));
-		} catch (FileNotFoundException e) {
-			throw new TransformationException("An error occured while loading script.", e);
-		}
+		String path = ConfigDispatcher.getConfigFolder() 
+			+ File.separator + TransformationActivator.TRANSFORM_FOLDER_NAME
+			+ File.separator + filename;
+		CompiledScript script = cache.get(new File(path), compiler);
 
-		ScriptEngineManager manager = new ScriptEngineManager();
-		
-		ScriptEngine engine = manager.getEngineByName("javascript");
-		engine.put("input", source);
+		Bindings bindings = script.getEngine().createBindings();
+		bindings.put("input", source);
 
 		Object result = null;
 
 		long startTime = System.currentTimeMillis();
 
 		try {
-			result = engine.eval(reader);
+			// engines which are not thread-safe must not evaluate the same script concurrently
+			if (script.getEngine().getFactory().getParameter("THREADING") == null) {
+				synchronized (script) {
+					result = script.eval(bindings);
+				}
+			} else {
+				result = script.eval(bindings);
+			}
 		} catch (ScriptException e) {
 			throw new TransformationException("An error occured while executing script.", e);
-		} finally {
-			IOUtils.closeQuietly(reader);
 		}
 
 		logger.trace("JavaScript execution elapsed {} ms", System.currentTimeMillis() - startTime);
@@ -8,11 +8,13 @@
  */
 package org.openhab.core.transform.internal.service;
 
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Properties;
 import org.apache.commons.io.IOUtils;
+import org.openhab.core.transform.TransformationCache;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -31,6 +33,27 @@ public class MapTransformationService extends LocalizableTransformationService i
 
 	static final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
 
+	/** the parsed mapping files, shared with the instances created by {@link ScaleTransformationService} */
+	private static final TransformationCache<Properties> cache = new TransformationCache<Properties>();
+
+	private static final TransformationCache.Compiler<Properties> compiler = new TransformationCache.Compiler<Properties>() {
+		public Properties compile(String path) throws TransformationException {
+			Reader reader = null;
+			try {
+				Properties properties = new Properties();
+				reader = new FileReader(path);
+				properties.load(reader);
+				return properties;
+			} catch (IOException e) {
+				String message = "opening file '" + path + "' throws exception";
+				logger.error(message, e);
+				throw new TransformationException(message, e);
+			} finally {
+				IOUtils.closeQuietly(reader);
+			}
+		}
+	};
+
 	/**
 	 * <p>
 	 * Transforms the input <code>source</code> by mapping it to another string. It expects the mappings to be read from a file which
@@ -53,26 +76,15 @@ public class MapTransformationService extends LocalizableTransformationService i
 			throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
 		}
 		
-		String path = getLocalizedProposedFilename(filename);					
-		Reader reader = null;
-		try {						
-			Properties properties = new Properties();
-			reader = new FileReader(path);
-			properties.load(reader);
-			String target = properties.getProperty(source);
-			if (target!=null) {
-				logger.debug("transformation resulted in '{}'", target);
-				return target;
-			} else {
-				logger.warn("Could not find a mapping for '{}' in the file '{}'.", source, filename);
-				return "";
-			}
-		} catch (IOException e) {
-			String message = "opening file '" + filename + "' throws exception";
-			logger.error(message, e);
-			throw new TransformationException(message, e);
-		} finally {
-			IOUtils.closeQuietly(reader);
+		String path = getLocalizedProposedFilename(filename);
+		Properties properties = cache.get(new File(path), compiler);
+		String target = properties.getProperty(source);
+		if (target!=null) {
+			logger.debug("transformation resulted in '{}'", target);
+			return target;
+		} else {
+			logger.warn("Could not find a mapping for '{}' in the file '{}'.", source, filename);
+			return "";
 		}
 	}
 
@@ -11,6 +11,7 @@ package org.openhab.core.transform.internal.service;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.openhab.core.transform.TransformationCache;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -30,6 +31,15 @@ public class RegExTransformationService implements TransformationService {
 
 	static final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
+	/** the compiled patterns, {@link Pattern}s are thread-safe */
+	private static final TransformationCache<Pattern> cache = new TransformationCache<Pattern>();
+
+	private static final TransformationCache.Compiler<Pattern> compiler = new TransformationCache.Compiler<Pattern>() {
+		public Pattern compile(String regExpression) {
+			return Pattern.compile("^" + regExpression + "$", Pattern.DOTALL);
+		}
+	};
+
 	/**
 	 * @{inheritDoc
 	 */
@@ -43,7 +53,7 @@ public class RegExTransformationService implements TransformationService {
 
 		String result = source;
 
-		Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+		Matcher matcher = cache.get(regExpression, compiler).matcher(source.trim());
 		if (!matcher.matches()) {
 			logger.debug("the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation", regExpression, source);
 			return result;
@@ -12,11 +12,13 @@ import java.io.StringReader;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import org.openhab.core.transform.TransformationCache;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.slf4j.Logger;
@@ -36,6 +38,34 @@ public class XPathTransformationService implements TransformationService {
 
 	static final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+	/** the compiled expressions, an {@link XPathExpression} is not thread-safe and has to be synchronized on */
+	private static final TransformationCache<XPathExpression> cache = new TransformationCache<XPathExpression>();
+
+	private static final TransformationCache.Compiler<XPathExpression> compiler = new TransformationCache.Compiler<XPathExpression>() {
+		public XPathExpression compile(String xpathExpression) throws TransformationException {
+			try {
+				return XPathFactory.newInstance().newXPath().compile(xpathExpression);
+			} catch (XPathExpressionException e) {
+				throw new TransformationException("transformation throws exceptions", e);
+			}
+		}
+	};
+
+	/** {@link DocumentBuilder}s are not thread-safe but can be reused by the same thread */
+	private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>() {
+		@Override
+		protected DocumentBuilder initialValue() {
+			DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+			domFactory.setNamespaceAware(true);
+			domFactory.setValidating(false);
+			try {
+				return domFactory.newDocumentBuilder();
+			} catch (ParserConfigurationException e) {
+				throw new IllegalStateException("cannot create a document builder", e);
+			}
+		}
+	};
+
 	/**
 	 * @{inheritDoc
 	 */
@@ -50,10 +80,8 @@ public class XPathTransformationService implements TransformationService {
 		StringReader stringReader = null;
 
 		try {
-			DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-			domFactory.setNamespaceAware(true);
-			domFactory.setValidating(false);
-			DocumentBuilder builder = domFactory.newDocumentBuilder();
+			DocumentBuilder builder = documentBuilder.get();
+			builder.reset();
 
 			stringReader = new StringReader(source);
 			InputSource inputSource = new InputSource(stringReader);
@@ -61,14 +89,18 @@ public class XPathTransformationService implements TransformationService {
 
 			Document doc = builder.parse(inputSource);
 
-			XPath xpath = XPathFactory.newInstance().newXPath();
-			XPathExpression expr = xpath.compile(xpathExpression);
+			XPathExpression expr = cache.get(xpathExpression, compiler);
 
-			String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+			String transformationResult;
+			synchronized (expr) {
+				transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+			}
 
 			logger.debug("transformation resulted in '{}'", transformationResult);
 
 			return transformationResult;
+		} catch (TransformationException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new TransformationException("transformation throws exceptions", e);
 		} finally {
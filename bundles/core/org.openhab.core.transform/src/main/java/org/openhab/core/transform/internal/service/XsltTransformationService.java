@@ -12,13 +12,15 @@ import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.openhab.config.core.ConfigDispatcher;
+import org.openhab.core.transform.TransformationCache;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.transform.internal.TransformationActivator;
@@ -37,6 +39,23 @@ public class XsltTransformationService implements TransformationService {
 
 	static final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+	/**
+	 * the compiled stylesheets, {@link Templates} are thread-safe and create a new
+	 * (not thread-safe) {@link Transformer} cheaply for every transformation
+	 */
+	private static final TransformationCache<Templates> cache = new TransformationCache<Templates>();
+
+	private static final TransformationCache.Compiler<Templates> compiler = new TransformationCache.Compiler<Templates>() {
+		public Templates compile(String path) throws TransformationException {
+			try {
+				return TransformerFactory.newInstance().newTemplates(new StreamSource(new File(path)));
+			} catch (TransformerConfigurationException e) {
+				logger.error("transformation throws exception", e);
+				throw new TransformationException("transformation throws exception", e);
+			}
+		}
+	};
+
 	/**
 	 * <p>
 	 * Transforms the input <code>source</code> by XSLT. It expects the transformation rule to be read from a file which
@@ -59,11 +78,11 @@ public class XsltTransformationService implements TransformationService {
 			throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
 		}
 
-		Source xsl = null;
+		File xsl = null;
 
 		try {
 			String path = ConfigDispatcher.getConfigFolder() + File.separator + TransformationActivator.TRANSFORM_FOLDER_NAME + File.separator + filename;
-			xsl = new StreamSource(new File(path));
+			xsl = new File(path);
 		} catch (Exception e) {
 			String message = "opening file '" + filename + "' throws exception";
 
@@ -76,10 +95,10 @@ public class XsltTransformationService implements TransformationService {
 		StringReader xml = new StringReader(source);
 		StringWriter out = new StringWriter();
 
-		Transformer transformer;
+		Templates templates = cache.get(xsl, compiler);
 
 		try {
-			transformer = TransformerFactory.newInstance().newTransformer(xsl);
+			Transformer transformer = templates.newTransformer();
 			transformer.transform(new StreamSource(xml), new StreamResult(out));
 		} catch (Exception e) {
 			logger.error("transformation throws exception", e);
@@ -25,7 +25,7 @@ import org.openhab.core.items.ItemNotUniqueException;
 import org.openhab.core.items.ItemProvider;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.ItemRegistryChangeListener;
-import org.openhab.core.items.ItemsChangeListener;
+import org.openhab.core.items.ItemReplacedListener;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +40,7 @@ import org.slf4j.LoggerFactory;
  * @since 0.1.0
  *
  */
-public class ItemRegistryImpl implements ItemRegistry, ItemsChangeListener {
+public class ItemRegistryImpl implements ItemRegistry, ItemReplacedListener {
 	
 	private static final Logger logger = LoggerFactory.getLogger(ItemRegistryImpl.class);
 
@@ -224,12 +224,36 @@ public class ItemRegistryImpl implements ItemRegistry, ItemsChangeListener {
         items = itemMap.get(provider);
 		if(items!=null) {
 			items.remove(item);
+			releaseItem(item);
 		}
 		for(ItemRegistryChangeListener listener : listeners) {
 			listener.itemRemoved(item);
 		}
 	}
 
+    @Override
+	public void itemChanged(ItemProvider provider, Item oldItem, Item item) {
+        Collection<Item> items;
+        items = itemMap.get(provider);
+		if(items==null) {
+			// the items of the provider are not known, so neither is the old item
+			return;
+		}
+		items.remove(oldItem);
+		releaseItem(oldItem);
+		boolean added = initializeItem(item);
+		if(added) {
+			items.add(item);
+		}
+		// our listeners only know about added and removed items
+		for(ItemRegistryChangeListener listener : listeners) {
+			listener.itemRemoved(oldItem);
+			if(added) {
+				listener.itemAdded(item);
+			}
+		}
+	}
+
     @Override
 	public void addItemRegistryChangeListener(ItemRegistryChangeListener listener) {
 		listeners.add(listener);
@@ -282,4 +306,32 @@ public class ItemRegistryImpl implements ItemRegistry, ItemsChangeListener {
 			return false;
 		}
 	}
+
+	/**
+	 * an item which is not provided anymore is removed from all groups and, if it
+	 * is a group itself, releases its members, so that it can be garbage collected.
+	 * 
+	 * @param item the item to release
+	 */
+	private void releaseItem(Item item) {
+		for(String groupName : item.getGroupNames()) {
+			try {
+				Item groupItem = getItem(groupName);
+				if(groupItem instanceof GroupItem) {
+					((GroupItem)groupItem).removeMember(item);
+				}
+			} catch (ItemNotFoundException e) {
+				// the group has been removed already
+			}
+		}
+		if(item instanceof GroupItem) {
+			GroupItem groupItem = (GroupItem) item;
+			for(Item member : groupItem.getMembers()) {
+				groupItem.removeMember(member);
+			}
+		}
+		if(item instanceof GenericItem) {
+			((GenericItem) item).dispose();
+		}
+	}
 }
@@ -91,6 +91,12 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 	}
 
 	public void addMember(Item item) {
+		for (Item member : members) {
+			if (member == item) {
+				// an item which is initialized again must not be added twice
+				return;
+			}
+		}
 		members.add(item);
 		if (item instanceof GenericItem) {
 			GenericItem genericItem = (GenericItem) item;
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.core.items;
+
+/**
+ * An {@link ItemsChangeListener} which is also notified when an item is replaced
+ * by another item of the same name. Item providers notify listeners which don't
+ * implement this interface about the old item being removed and the new item
+ * being added instead.
+ * 
+ * @since 1.9.0
+ *
+ */
+public interface ItemReplacedListener extends ItemsChangeListener {
+
+	/**
+	 * Notifies the listener that a single item has been replaced by a structurally
+	 * different item of the same name
+	 * 
+	 * @param provider the concerned item provider 
+	 * @param oldItem the item that has been replaced
+	 * @param item the item that replaces the old item
+	 */
+	public void itemChanged(ItemProvider provider, Item oldItem, Item item);
+
+}
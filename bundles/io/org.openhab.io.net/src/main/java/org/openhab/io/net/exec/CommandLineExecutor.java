@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.exec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes command lines asynchronously on a bounded pool of worker threads, so
+ * that a slow command does not delay other commands.
+ * <p>
+ * Identical command lines which are executed while the same command line is still
+ * waiting or running are coalesced into a single execution. The amount of concurrent
+ * executions of the same executable (e.g. <code>ping</code>) is limited, further
+ * executions are queued.
+ *
+ * @since 1.9.0
+ */
+public class CommandLineExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandLineExecutor.class);
+
+    /**
+     * Receives the response of an executed command line.
+     */
+    public interface ResponseListener {
+
+        /**
+         * Called with the response of the command line
+         *
+         * @param commandLine the executed command line
+         * @param response the output of the command line or <code>null</code> if it couldn't be executed
+         */
+        void responseReceived(String commandLine, String response);
+
+    }
+
+    private class Execution implements Runnable {
+
+        final String commandLine;
+        final String executable;
+        final int timeout;
+        final List<ResponseListener> listeners = new ArrayList<ResponseListener>();
+
+        Execution(String commandLine, int timeout) {
+            this.commandLine = commandLine;
+            this.executable = ExecUtil.createCommandLine(commandLine).getExecutable();
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void run() {
+            String response = null;
+            try {
+                response = ExecUtil.executeCommandLineAndWaitResponse(commandLine, timeout);
+            } finally {
+                complete(this, response);
+            }
+        }
+
+    }
+
+    private final String name;
+    private final int threads;
+    private final int maxExecutionsPerCommand;
+
+    private final Map<String, Execution> executions = new HashMap<String, Execution>();
+    private final Map<String, Integer> activeExecutionsPerCommand = new HashMap<String, Integer>();
+    private final Map<String, LinkedList<Execution>> waitingExecutionsPerCommand = new HashMap<String, LinkedList<Execution>>();
+
+    private ExecutorService executor;
+
+    /**
+     * @param name the name of the executor, used for the worker threads
+     * @param threads the amount of worker threads
+     * @param maxExecutionsPerCommand the maximum amount of concurrent executions of the same executable
+     */
+    public CommandLineExecutor(String name, int threads, int maxExecutionsPerCommand) {
+        this.name = name;
+        this.threads = threads;
+        this.maxExecutionsPerCommand = maxExecutionsPerCommand;
+    }
+
+    /**
+     * Executes the given command line asynchronously. If the same command line is
+     * waiting or running already the listener is called with its response.
+     *
+     * @param commandLine the command line to execute, see
+     *            {@link ExecUtil#executeCommandLineAndWaitResponse(String, int)}
+     * @param timeout timeout for execution in milliseconds
+     * @param listener the listener to call with the response
+     */
+    public synchronized void execute(String commandLine, int timeout, ResponseListener listener) {
+        Execution execution = executions.get(commandLine);
+        if (execution == null) {
+            execution = new Execution(commandLine, timeout);
+            executions.put(commandLine, execution);
+            start(execution);
+        } else {
+            logger.trace("commandLine '{}' is executed already", commandLine);
+        }
+        execution.listeners.add(listener);
+    }
+
+    /**
+     * Stops the worker threads, command lines which are still waiting are discarded.
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        executions.clear();
+        activeExecutionsPerCommand.clear();
+        waitingExecutionsPerCommand.clear();
+    }
+
+    private void start(Execution execution) {
+        Integer active = activeExecutionsPerCommand.get(execution.executable);
+        if (active == null) {
+            active = 0;
+        }
+
+        if (active >= maxExecutionsPerCommand) {
+            LinkedList<Execution> waiting = waitingExecutionsPerCommand.get(execution.executable);
+            if (waiting == null) {
+                waiting = new LinkedList<Execution>();
+                waitingExecutionsPerCommand.put(execution.executable, waiting);
+            }
+            waiting.add(execution);
+        } else {
+            activeExecutionsPerCommand.put(execution.executable, active + 1);
+            getExecutor().execute(execution);
+        }
+    }
+
+    private void complete(Execution execution, String response) {
+        List<ResponseListener> listeners;
+
+        synchronized (this) {
+            if (executions.get(execution.commandLine) != execution) {
+                // the executor has been stopped meanwhile
+                return;
+            }
+            executions.remove(execution.commandLine);
+            listeners = new ArrayList<ResponseListener>(execution.listeners);
+
+            Integer active = activeExecutionsPerCommand.get(execution.executable);
+            if (active == null || active <= 1) {
+                activeExecutionsPerCommand.remove(execution.executable);
+            } else {
+                activeExecutionsPerCommand.put(execution.executable, active - 1);
+            }
+
+            LinkedList<Execution> waiting = waitingExecutionsPerCommand.get(execution.executable);
+            if (waiting != null) {
+                Execution next = waiting.poll();
+                if (waiting.isEmpty()) {
+                    waitingExecutionsPerCommand.remove(execution.executable);
+                }
+                if (next != null) {
+                    start(next);
+                }
+            }
+        }
+
+        for (ResponseListener listener : listeners) {
+            try {
+                listener.responseReceived(execution.commandLine, response);
+            } catch (RuntimeException e) {
+                logger.error("Error while processing the response of commandLine '" + execution.commandLine + "'", e);
+            }
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, name + " " + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+
+}
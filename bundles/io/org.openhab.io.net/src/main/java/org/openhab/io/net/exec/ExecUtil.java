@@ -10,7 +10,8 @@ package org.openhab.io.net.exec;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.OutputStream;
+import java.util.StringTokenizer;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecuteResultHandler;
@@ -18,6 +19,7 @@ import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.ExecuteException;
 import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.Executor;
+import org.apache.commons.exec.LogOutputStream;
 import org.apache.commons.exec.PumpStreamHandler;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -35,6 +37,9 @@ public class ExecUtil {
 
     private static final String CMD_LINE_DELIMITER = "@@";
 
+    /** the maximum amount of bytes kept of the output of a command line */
+    private static final int MAX_OUTPUT_SIZE = 1024 * 1024;
+
     /**
      * <p>
      * Executes <code>commandLine</code>. Sometimes (especially observed on
@@ -42,7 +47,8 @@ public class ExecUtil {
      * exec-method is to be used. To accomplish this please use the special
      * delimiter '<code>@@</code>'. If <code>commandLine</code> contains this
      * delimiter it is split into a String[] array and the special exec-method
-     * is used.
+     * is used. Otherwise it is split at whitespace, quotes have no special
+     * meaning, just like with {@link Runtime#exec(String)}.
      * </p>
      * <p>
      * A possible {@link IOException} gets logged but no further processing is
@@ -53,16 +59,29 @@ public class ExecUtil {
      *            the command line to execute
      * @see http://www.peterfriese.de/running-applescript-from-java/
      */
-    public static void executeCommandLine(String commandLine) {
-        try {
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                String[] cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                Runtime.getRuntime().exec(cmdArray);
-                logger.info("executed commandLine '{}'", Arrays.asList(cmdArray));
-            } else {
-                Runtime.getRuntime().exec(commandLine);
-                logger.info("executed commandLine '{}'", commandLine);
+    public static void executeCommandLine(final String commandLine) {
+        CommandLine cmdLine;
+        if (commandLine.contains(CMD_LINE_DELIMITER)) {
+            cmdLine = createCommandLine(commandLine);
+        } else {
+            cmdLine = tokenizeCommandLine(commandLine);
+        }
+
+        // the output is drained (and logged) so that the process never blocks on a full pipe
+        LogOutputStream output = new LogOutputStream() {
+            @Override
+            protected void processLine(String line, int level) {
+                logger.debug("commandLine '{}': {}", commandLine, line);
             }
+        };
+
+        Executor executor = new DefaultExecutor();
+        executor.setExitValues(null);
+        executor.setStreamHandler(new PumpStreamHandler(output));
+
+        try {
+            executor.execute(cmdLine, new DefaultExecuteResultHandler());
+            logger.info("executed commandLine '{}'", commandLine);
         } catch (IOException e) {
             logger.error("couldn't execute commandLine '" + commandLine + "'", e);
         }
@@ -89,8 +108,49 @@ public class ExecUtil {
      * @return response data from executed command line
      */
     public static String executeCommandLineAndWaitResponse(String commandLine, int timeout) {
-        String retval = null;
+        CommandLine cmdLine = createCommandLine(commandLine);
+
+        ExecuteWatchdog watchdog = new ExecuteWatchdog(timeout);
+        Executor executor = new DefaultExecutor();
+
+        // stdout and stderr are streamed into a bounded buffer while the process is running
+        BoundedOutputStream stdout = new BoundedOutputStream(MAX_OUTPUT_SIZE);
+        PumpStreamHandler streamHandler = new PumpStreamHandler(stdout);
+
+        executor.setExitValues(null);
+        executor.setStreamHandler(streamHandler);
+        executor.setWatchdog(watchdog);
+
+        // the process is executed in the calling thread, no additional thread is needed to wait for it
+        try {
+            int exitCode = executor.execute(cmdLine);
+            String retval = StringUtils.chomp(stdout.toString());
+            if (watchdog.killedProcess()) {
+                logger.warn("Timeout occured when executing commandLine '{}'", commandLine);
+            } else if (stdout.isTruncated()) {
+                logger.warn("Output of commandLine '{}' exceeds {} bytes and has been truncated", commandLine,
+                        MAX_OUTPUT_SIZE);
+            }
+            logger.debug("exit code '{}', result '{}'", exitCode, retval);
+            return retval;
+        } catch (ExecuteException e) {
+            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
+        } catch (IOException e) {
+            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
+        }
+
+        return null;
+    }
 
+    /**
+     * Creates the {@link CommandLine} for the given <code>commandLine</code>. If it
+     * contains the special delimiter '<code>@@</code>' it is split into the executable
+     * and its arguments, which are not quoted any further.
+     *
+     * @param commandLine the command line to parse
+     * @return the parsed command line
+     */
+    static CommandLine createCommandLine(String commandLine) {
         CommandLine cmdLine = null;
 
         if (commandLine.contains(CMD_LINE_DELIMITER)) {
@@ -104,44 +164,64 @@ public class ExecUtil {
             cmdLine = CommandLine.parse(commandLine);
         }
 
-        DefaultExecuteResultHandler resultHandler = new DefaultExecuteResultHandler();
+        return cmdLine;
+    }
 
-        ExecuteWatchdog watchdog = new ExecuteWatchdog(timeout);
-        Executor executor = new DefaultExecutor();
+    /**
+     * Splits the given <code>commandLine</code> at whitespace, the way
+     * {@link Runtime#exec(String)} does, without any handling of quotes.
+     *
+     * @param commandLine the command line to split
+     * @return the split command line
+     */
+    private static CommandLine tokenizeCommandLine(String commandLine) {
+        StringTokenizer tokenizer = new StringTokenizer(commandLine);
+        if (!tokenizer.hasMoreTokens()) {
+            throw new IllegalArgumentException("Empty command line");
+        }
+        CommandLine cmdLine = new CommandLine(tokenizer.nextToken());
+        while (tokenizer.hasMoreTokens()) {
+            cmdLine.addArgument(tokenizer.nextToken(), false);
+        }
+        return cmdLine;
+    }
 
-        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-        PumpStreamHandler streamHandler = new PumpStreamHandler(stdout);
+    /**
+     * An in-memory {@link OutputStream} which keeps at most <code>maxSize</code> bytes
+     * and discards the rest, so that a chatty process cannot exhaust the memory.
+     */
+    private static class BoundedOutputStream extends ByteArrayOutputStream {
 
-        executor.setExitValues(null);
-        executor.setStreamHandler(streamHandler);
-        executor.setWatchdog(watchdog);
+        private final int maxSize;
+        private boolean truncated;
 
-        try {
-            executor.execute(cmdLine, resultHandler);
-            logger.debug("executed commandLine '{}'", commandLine);
-        } catch (ExecuteException e) {
-            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
-        } catch (IOException e) {
-            logger.error("couldn't execute commandLine '" + commandLine + "'", e);
+        BoundedOutputStream(int maxSize) {
+            this.maxSize = maxSize;
         }
 
-        // some time later the result handler callback was invoked so we
-        // can safely request the exit code
-        try {
-            resultHandler.waitFor();
-            int exitCode = resultHandler.getExitValue();
-            retval = StringUtils.chomp(stdout.toString());
-            if (resultHandler.getException() != null) {
-                logger.warn(resultHandler.getException().getMessage());
+        @Override
+        public synchronized void write(int b) {
+            if (count < maxSize) {
+                super.write(b);
             } else {
-                logger.debug("exit code '{}', result '{}'", exitCode, retval);
+                truncated = true;
             }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int remaining = maxSize - count;
+            if (len > remaining) {
+                truncated = true;
+                len = Math.max(remaining, 0);
+            }
+            super.write(b, off, len);
+        }
 
-        } catch (InterruptedException e) {
-            logger.error("Timeout occured when executing commandLine '" + commandLine + "'", e);
+        synchronized boolean isTruncated() {
+            return truncated;
         }
 
-        return retval;
     }
 
 }
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.net.http;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A non-blocking delivery queue for services which push values to a remote HTTP
+ * endpoint (e.g. cloud based persistence services). Values are queued by key
+ * (e.g. a feed id) and delivered by a background thread in batches, so that
+ * callers never wait for the remote endpoint.
+ * <p>
+ * Within one flush interval only the latest value per key is kept. If the
+ * endpoint is not available the undelivered values are kept and the delivery
+ * is retried with an exponential back off. The amount of pending keys is
+ * bounded, when the limit is reached the oldest pending value is dropped.
+ *
+ * @param <V> the type of the queued values
+ * @since 1.9.0
+ */
+public class HttpDeliveryQueue<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpDeliveryQueue.class);
+
+    /** the maximum delay between two delivery attempts in milliseconds */
+    private static final long MAX_BACKOFF = 5 * 60 * 1000;
+
+    /**
+     * Delivers a batch of values to the remote endpoint.
+     *
+     * @param <V> the type of the delivered values
+     */
+    public interface Delivery<V> {
+
+        /**
+         * Delivers the given values, usually with a single HTTP request.
+         *
+         * @param values the latest value for every pending key, in the order the keys were queued
+         * @return <code>true</code> if the values have been delivered and <code>false</code>
+         *         if the delivery should be retried later
+         */
+        boolean deliver(Map<String, V> values);
+
+    }
+
+    private final String name;
+    private final Delivery<V> delivery;
+    private final long flushInterval;
+    private final int maxPending;
+
+    private final LinkedHashMap<String, V> pending = new LinkedHashMap<String, V>();
+
+    private ScheduledExecutorService scheduler;
+    private long backoff;
+
+    /**
+     * Creates a new delivery queue. The queue has to be started before values are delivered.
+     *
+     * @param name the name of the queue, used for the delivery thread and logging
+     * @param delivery the delivery which sends the values to the remote endpoint
+     * @param flushInterval the interval in milliseconds in which queued values are delivered
+     * @param maxPending the maximum amount of pending keys
+     */
+    public HttpDeliveryQueue(String name, Delivery<V> delivery, long flushInterval, int maxPending) {
+        this.name = name;
+        this.delivery = delivery;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.backoff = flushInterval;
+    }
+
+    /**
+     * Starts the background delivery of queued values.
+     */
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, name + " HTTP delivery");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            scheduleFlush(flushInterval);
+        }
+    }
+
+    /**
+     * Stops the background delivery. Values which are still pending are discarded.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                logger.debug("Discarding {} pending values of '{}'", pending.size(), name);
+                pending.clear();
+            }
+        }
+    }
+
+    /**
+     * Queues the given value for delivery. A value which is still pending for the same
+     * key is replaced. This method never blocks on the remote endpoint.
+     *
+     * @param key the key to coalesce values by
+     * @param value the value to deliver
+     */
+    public void offer(String key, V value) {
+        synchronized (pending) {
+            // re-insert to keep the keys in the order of their latest update
+            pending.remove(key);
+            if (pending.size() >= maxPending) {
+                Iterator<String> oldest = pending.keySet().iterator();
+                logger.warn("Too many pending values for '{}', dropping value of '{}'", name, oldest.next());
+                oldest.remove();
+            }
+            pending.put(key, value);
+        }
+    }
+
+    private synchronized void scheduleFlush(long delay) {
+        if (scheduler != null) {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        Map<String, V> values;
+        synchronized (pending) {
+            values = new LinkedHashMap<String, V>(pending);
+            pending.clear();
+        }
+
+        if (!values.isEmpty()) {
+            boolean delivered;
+            try {
+                delivered = delivery.deliver(values);
+            } catch (RuntimeException e) {
+                logger.warn("Delivering values of '{}' failed: {}", name, e.getMessage());
+                delivered = false;
+            }
+
+            if (delivered) {
+                backoff = flushInterval;
+            } else {
+                requeue(values);
+                backoff = Math.min(backoff * 2, Math.max(MAX_BACKOFF, flushInterval));
+                logger.debug("Delivering {} values of '{}' failed, retrying in {}ms", values.size(), name, backoff);
+                scheduleFlush(backoff);
+                return;
+            }
+        }
+        scheduleFlush(flushInterval);
+    }
+
+    /**
+     * Puts undelivered values back into the queue unless newer values have been queued meanwhile.
+     */
+    private void requeue(Map<String, V> values) {
+        synchronized (pending) {
+            LinkedHashMap<String, V> newer = new LinkedHashMap<String, V>(pending);
+            pending.clear();
+            for (Entry<String, V> entry : values.entrySet()) {
+                if (!newer.containsKey(entry.getKey()) && pending.size() < maxPending) {
+                    pending.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (Entry<String, V> entry : newer.entrySet()) {
+                if (pending.size() >= maxPending) {
+                    Iterator<String> oldest = pending.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+                pending.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+}
@@ -12,7 +12,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -22,10 +30,13 @@ import org.apache.commons.httpclient.Credentials;
 import org.apache.commons.httpclient.DefaultHttpMethodRetryHandler;
 import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HeaderElement;
+import org.apache.commons.httpclient.HostConfiguration;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpException;
 import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.httpclient.HttpState;
 import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
 import org.apache.commons.httpclient.URIException;
 import org.apache.commons.httpclient.UsernamePasswordCredentials;
 import org.apache.commons.httpclient.auth.AuthScope;
@@ -35,6 +46,7 @@ import org.apache.commons.httpclient.methods.GetMethod;
 import org.apache.commons.httpclient.methods.InputStreamRequestEntity;
 import org.apache.commons.httpclient.methods.PostMethod;
 import org.apache.commons.httpclient.methods.PutMethod;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.apache.commons.httpclient.params.HttpMethodParams;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -55,6 +67,47 @@ public class HttpUtil {
     /** {@link Pattern} which matches the credentials out of an URL */
     private static final Pattern URL_CREDENTIALS_PATTERN = Pattern.compile("http://(.*?):(.*?)@.*");
 
+    /** the maximum amount of pooled connections to a single host */
+    private static final int MAX_CONNECTIONS_PER_HOST = 10;
+
+    /** the maximum amount of pooled connections to all hosts */
+    private static final int MAX_TOTAL_CONNECTIONS = 100;
+
+    /** the maximum time in milliseconds to wait for a free pooled connection */
+    private static final long CONNECTION_MANAGER_TIMEOUT = 30000;
+
+    /** the amount of threads executing asynchronous requests */
+    private static final int ASYNC_THREADS = 10;
+
+    /** the maximum amount of responses kept for conditional GET requests */
+    private static final int MAX_CACHED_RESPONSES = 256;
+
+    /** the shared client, its connections are kept alive and reused for subsequent requests */
+    private static final HttpClient client;
+
+    static {
+        MultiThreadedHttpConnectionManager connectionManager = new MultiThreadedHttpConnectionManager();
+        HttpConnectionManagerParams params = connectionManager.getParams();
+        params.setDefaultMaxConnectionsPerHost(MAX_CONNECTIONS_PER_HOST);
+        params.setMaxTotalConnections(MAX_TOTAL_CONNECTIONS);
+        params.setStaleCheckingEnabled(true);
+        client = new HttpClient(connectionManager);
+        client.getParams().setConnectionManagerTimeout(CONNECTION_MANAGER_TIMEOUT);
+    }
+
+    /** the last responses of conditional GET requests, keyed by url */
+    private static final Map<String, CachedResponse> responseCache = new LinkedHashMap<String, CachedResponse>(16,
+            0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_CACHED_RESPONSES;
+        }
+    };
+
+    private static ExecutorService asyncExecutor;
+
     /**
      * Executes the given <code>url</code> with the given <code>httpMethod</code>.
      * Furthermore the <code>http.proxyXXX</code> System variables are read and
@@ -107,6 +160,11 @@ public class HttpUtil {
      */
     public static String executeUrl(String httpMethod, String url, Properties httpHeaders, InputStream content,
             String contentType, int timeout) {
+        return executeUrlWithSystemProxy(httpMethod, url, httpHeaders, content, contentType, timeout, false);
+    }
+
+    private static String executeUrlWithSystemProxy(String httpMethod, String url, Properties httpHeaders,
+            InputStream content, String contentType, int timeout, boolean conditional) {
         String proxySet = System.getProperty("http.proxySet");
 
         String proxyHost = null;
@@ -131,8 +189,7 @@ public class HttpUtil {
         }
 
         return executeUrl(httpMethod, url, httpHeaders, content, contentType, timeout, proxyHost, proxyPort, proxyUser,
-                proxyPassword, nonProxyHosts);
-
+                proxyPassword, nonProxyHosts, conditional);
     }
 
     /**
@@ -156,14 +213,67 @@ public class HttpUtil {
             String contentType, int timeout, String proxyHost, Integer proxyPort, String proxyUser,
             String proxyPassword, String nonProxyHosts) {
 
-        HttpClient client = new HttpClient();
+        return executeUrl(httpMethod, url, httpHeaders, content, contentType, timeout, proxyHost, proxyPort,
+                proxyUser, proxyPassword, nonProxyHosts, false);
+    }
+
+    /**
+     * Executes the given <code>url</code> with the given <code>httpMethod</code>
+     * asynchronously. The request is executed by a shared pool of threads, so the
+     * calling thread never waits for the remote server.
+     * 
+     * @param httpMethod the HTTP method to use
+     * @param url the url to execute
+     * @param httpHeaders optional HTTP headers which has to be set on request
+     * @param content the content to be send to the given <code>url</code> or
+     *            <code>null</code> if no content should be send.
+     * @param contentType the content type of the given <code>content</code>
+     * @param timeout the socket timeout to wait for data
+     * 
+     * @return a {@link Future} which provides the response body or <code>NULL</code>
+     *         when the request went wrong
+     */
+    public static Future<String> executeUrlAsync(final String httpMethod, final String url,
+            final Properties httpHeaders, final InputStream content, final String contentType, final int timeout) {
+
+        return getAsyncExecutor().submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return executeUrl(httpMethod, url, httpHeaders, content, contentType, timeout);
+            }
+        });
+    }
+
+    /**
+     * Executes a conditional GET request for the given <code>url</code>. The
+     * <code>ETag</code> and <code>Last-Modified</code> headers of the last response
+     * are sent with the request, if the server answers with <code>304 Not Modified</code>
+     * the previous response body is returned without being transferred again.
+     * 
+     * @param url the url to execute
+     * @param httpHeaders optional HTTP headers which has to be set on request
+     * @param timeout the socket timeout to wait for data
+     * 
+     * @return the (possibly unchanged) response body or <code>NULL</code> when the
+     *         request went wrong
+     */
+    public static String executeConditionalGet(String url, Properties httpHeaders, int timeout) {
+        return executeUrlWithSystemProxy("GET", url, httpHeaders, null, null, timeout, true);
+    }
+
+    private static String executeUrl(String httpMethod, String url, Properties httpHeaders, InputStream content,
+            String contentType, int timeout, String proxyHost, Integer proxyPort, String proxyUser,
+            String proxyPassword, String nonProxyHosts, boolean conditional) {
+
+        // the connections are pooled by the shared client, proxy and credentials are configured per request
+        HostConfiguration hostConfiguration = new HostConfiguration();
+        HttpState state = new HttpState();
 
         // only configure a proxy if a host is provided
         if (StringUtils.isNotBlank(proxyHost) && proxyPort != null && shouldUseProxy(url, nonProxyHosts)) {
-            client.getHostConfiguration().setProxy(proxyHost, proxyPort);
+            hostConfiguration.setProxy(proxyHost, proxyPort);
             if (StringUtils.isNotBlank(proxyUser)) {
-                client.getState().setProxyCredentials(AuthScope.ANY,
-                        new UsernamePasswordCredentials(proxyUser, proxyPassword));
+                state.setProxyCredentials(AuthScope.ANY, new UsernamePasswordCredentials(proxyUser, proxyPassword));
             }
         }
 
@@ -183,8 +293,23 @@ public class HttpUtil {
 
         Credentials credentials = extractCredentials(url);
         if (credentials != null) {
-            client.getParams().setAuthenticationPreemptive(true);
-            client.getState().setCredentials(AuthScope.ANY, credentials);
+            method.getHostAuthState().setPreemptive();
+            state.setCredentials(AuthScope.ANY, credentials);
+        }
+
+        CachedResponse cachedResponse = null;
+        if (conditional) {
+            synchronized (responseCache) {
+                cachedResponse = responseCache.get(url);
+            }
+            if (cachedResponse != null) {
+                if (cachedResponse.eTag != null) {
+                    method.setRequestHeader("If-None-Match", cachedResponse.eTag);
+                }
+                if (cachedResponse.lastModified != null) {
+                    method.setRequestHeader("If-Modified-Since", cachedResponse.lastModified);
+                }
+            }
         }
 
         if (logger.isDebugEnabled()) {
@@ -197,12 +322,17 @@ public class HttpUtil {
 
         try {
 
-            int statusCode = client.executeMethod(method);
+            int statusCode = client.executeMethod(hostConfiguration, method, state);
             if (statusCode == HttpStatus.SC_NO_CONTENT || statusCode == HttpStatus.SC_ACCEPTED) {
                 // perfectly fine but we cannot expect any answer...
                 return null;
             }
 
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && cachedResponse != null) {
+                logger.debug("Content of '{}' has not been modified", url);
+                return cachedResponse.body;
+            }
+
             if (statusCode != HttpStatus.SC_OK) {
                 logger.warn("Method failed: " + method.getStatusLine());
             }
@@ -221,23 +351,68 @@ public class HttpUtil {
                 }
             }
 
-            String responseBody = IOUtils.toString(tmpResponseStream);
+            String responseBody = tmpResponseStream != null ? IOUtils.toString(tmpResponseStream) : "";
             if (!responseBody.isEmpty()) {
                 logger.debug(responseBody);
             }
 
+            if (conditional && statusCode == HttpStatus.SC_OK) {
+                Header eTag = method.getResponseHeader("ETag");
+                Header lastModified = method.getResponseHeader("Last-Modified");
+                if (eTag != null || lastModified != null) {
+                    synchronized (responseCache) {
+                        responseCache.put(url, new CachedResponse(eTag != null ? eTag.getValue() : null,
+                                lastModified != null ? lastModified.getValue() : null, responseBody));
+                    }
+                }
+            }
+
             return responseBody;
         } catch (HttpException he) {
             logger.error("Fatal protocol violation: {}", he.toString());
         } catch (IOException ioe) {
             logger.error("Fatal transport error: {}", ioe.toString());
         } finally {
+            // returns the connection to the pool so that it can be kept alive for the next request
             method.releaseConnection();
         }
 
         return null;
     }
 
+    private static synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newFixedThreadPool(ASYNC_THREADS, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "HttpUtil-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * The validators and the body of the last response of a conditional GET request.
+     */
+    private static class CachedResponse {
+
+        final String eTag;
+        final String lastModified;
+        final String body;
+
+        CachedResponse(String eTag, String lastModified, String body) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+
+    }
+
     /**
      * Determines whether the list of <code>nonProxyHosts</code> contains the
      * host (which is part of the given <code>urlString</code> or not.
@@ -12,13 +12,17 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.net.SocketException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.io.transport.cul.CULCommunicationException;
 import org.openhab.io.transport.cul.CULDeviceException;
@@ -40,7 +44,31 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     private final static Logger log = LoggerFactory.getLogger(AbstractCULHandler.class);
 
     /**
-     * Thread which sends all queued commands to the CUL.
+     * The maximum credit of the CUL in 10ms units. The CUL gains one unit per
+     * second, which is the 1% duty cycle allowed for the 868MHz band.
+     */
+    private static final int MAX_CREDIT10MS = 900;
+
+    /**
+     * The credit which has to be left before a command is sent, so that a
+     * command isn't lost because the CUL can't send it.
+     */
+    private static final int MIN_CREDIT10MS = 20;
+
+    /**
+     * The time in milliseconds to wait for the credit report requested after
+     * sending a command.
+     */
+    private static final long CREDIT_REPORT_TIMEOUT = 1000;
+
+    /**
+     * The maximum number of received messages waiting for a listener.
+     */
+    private static final int MAX_QUEUED_MESSAGES = 100;
+
+    /**
+     * Thread which sends all queued commands to the CUL. It waits for
+     * commands to arrive and for the CUL to have enough credit to send them.
      * 
      * @author Till Klocke
      * @since 1.4.0
@@ -50,32 +78,35 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
 
         private final Logger logger = LoggerFactory.getLogger(SendThread.class);
 
+        SendThread() {
+            super("CUL SendThread " + deviceName);
+            setDaemon(true);
+        }
+
         @Override
         public void run() {
-            while (!isInterrupted()) {
-                String command = sendQueue.poll();
-                if (command != null) {
+            try {
+                while (!isInterrupted()) {
+                    String command = sendQueue.take();
                     if (!command.endsWith("\r\n")) {
                         command = command + "\r\n";
                     }
+                    waitForCredit();
                     try {
                         writeMessage(command);
                     } catch (CULCommunicationException e) {
                         logger.error("Error while writing command to CUL", e);
                     }
                 }
-                try {
-                    Thread.sleep(10);
-                } catch (InterruptedException e) {
-                    logger.debug("Error while sleeping in SendThread", e);
-                }
+            } catch (InterruptedException e) {
+                logger.debug("SendThread for {} exiting.", deviceName);
             }
         }
     }
 
     /**
      * Wrapper class wraps a CULListener and a received Strings and gets
-     * executed by a executor in its own thread.
+     * executed by the executor of the listener.
      * 
      * @author Till Klocke
      * @since 1.4.0
@@ -93,28 +124,64 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
 
         @Override
         public void run() {
-            listener.dataReceived(message);
+            try {
+                listener.dataReceived(message);
+            } catch (RuntimeException e) {
+                log.error("Error while processing message '" + message + "'", e);
+            }
         }
 
     }
 
     /**
-     * Executor to handle received messages. Every listern should be called in
-     * its own thread.
+     * Waits for a free place in the queue of the executor instead of rejecting
+     * a message, so that no received message is lost.
      */
-    protected Executor receiveExecutor = Executors.newCachedThreadPool();
-    protected SendThread sendThread = new SendThread();
+    private static final RejectedExecutionHandler WAIT_FOR_QUEUE = new RejectedExecutionHandler() {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            try {
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+        }
+    };
+
+    /**
+     * Executors to handle received messages. Every listener gets its own
+     * thread, which gets the messages in the order they were received.
+     */
+    protected Map<CULListener, ThreadPoolExecutor> receiveExecutors = new ConcurrentHashMap<CULListener, ThreadPoolExecutor>();
+    protected SendThread sendThread;
 
     protected String deviceName;
     protected CULMode mode;
 
-    protected List<CULListener> listeners = new ArrayList<CULListener>();
+    protected List<CULListener> listeners = new CopyOnWriteArrayList<CULListener>();
 
-    protected Queue<String> sendQueue = new ConcurrentLinkedQueue<String>();
-    protected int credit10ms = 0;
+    protected BlockingQueue<String> sendQueue = new LinkedBlockingQueue<String>();
+    protected volatile int credit10ms = 0;
     protected BufferedReader br;
     protected BufferedWriter bw;
 
+    /**
+     * Guards the credit report counter and the time of the last credit report.
+     */
+    private final Object creditLock = new Object();
+    private long creditReports = 0;
+    private long lastCreditReport = 0;
+    private boolean creditReportTimedOut = false;
+
+    /**
+     * Serializes the writes of the send thread and the receiving thread.
+     */
+    private final Object writeLock = new Object();
+
     protected AbstractCULHandler(String deviceName, CULMode mode) {
         this.mode = mode;
         this.deviceName = deviceName;
@@ -131,6 +198,9 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     @Override
     public void registerListener(CULListener listener) {
         if (listener != null) {
+            if (!receiveExecutors.containsKey(listener)) {
+                receiveExecutors.put(listener, createReceiveExecutor());
+            }
             listeners.add(listener);
         }
     }
@@ -139,6 +209,12 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     public void unregisterListener(CULListener listener) {
         if (listener != null) {
             listeners.remove(listener);
+            if (!listeners.contains(listener)) {
+                ThreadPoolExecutor executor = receiveExecutors.remove(listener);
+                if (executor != null) {
+                    executor.shutdown();
+                }
+            }
         }
     }
 
@@ -150,12 +226,16 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     @Override
     public void open() throws CULDeviceException {
         openHardware();
+        sendThread = new SendThread();
         sendThread.start();
     }
 
     @Override
     public void close() {
-        sendThread.interrupt();
+        if (sendThread != null) {
+            sendThread.interrupt();
+            sendThread = null;
+        }
         closeHardware();
     }
 
@@ -202,15 +282,37 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
 
     /**
      * Notifies each CULListener about the received data in its own thread.
+     * Waits if too many messages are queued for a listener already.
      * 
      * @param data
      */
     protected void notifyDataReceived(String data) {
         for (final CULListener listener : listeners) {
-            receiveExecutor.execute(new NotifyDataReceivedRunner(listener, data));
+            ThreadPoolExecutor executor = receiveExecutors.get(listener);
+            if (executor != null) {
+                executor.execute(new NotifyDataReceivedRunner(listener, data));
+            }
         }
     }
 
+    /**
+     * Creates the executor for a listener. Its thread ends when no messages
+     * have been received for a minute.
+     */
+    private ThreadPoolExecutor createReceiveExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(MAX_QUEUED_MESSAGES), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "CUL ReceiveHandler " + deviceName);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                }, WAIT_FOR_QUEUE);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     protected void notifyError(Exception e) {
         for (CULListener listener : listeners) {
             listener.error(e);
@@ -239,6 +341,8 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
             } else if ("LOVF".equals(data)) {
                 log.warn(
                         "(LOVF) Limit Overflow: Last message lost. You are using more than 1% transmitting time. Reduce the number of rf messages");
+                // the CUL is out of credit, hold back further commands until it has recovered
+                updateCredit(0);
                 return;
             } else if (data.matches("^\\d+\\s+\\d+")) {
                 processCreditReport(data);
@@ -271,10 +375,70 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     private void processCreditReport(String data) {
         // Credit report received
         String[] report = data.split(" ");
-        credit10ms = Integer.parseInt(report[report.length - 1]);
+        updateCredit(Integer.parseInt(report[report.length - 1]));
         log.debug("credit10ms = " + credit10ms);
     }
 
+    private void updateCredit(int credit) {
+        synchronized (creditLock) {
+            credit10ms = credit;
+            creditReports++;
+            lastCreditReport = System.currentTimeMillis();
+            creditLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the CUL has gained enough credit to send a command. The
+     * credit is estimated from the last credit report and the time passed
+     * since, as the CUL gains one unit of credit per second.
+     * 
+     * @throws InterruptedException
+     */
+    private void waitForCredit() throws InterruptedException {
+        synchronized (creditLock) {
+            while (true) {
+                if (creditReports == 0) {
+                    // no credit report yet, the CUL may not send them in this mode
+                    return;
+                }
+                long elapsed = System.currentTimeMillis() - lastCreditReport;
+                long credit = Math.min(credit10ms + elapsed / 1000, MAX_CREDIT10MS);
+                if (credit >= MIN_CREDIT10MS) {
+                    return;
+                }
+                long wait = (MIN_CREDIT10MS - credit) * 1000 - elapsed % 1000;
+                log.debug("Not enough credit to send to CUL {}, waiting {}ms", deviceName, wait);
+                creditLock.wait(wait);
+            }
+        }
+    }
+
+    /**
+     * Waits for the credit report following the given number of credit
+     * reports, so that the next command is sent knowing the current credit.
+     * 
+     * @throws InterruptedException
+     */
+    private void waitForCreditReport(long reports) throws InterruptedException {
+        synchronized (creditLock) {
+            if (creditReports == 0 && creditReportTimedOut) {
+                // the CUL doesn't answer credit requests, don't delay every command
+                return;
+            }
+            long deadline = System.currentTimeMillis() + CREDIT_REPORT_TIMEOUT;
+            long wait = CREDIT_REPORT_TIMEOUT;
+            while (creditReports == reports && wait > 0) {
+                creditLock.wait(wait);
+                wait = deadline - System.currentTimeMillis();
+            }
+            if (creditReports == reports) {
+                log.debug("No credit report received from CUL {}", deviceName);
+                creditReportTimedOut = true;
+            }
+        }
+    }
+
     /**
      * get the remaining send time on channel as seen at the last send/receive
      * event.
@@ -292,26 +456,35 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
     private void requestCreditReport() {
         /* this requests a report which provides credit10ms */
         log.debug("Requesting credit report");
-        try {
-            bw.write("X\r\n");
-            bw.flush();
-        } catch (IOException e) {
-            log.error("Can't write report command to CUL", e);
+        synchronized (writeLock) {
+            try {
+                bw.write("X\r\n");
+                bw.flush();
+            } catch (IOException e) {
+                log.error("Can't write report command to CUL", e);
+            }
         }
     }
 
     /**
-     * Write a message to the CUL.
+     * Write a message to the CUL and wait for the credit report requested
+     * afterwards.
      * 
      * @param message
      * @throws CULCommunicationException
+     * @throws InterruptedException
      */
-    private void writeMessage(String message) throws CULCommunicationException {
+    private void writeMessage(String message) throws CULCommunicationException, InterruptedException {
         log.debug("Sending raw message to CUL " + deviceName + ":  '" + message + "'");
         if (bw == null) {
             log.error("Can't write message, BufferedWriter is NULL");
+            return;
         }
-        synchronized (bw) {
+        long reports;
+        synchronized (creditLock) {
+            reports = creditReports;
+        }
+        synchronized (writeLock) {
             try {
                 bw.write(message);
                 bw.flush();
@@ -321,6 +494,6 @@ public abstract class AbstractCULHandler implements CULHandler, CULHandlerIntern
 
             requestCreditReport();
         }
-
+        waitForCreditReport(reports);
     }
 }
@@ -60,13 +60,8 @@ public class CULNetworkHandlerImpl extends AbstractCULHandler {
 
             try {
                 while (!isInterrupted()) {
+                    // blocks until the next line has been received
                     processNextLine();
-
-                    try {
-                        Thread.sleep(10);
-                    } catch (InterruptedException e) {
-                        logger.debug("Error while sleeping in ReceiveThread", e);
-                    }
                 }
                 logger.debug("ReceiveThread exiting.");
             } catch (CULCommunicationException e) {
@@ -8,8 +8,10 @@
  */
 package org.openhab.io.transport.mqtt;
 
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
@@ -98,6 +100,8 @@ public class MqttService implements ManagedService {
                 conn.setLastWill(will);
             } else if (property.equals("keepAlive")) {
                 conn.setKeepAliveInterval(Integer.parseInt(value));
+            } else if (property.equals("dispatchThreads")) {
+                conn.setDispatchThreads(Integer.parseInt(value));
             } else {
                 logger.warn("Unrecognized property: {}", key);
             }
@@ -178,6 +182,23 @@ public class MqttService implements ManagedService {
         getConnection(brokerName).removeConsumer(mqttMessageConsumer);
     }
 
+    /**
+     * Returns the number of received messages and their processing latency for
+     * each subscribed topic of the given broker which received messages.
+     * 
+     * @param brokerName
+     *            Name of the broker.
+     * @return the statistics, empty if the broker is unknown.
+     */
+    public List<MqttTopicStatistics> getTopicStatistics(String brokerName) {
+
+        MqttBrokerConnection conn = brokerConnections.get(brokerName.toLowerCase());
+        if (conn == null) {
+            return Collections.emptyList();
+        }
+        return conn.getTopicStatistics();
+    }
+
     public void registerMessageProducer(String brokerName, MqttMessageProducer commandPublisher) {
 
         getConnection(brokerName).addProducer(commandPublisher);
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt;
+
+/**
+ * The number of messages received for a subscribed topic and the time it took
+ * to process them, from their arrival until their consumer was done.
+ *
+ * @since 1.9.0
+ */
+public class MqttTopicStatistics {
+
+    private final String topic;
+    private final long messageCount;
+    private final long totalLatency;
+    private final long maxLatency;
+
+    /**
+     * @param topic the subscribed topic, possibly containing wildcards
+     * @param messageCount the number of processed messages
+     * @param totalLatency the sum of the latencies of all messages in milliseconds
+     * @param maxLatency the highest latency of a message in milliseconds
+     */
+    public MqttTopicStatistics(String topic, long messageCount, long totalLatency, long maxLatency) {
+        this.topic = topic;
+        this.messageCount = messageCount;
+        this.totalLatency = totalLatency;
+        this.maxLatency = maxLatency;
+    }
+
+    /**
+     * @return the subscribed topic, possibly containing wildcards.
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return the number of processed messages.
+     */
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * @return the average latency of the messages in milliseconds.
+     */
+    public long getAverageLatency() {
+        return messageCount == 0 ? 0 : totalLatency / messageCount;
+    }
+
+    /**
+     * @return the highest latency of a message in milliseconds.
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    @Override
+    public String toString() {
+        return topic + ": " + messageCount + " messages, average latency " + getAverageLatency()
+                + "ms, max latency " + maxLatency + "ms";
+    }
+}
@@ -9,6 +9,8 @@
 package org.openhab.io.transport.mqtt.internal;
 
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.Timer;
@@ -32,6 +34,7 @@ import org.eclipse.paho.client.mqttv3.persist.MqttDefaultFilePersistence;
 import org.openhab.io.transport.mqtt.MqttMessageConsumer;
 import org.openhab.io.transport.mqtt.MqttMessageProducer;
 import org.openhab.io.transport.mqtt.MqttSenderChannel;
+import org.openhab.io.transport.mqtt.MqttTopicStatistics;
 import org.openhab.io.transport.mqtt.MqttWillAndTestament;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +56,8 @@ public class MqttBrokerConnection implements MqttCallback {
 
     private static final int RECONNECT_FREQUENCY = 60000;
 
+    private static final int DEFAULT_DISPATCH_THREADS = 4;
+
     private String name;
 
     private String url;
@@ -77,6 +82,12 @@ public class MqttBrokerConnection implements MqttCallback {
 
     private List<MqttMessageConsumer> consumers = new CopyOnWriteArrayList<MqttMessageConsumer>();
 
+    private MqttTopicTrie<MqttMessageConsumer> subscriptions = new MqttTopicTrie<MqttMessageConsumer>();
+
+    private int dispatchThreads = DEFAULT_DISPATCH_THREADS;
+
+    private MqttMessageDispatcher dispatcher;
+
     private List<MqttMessageProducer> producers = new CopyOnWriteArrayList<MqttMessageProducer>();
 
     private Timer reconnectTimer;
@@ -445,6 +456,7 @@ public class MqttBrokerConnection implements MqttCallback {
      */
     public synchronized void addConsumer(MqttMessageConsumer subscriber) {
         consumers.add(subscriber);
+        subscriptions.add(subscriber.getTopic(), subscriber);
         if (started) {
             startConsumer(subscriber);
         }
@@ -497,6 +509,10 @@ public class MqttBrokerConnection implements MqttCallback {
             logger.error("Error unsubscribing topic from broker", e);
         }
         consumers.remove(subscriber);
+        subscriptions.remove(subscriber.getTopic(), subscriber);
+        if (dispatcher != null) {
+            dispatcher.removeConsumer(subscriber);
+        }
 
     }
 
@@ -513,6 +529,10 @@ public class MqttBrokerConnection implements MqttCallback {
             logger.error("Error closing connection to broker", e);
         }
         started = false;
+        if (dispatcher != null) {
+            dispatcher.stop();
+            dispatcher = null;
+        }
     }
 
     @Override
@@ -543,48 +563,58 @@ public class MqttBrokerConnection implements MqttCallback {
         logger.trace("Message with id {} delivered.", token.getMessageId());
     }
 
+    /**
+     * Hands the message to all consumers whose topic matches the topic of the
+     * message, taking into account the + and # wildcards. The consumers process
+     * the message on the threads of the dispatcher, so this thread can receive
+     * the next message right away.
+     */
     @Override
     public void messageArrived(String topic, MqttMessage message) throws Exception {
 
-        logger.trace("Received message on topic '{}' : {}", topic, new String(message.getPayload()));
-        for (MqttMessageConsumer consumer : consumers) {
-            if (isTopicMatch(topic, consumer.getTopic())) {
-                consumer.processMessage(topic, message.getPayload());
-            }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received message on topic '{}' : {}", topic, new String(message.getPayload()));
+        }
+
+        List<MqttMessageConsumer> matches = new ArrayList<MqttMessageConsumer>(2);
+        subscriptions.match(topic, matches);
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        MqttMessageDispatcher messageDispatcher = getDispatcher();
+        for (MqttMessageConsumer consumer : matches) {
+            messageDispatcher.dispatch(consumer, topic, message.getPayload());
         }
     }
 
-    /**
-     * Check if the topic on which a message was received matches provided
-     * target topic. The matching will take into account the + and # wildcards.
-     * 
-     * @param source
-     *            topic from received message
-     * @param target
-     *            topic as defined with possible wildcards.
-     * @return true if both topics match.
-     */
-    private boolean isTopicMatch(String source, String target) {
-        if (source.equals(target)) {
-            return true;
+    private synchronized MqttMessageDispatcher getDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = new MqttMessageDispatcher(name, dispatchThreads);
         }
-        if (target.indexOf('+') == -1 && target.indexOf('#') == -1) {
-            return false;
-        } else {
+        return dispatcher;
+    }
 
-            String regex = target;
-            regex = StringUtils.replace(regex, "+", "[^/]*");
-            regex = StringUtils.replace(regex, "#", ".*");
-            boolean result = source.matches(regex);
-            if (result) {
-                logger.trace("Topic match for '{}' and '{}' using regex {}", source, target, regex);
-                return true;
-            } else {
-                logger.trace("No topic match for '{}' and '{}' using regex {}", source, target, regex);
-                return false;
-            }
+    /**
+     * @return the number of received messages and their processing latency for
+     *         each subscribed topic which received messages.
+     */
+    public synchronized List<MqttTopicStatistics> getTopicStatistics() {
+        if (dispatcher == null) {
+            return Collections.emptyList();
         }
+        return dispatcher.getStatistics();
+    }
 
+    /**
+     * Set the number of threads processing the received messages. The messages
+     * of a single consumer are always processed in the order they arrived. The
+     * default is 4 threads.
+     * 
+     * @param dispatchThreads number of threads
+     */
+    public void setDispatchThreads(int dispatchThreads) {
+        this.dispatchThreads = dispatchThreads;
     }
 
     /**
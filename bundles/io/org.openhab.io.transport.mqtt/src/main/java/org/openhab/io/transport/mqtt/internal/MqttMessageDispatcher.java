@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.io.transport.mqtt.MqttMessageConsumer;
+import org.openhab.io.transport.mqtt.MqttTopicStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands received messages to their consumers on a bounded pool of threads, so
+ * that a slow consumer doesn't hold up the connection to the broker. The messages
+ * of each consumer are processed one after the other, in the order they arrived.
+ * <p>
+ * The number of messages waiting for a consumer is limited. When the limit is
+ * reached, the thread delivering the messages waits until the consumer catches
+ * up, instead of dropping messages.
+ *
+ * @since 1.9.0
+ */
+class MqttMessageDispatcher {
+
+    private static Logger logger = LoggerFactory.getLogger(MqttMessageDispatcher.class);
+
+    /** the maximum number of messages waiting for a single consumer */
+    private static final int MAX_QUEUED_MESSAGES = 1000;
+
+    /** the number of messages a consumer processes before the other consumers get their turn */
+    private static final int BATCH_SIZE = 50;
+
+    private static class Message {
+        final String topic;
+        final byte[] payload;
+        final long arrival = System.nanoTime();
+
+        Message(String topic, byte[] payload) {
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Counts the messages of a subscribed topic and their latency
+     */
+    private static class TopicCounter {
+        private final String topic;
+        private long messageCount;
+        private long totalLatency;
+        private long maxLatency;
+
+        TopicCounter(String topic) {
+            this.topic = topic;
+        }
+
+        synchronized void count(long latency) {
+            messageCount++;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+        }
+
+        synchronized MqttTopicStatistics getStatistics() {
+            return new MqttTopicStatistics(topic, messageCount, totalLatency, maxLatency);
+        }
+    }
+
+    /**
+     * The messages waiting for a consumer. It is scheduled on the pool whenever
+     * there are messages and it is not scheduled already, so it runs on at most
+     * one thread at a time.
+     */
+    private class ConsumerQueue implements Runnable {
+        private final MqttMessageConsumer consumer;
+        private final TopicCounter counter;
+        private final Deque<Message> messages = new ArrayDeque<Message>();
+        private boolean scheduled = false;
+
+        ConsumerQueue(MqttMessageConsumer consumer, TopicCounter counter) {
+            this.consumer = consumer;
+            this.counter = counter;
+        }
+
+        void add(Message message) throws InterruptedException {
+            synchronized (this) {
+                while (messages.size() >= MAX_QUEUED_MESSAGES) {
+                    wait();
+                }
+                messages.add(message);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            schedule(this);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Message message;
+                synchronized (this) {
+                    message = messages.poll();
+                    if (message == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    notifyAll();
+                }
+                try {
+                    consumer.processMessage(message.topic, message.payload);
+                } catch (RuntimeException e) {
+                    logger.error("Error processing message on topic '" + message.topic + "'", e);
+                }
+                counter.count((System.nanoTime() - message.arrival) / 1000000);
+            }
+            // let the other consumers have their turn
+            schedule(this);
+        }
+
+        synchronized void clear() {
+            messages.clear();
+            scheduled = false;
+            notifyAll();
+        }
+    }
+
+    private final String name;
+    private final int threads;
+    private ExecutorService executor;
+
+    private final Map<MqttMessageConsumer, ConsumerQueue> queues = new IdentityHashMap<MqttMessageConsumer, ConsumerQueue>();
+    private final Map<String, TopicCounter> counters = new HashMap<String, TopicCounter>();
+
+    /**
+     * @param name the name of the broker connection, used for the threads
+     * @param threads the number of threads processing messages
+     */
+    MqttMessageDispatcher(String name, int threads) {
+        this.name = name;
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Queues the given message for processing by the given consumer. Waits if too
+     * many messages are queued for the consumer already.
+     */
+    void dispatch(MqttMessageConsumer consumer, String topic, byte[] payload) throws InterruptedException {
+        getQueue(consumer).add(new Message(topic, payload));
+    }
+
+    /**
+     * Discards the messages which are still queued for the given consumer
+     */
+    synchronized void removeConsumer(MqttMessageConsumer consumer) {
+        ConsumerQueue queue = queues.remove(consumer);
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * @return the statistics of all subscribed topics which received messages
+     */
+    synchronized List<MqttTopicStatistics> getStatistics() {
+        List<MqttTopicStatistics> statistics = new ArrayList<MqttTopicStatistics>();
+        for (TopicCounter counter : counters.values()) {
+            statistics.add(counter.getStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Stops all threads, messages which are still queued are discarded.
+     */
+    synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        for (ConsumerQueue queue : queues.values()) {
+            queue.clear();
+        }
+        queues.clear();
+    }
+
+    private synchronized ConsumerQueue getQueue(MqttMessageConsumer consumer) {
+        ConsumerQueue queue = queues.get(consumer);
+        if (queue == null) {
+            String topic = consumer.getTopic();
+            TopicCounter counter = counters.get(topic);
+            if (counter == null) {
+                counter = new TopicCounter(topic);
+                counters.put(topic, counter);
+            }
+            queue = new ConsumerQueue(consumer, counter);
+            queues.put(consumer, queue);
+        }
+        return queue;
+    }
+
+    private synchronized void schedule(ConsumerQueue queue) {
+        if (queues.get(queue.consumer) != queue) {
+            // the consumer has been removed or the dispatcher has been stopped meanwhile
+            queue.clear();
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "MQTT Dispatcher " + name + " " + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        try {
+            executor.execute(queue);
+        } catch (RejectedExecutionException e) {
+            queue.clear();
+        }
+    }
+
+}
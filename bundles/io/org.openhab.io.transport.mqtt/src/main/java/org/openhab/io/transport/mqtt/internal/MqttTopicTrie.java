@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.mqtt.internal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stores values by MQTT topic filter and finds the values whose filter matches
+ * a topic. Each level of a filter is a node of the trie, so matching a topic
+ * only visits the levels of the topic and the wildcard nodes on the way,
+ * regardless of the number of filters.
+ * <p>
+ * Filters may contain the single level wildcard '+' and, as their last level,
+ * the multi level wildcard '#', which also matches the parent level. Wildcards
+ * at the first level don't match topics starting with '$'.
+ * <p>
+ * Adding and removing is synchronized, matching is not and can run at any time.
+ *
+ * @since 1.9.0
+ */
+class MqttTopicTrie<T> {
+
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new ConcurrentHashMap<String, Node<T>>();
+
+        /** the values of the filters ending at this node */
+        final List<T> values = new CopyOnWriteArrayList<T>();
+
+        /** the values of the filters ending with '#' after this node */
+        final List<T> multiLevelValues = new CopyOnWriteArrayList<T>();
+
+        boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty() && multiLevelValues.isEmpty();
+        }
+    }
+
+    private final Node<T> root = new Node<T>();
+
+    /**
+     * Adds a value for the given topic filter
+     *
+     * @param filter the topic filter, possibly containing wildcards
+     * @param value the value to add
+     */
+    synchronized void add(String filter, T value) {
+        Node<T> node = root;
+        for (String level : filter.split("/", -1)) {
+            if ("#".equals(level)) {
+                node.multiLevelValues.add(value);
+                return;
+            }
+            Node<T> child = node.children.get(level);
+            if (child == null) {
+                child = new Node<T>();
+                node.children.put(level, child);
+            }
+            node = child;
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Removes a value for the given topic filter
+     *
+     * @param filter the topic filter the value has been added with
+     * @param value the value to remove
+     * @return true if the value was found
+     */
+    synchronized boolean remove(String filter, T value) {
+        return remove(root, filter.split("/", -1), 0, value);
+    }
+
+    private boolean remove(Node<T> node, String[] levels, int index, T value) {
+        if (index == levels.length) {
+            return node.values.remove(value);
+        }
+        if ("#".equals(levels[index])) {
+            return node.multiLevelValues.remove(value);
+        }
+        Node<T> child = node.children.get(levels[index]);
+        if (child == null || !remove(child, levels, index + 1, value)) {
+            return false;
+        }
+        if (child.isEmpty()) {
+            node.children.remove(levels[index]);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the values of all filters matching the given topic to the result
+     *
+     * @param topic the topic of a message, without wildcards
+     * @param result the collection to add the matching values to
+     */
+    void match(String topic, Collection<T> result) {
+        match(root, topic.split("/", -1), 0, result);
+    }
+
+    private void match(Node<T> node, String[] levels, int index, Collection<T> result) {
+        boolean wildcards = index > 0 || !levels[0].startsWith("$");
+        if (wildcards) {
+            result.addAll(node.multiLevelValues);
+        }
+        if (index == levels.length) {
+            result.addAll(node.values);
+            return;
+        }
+
+        Node<T> child = node.children.get(levels[index]);
+        if (child != null) {
+            match(child, levels, index + 1, result);
+        }
+        if (wildcards) {
+            child = node.children.get("+");
+            if (child != null) {
+                match(child, levels, index + 1, result);
+            }
+        }
+    }
+
+}
@@ -13,6 +13,8 @@ import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.emf.common.util.URI;
@@ -33,6 +35,11 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+/**
+ * Models are loaded and unloaded while holding the lock of the resource set, as
+ * linking and resolving cross references of the shared resource set is not thread
+ * safe. Listeners are notified after all locks are released.
+ */
 public class ModelRepositoryImpl implements ModelRepository {
 	
 	private static final Logger logger = LoggerFactory.getLogger(ModelRepositoryImpl.class);
@@ -40,6 +47,9 @@ public class ModelRepositoryImpl implements ModelRepository {
 	
 	private final ListenerList listeners = new ListenerList();
 
+	/* the locks which serialize loading, refreshing and removing of each model */
+	private final ConcurrentMap<String, Object> modelLocks = new ConcurrentHashMap<String, Object>();
+
 	public ModelRepositoryImpl() {
 		XtextResourceSet xtextResourceSet = new SynchronizedXtextResourceSet();
 		xtextResourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
@@ -49,7 +59,7 @@ public class ModelRepositoryImpl implements ModelRepository {
 	}
 	
 	public EObject getModel(String name) {
-		synchronized (resourceSet) {
+		synchronized (getModelLock(name)) {
 	 		Resource resource = getResource(name);
 			if(resource!=null) {
 				if(resource.getContents().size()>0) {
@@ -57,7 +67,7 @@ public class ModelRepositoryImpl implements ModelRepository {
 				} else {
 					logger.warn("Configuration model '{}' is either empty or cannot be parsed correctly!", name);
 					logger.debug("Errors reported for '{}': {}", name, resource.getErrors());
-					resourceSet.getResources().remove(resource);
+					removeResource(resource);
 					return null;
 				}
 			} else {
@@ -68,58 +78,63 @@ public class ModelRepositoryImpl implements ModelRepository {
 	}
 
 	public boolean addOrRefreshModel(String name, InputStream inputStream) {
-		Resource resource = getResource(name);
-		if(resource==null) {
-			synchronized(resourceSet) {
-				// try again to retrieve the resource as it might have been created by now
-				resource = getResource(name);
-				if(resource==null) {
+		EventType eventType = null;
+		synchronized (getModelLock(name)) {
+			Resource resource = getResource(name);
+			if(resource==null) {
+				synchronized(resourceSet) {
 					// seems to be a new file
 					resource = resourceSet.createResource(URI.createURI(name));
-					if(resource!=null) {
-						logger.info("Loading model '{}'", name);
+				}
+				if(resource!=null) {
+					logger.info("Loading model '{}'", name);
+					synchronized(resourceSet) {
 						try {
 							Map<String, String> options = new HashMap<String, String>();
 							options.put(XtextResource.OPTION_ENCODING, "UTF-8");
 							resource.load(inputStream, options);
-							notifyListeners(name, EventType.ADDED);
-							return true;
+							eventType = EventType.ADDED;
 						} catch (IOException e) {
 							logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
-							resourceSet.getResources().remove(resource);
+							removeResource(resource);
 						}
 					}
 				}
-			}
-		} else {
-			synchronized(resourceSet) {
-				resource.unload();
-				try {
-					logger.info("Refreshing model '{}'", name);
-					resource.load(inputStream, Collections.EMPTY_MAP);
-					notifyListeners(name, EventType.MODIFIED);
-					return true;
-				} catch (IOException e) {
-					logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
-					resourceSet.getResources().remove(resource);
+			} else {
+				synchronized(resourceSet) {
+					resource.unload();
+					try {
+						logger.info("Refreshing model '{}'", name);
+						resource.load(inputStream, Collections.EMPTY_MAP);
+						eventType = EventType.MODIFIED;
+					} catch (IOException e) {
+						logger.warn("Configuration model '" + name + "' cannot be parsed correctly!", e);
+						removeResource(resource);
+					}
 				}
 			}
 		}
+		if(eventType!=null) {
+			// listeners are notified without holding the lock, as they usually read other models
+			notifyListeners(name, eventType);
+			return true;
+		}
 		return false;
 	}
 
 	public boolean removeModel(String name) {
-		Resource resource = getResource(name);
-		if(resource!=null) {
-			synchronized(resourceSet) {
-				// do not physically delete it, but remove it from the resource set
-				notifyListeners(name, EventType.REMOVED);
-				resourceSet.getResources().remove(resource);
-				return true;
+		synchronized (getModelLock(name)) {
+			Resource resource = getResource(name);
+			if(resource==null) {
+				return false;
 			}
-		} else {
-			return false;
+			// do not physically delete it, but remove it from the resource set
+			removeResource(resource);
 		}
+		// listeners are notified without holding the lock, as they usually read other models.
+		// the model is removed first, so that listeners reading it meanwhile don't see it anymore
+		notifyListeners(name, EventType.REMOVED);
+		return true;
 	}
 
 	public Iterable<String> getAllModelNamesOfType(final String modelType) {
@@ -153,6 +168,24 @@ public class ModelRepositoryImpl implements ModelRepository {
 		 return resourceSet.getResource(URI.createURI(name), false);
 	}
 
+	private void removeResource(Resource resource) {
+		synchronized(resourceSet) {
+			resourceSet.getResources().remove(resource);
+		}
+	}
+
+	private Object getModelLock(String name) {
+		Object lock = modelLocks.get(name);
+		if(lock==null) {
+			lock = new Object();
+			Object existingLock = modelLocks.putIfAbsent(name, lock);
+			if(existingLock!=null) {
+				lock = existingLock;
+			}
+		}
+		return lock;
+	}
+
 	private void notifyListeners(String name, EventType type) {
 		for(Object listener : listeners.getListeners()) {
 			ModelRepositoryChangeListener changeListener = (ModelRepositoryChangeListener) listener;
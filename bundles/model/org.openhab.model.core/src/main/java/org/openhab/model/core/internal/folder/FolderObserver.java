@@ -8,34 +8,64 @@
  */
 package org.openhab.model.core.internal.folder;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.Date;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.openhab.config.core.ConfigDispatcher;
 import org.openhab.model.core.ModelCoreConstants;
 import org.openhab.model.core.ModelRepository;
-import org.openhab.model.core.internal.util.MathUtils;
 import org.osgi.service.cm.ConfigurationException;
 import org.osgi.service.cm.ManagedService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class is able to observe multiple folders for changes. It checks the
- * last modified date in a configurable frequency and notifies the model repository
+ * This class is able to observe multiple folders for changes. It is notified about
+ * changed files by a {@link WatchService} and notifies the model repository
  * about every change, so that it can update itself.
- * 
+ *
+ * Changes of a file are only processed after the file has not been changed for a short
+ * time, so that saving a file in several steps doesn't lead to several reloads. Files
+ * whose content didn't change are not passed to the model repository again. Changed
+ * files are read and hashed in parallel, but parsed one after the other, as the models
+ * share a single resource set.
+ *
  * This logic is run as a separate thread, so that it can always detect changes.
- * 
+ *
  * @author Kai Kreuzer
  * @since 0.3.0
  *
@@ -45,139 +75,333 @@ public class FolderObserver extends Thread implements ManagedService {
 	private static final Logger logger = LoggerFactory
 			.getLogger(FolderObserver.class);
 
-	/* map that lists all foldernames that should be observed and the frequency for checks in seconds */
-	private final Map<String, Integer> folderRefreshMap = new ConcurrentHashMap<String, Integer>();
+	/* the time in milliseconds a file must remain unchanged before it is processed */
+	private static final long DEBOUNCE_DELAY = 500;
+
+	/* the maximum amount of files which are read in parallel */
+	private static final int MAX_READER_THREADS = 4;
 
 	/* map that stores a list of valid file extensions for each folder */
 	private final Map<String, String[]> folderFileExtMap = new ConcurrentHashMap<String, String[]>();
 
-	/* map that stores the time of the last check of a filename in milliseconds */
-	private Map<String, Long> lastCheckedMap = new ConcurrentHashMap<String, Long>();
-	
+	/* map that stores the content hash of the last processed version of a filename */
+	private Map<String, String> lastHashMap = new ConcurrentHashMap<String, String>();
+
 	/* map that remembers all filenames of the last check, so that it can detect file deletions */
 	private Map<String, Set<String>> lastFileNames = new ConcurrentHashMap<String, Set<String>>();
 
-	/* the greatest common divisor of all folder refresh rates */
-	private int gcdRefresh = 1;
-	
-	/* the least common multiple of all folder refresh rates */
-	private int lcmRefresh = 1;
-	
-	/* a counter to know which folders need to be refreshed when waking up */
-	private int refreshCount = 0;
-	
+	/* map that stores the observed folder of each registered watch key */
+	private final Map<WatchKey, String> watchKeys = new ConcurrentHashMap<WatchKey, String>();
+
+	/* files which have been changed and the time when they are processed */
+	private final Map<File, PendingChange> pendingChanges = new LinkedHashMap<File, PendingChange>();
+
+	/* the service which notifies about changed files */
+	private WatchService watchService = null;
+
+	/* the threads which read changed files */
+	private ExecutorService readerPool = null;
+
 	/* the model repository is provided as a service */
 	private ModelRepository modelRepo = null;
-	
-	
+
+
+	private static class FileContent {
+
+		final byte[] content;
+		final String hash;
+
+		FileContent(byte[] content, String hash) {
+			this.content = content;
+			this.hash = hash;
+		}
+
+	}
+
+	private static class PendingChange {
+
+		final String foldername;
+		final long due;
+
+		PendingChange(String foldername, long due) {
+			this.foldername = foldername;
+			this.due = due;
+		}
+
+	}
+
 	public FolderObserver() {
 		super("FolderObserver");
+		setDaemon(true);
 	}
-	
+
 	public void setModelRepository(ModelRepository modelRepo) {
 		this.modelRepo = modelRepo;
 	}
-	
+
 	public void unsetModelRepository(ModelRepository modelRepo) {
 		this.modelRepo = null;
 	}
 
 	@Override
 	public void run() {
-		while(!folderRefreshMap.isEmpty()) { // keep the thread running as long as there are folders to observe
+		while (!isInterrupted()) {
 			try {
-				for(String foldername : folderRefreshMap.keySet()) {
-					// if folder has been checked at least once and it is not time yet to refresh, skip
-					if( lastFileNames.get(foldername) != null  && 
-							(refreshCount % folderRefreshMap.get(foldername) > 0)) {										
-						logger.debug("skipping refresh of folder '{}' folderRefreshMap={}",
-								foldername, folderRefreshMap.get(foldername));
-						continue;
-					} 
-					
-					logger.debug("Refreshing folder '{}'", foldername);
-					checkFolder(foldername);
+				WatchKey key;
+				long delay = getDelayOfNextChange();
+				if (delay < 0) {
+					key = watchService.take();
+				} else {
+					key = watchService.poll(delay, TimeUnit.MILLISECONDS);
 				}
 
-				// increase the counter and set it to 0, if it reaches the max value
-				refreshCount = (refreshCount + gcdRefresh) % lcmRefresh;
-			} catch(Throwable e) {
-				logger.error("An unexpected exception has occured", e);
-			}			
-			try {
-				if(gcdRefresh <= 0) break;
-				synchronized(FolderObserver.this) {
-					wait(gcdRefresh * 1000L);
+				if (key != null) {
+					collectChanges(key);
 				}
+				processDueChanges();
 			} catch (InterruptedException e) {
 				break;
+			} catch (ClosedWatchServiceException e) {
+				break;
+			} catch(Throwable e) {
+				logger.error("An unexpected exception has occured", e);
+			}
+		}
+	}
+
+	private void collectChanges(WatchKey key) {
+		String foldername = watchKeys.get(key);
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (foldername == null) {
+				continue;
+			}
+			if (event.kind() == OVERFLOW) {
+				logger.debug("Missed changes of folder '{}', refreshing it", foldername);
+				checkFolder(foldername);
+				continue;
+			}
+
+			File file = new File(getFolder(foldername), ((Path) event.context()).toString());
+			if (isModelFile(foldername, file.getName())) {
+				logger.debug("{} of file '{}'", event.kind().name(), file.getName());
+				synchronized (pendingChanges) {
+					// a further change of the file postpones its processing
+					pendingChanges.remove(file);
+					pendingChanges.put(file, new PendingChange(foldername, System.currentTimeMillis() + DEBOUNCE_DELAY));
+				}
+			}
+		}
+
+		if (!key.reset()) {
+			logger.debug("Folder '{}' is not observed anymore", foldername);
+			watchKeys.remove(key);
+		}
+	}
+
+	/**
+	 * @return the time in milliseconds until the next pending change is due or -1 if no change is pending
+	 */
+	private long getDelayOfNextChange() {
+		synchronized (pendingChanges) {
+			long delay = -1;
+			for (PendingChange change : pendingChanges.values()) {
+				long remaining = Math.max(change.due - System.currentTimeMillis(), 1);
+				if (delay < 0 || remaining < delay) {
+					delay = remaining;
+				}
 			}
+			return delay;
 		}
 	}
-	
-	private void checkFolder(String foldername) {
+
+	private void processDueChanges() {
+		Map<File, String> dueFiles = new LinkedHashMap<File, String>();
+		synchronized (pendingChanges) {
+			long now = System.currentTimeMillis();
+			for (Iterator<Map.Entry<File, PendingChange>> it = pendingChanges.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<File, PendingChange> entry = it.next();
+				if (entry.getValue().due <= now) {
+					dueFiles.put(entry.getKey(), entry.getValue().foldername);
+					it.remove();
+				}
+			}
+		}
+		if (dueFiles.isEmpty()) {
+			return;
+		}
+
+		synchronized (this) {
+			List<File> changedFiles = new ArrayList<File>();
+			for (Map.Entry<File, String> entry : dueFiles.entrySet()) {
+				File file = entry.getKey();
+				Set<String> fileNames = lastFileNames.get(entry.getValue());
+				if (file.isFile()) {
+					changedFiles.add(file);
+					if (fileNames != null) {
+						fileNames.add(file.getName());
+					}
+				} else if (!file.exists()) {
+					if (fileNames != null) {
+						fileNames.remove(file.getName());
+					}
+					removeModel(file.getName());
+				}
+			}
+			refreshModels(changedFiles);
+		}
+	}
+
+	private synchronized void checkFolder(String foldername) {
 		File folder = getFolder(foldername);
 		if(!folder.exists()) {
 			return;
 		}
-		String[] extensions = folderFileExtMap.get(foldername);
-		
+
 		// check current files and add or refresh them accordingly
 		Set<String> currentFileNames = new HashSet<String>();
+		List<File> currentFiles = new ArrayList<File>();
 		for(File file : folder.listFiles()) {
 			if(file.isDirectory()) continue;
-			if(!file.getName().contains(".")) continue;
-			if(file.getName().startsWith(".")) continue;
-			
-			// if there is an extension filter defined, continue if the file has a different extension
-			String fileExt = getExtension(file.getName());
-			if(extensions!=null && extensions.length>0 && !ArrayUtils.contains(extensions, fileExt)) continue;
-			
+			if(!isModelFile(foldername, file.getName())) continue;
+
 			currentFileNames.add(file.getName());
-			Long timeLastCheck = lastCheckedMap.get(file.getName());
-			if(timeLastCheck==null) timeLastCheck = 0L;
-			if(FileUtils.isFileNewer(file, timeLastCheck)) {
-				if(modelRepo!=null) {
-					try {
-						if(modelRepo.addOrRefreshModel(file.getName(), FileUtils.openInputStream(file))) {
-							lastCheckedMap.put(file.getName(), new Date().getTime());							
-						}
-					} catch (IOException e) {
-						logger.warn("Cannot open file '"+ file.getAbsolutePath() + "' for reading.", e);
-					}
-				}
-			}
+			currentFiles.add(file);
 		}
-		
+		refreshModels(currentFiles);
+
 		// check for files that have been deleted meanwhile
 		if (lastFileNames.get(foldername) != null) {
 			for (String fileName : lastFileNames.get(foldername)) {
 				if (!currentFileNames.contains(fileName)) {
-					logger.info("File '{}' has been deleted", fileName);
-					if (modelRepo != null) {
-						modelRepo.removeModel(fileName);
-						lastCheckedMap.remove(fileName);
-					}
+					removeModel(fileName);
 				}
 			}
 		}
 		lastFileNames.put(foldername, currentFileNames);
 	}
 
+	/**
+	 * Passes the given files to the model repository. The files are read and hashed in
+	 * parallel, the models are parsed one after the other in the given order.
+	 *
+	 * @param files the files to add or refresh
+	 */
+	private void refreshModels(List<File> files) {
+		if (files.size() == 1) {
+			refreshModel(files.get(0), readFile(files.get(0)));
+			return;
+		}
+
+		List<Callable<FileContent>> tasks = new ArrayList<Callable<FileContent>>();
+		for (final File file : files) {
+			tasks.add(new Callable<FileContent>() {
+				public FileContent call() {
+					return readFile(file);
+				}
+			});
+		}
+		try {
+			List<Future<FileContent>> contents = getReaderPool().invokeAll(tasks);
+			for (int i = 0; i < files.size(); i++) {
+				refreshModel(files.get(i), contents.get(i).get());
+			}
+		} catch (InterruptedException e) {
+			logger.debug("Interrupted while refreshing models");
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			logger.warn("Error while reading changed files", e.getCause());
+		}
+	}
+
+	private void refreshModel(File file, FileContent content) {
+		if (modelRepo == null || content == null) {
+			return;
+		}
+		if (content.hash.equals(lastHashMap.get(file.getName()))) {
+			logger.debug("Content of file '{}' did not change, skipping it", file.getName());
+			return;
+		}
+		if (modelRepo.addOrRefreshModel(file.getName(), new ByteArrayInputStream(content.content))) {
+			lastHashMap.put(file.getName(), content.hash);
+		}
+	}
+
+	/**
+	 * @return the content of the given file and its hash or <code>null</code> if it can't be read
+	 */
+	private FileContent readFile(File file) {
+		try {
+			byte[] content = FileUtils.readFileToByteArray(file);
+			return new FileContent(content, getHash(content));
+		} catch (IOException e) {
+			logger.warn("Cannot open file '"+ file.getAbsolutePath() + "' for reading.", e);
+			return null;
+		}
+	}
+
+	private void removeModel(String fileName) {
+		logger.info("File '{}' has been deleted", fileName);
+		if (modelRepo != null) {
+			modelRepo.removeModel(fileName);
+			lastHashMap.remove(fileName);
+		}
+	}
+
+	private boolean isModelFile(String foldername, String fileName) {
+		if(!fileName.contains(".")) return false;
+		if(fileName.startsWith(".")) return false;
+
+		// if there is an extension filter defined, skip the file if it has a different extension
+		String[] extensions = folderFileExtMap.get(foldername);
+		String fileExt = getExtension(fileName);
+		return extensions==null || extensions.length==0 || ArrayUtils.contains(extensions, fileExt);
+	}
+
 	private String getExtension(String filename) {
 		String fileExt = filename.substring(filename.lastIndexOf(".") + 1);
 		return fileExt;
 	}
 
+	private static String getHash(byte[] content) {
+		try {
+			StringBuilder hash = new StringBuilder();
+			for (byte b : MessageDigest.getInstance("MD5").digest(content)) {
+				hash.append(String.format("%02x", b));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// MD5 is available on every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private synchronized ExecutorService getReaderPool() {
+		if (readerPool == null) {
+			readerPool = Executors.newFixedThreadPool(MAX_READER_THREADS, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "FolderObserver Reader " + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return readerPool;
+	}
+
 	@SuppressWarnings("rawtypes")
 	public void updated(Dictionary config) throws ConfigurationException {
 		if (config != null) {
 			// make sure to clear the caches first
 			lastFileNames.clear();
-			lastCheckedMap.clear();
+			lastHashMap.clear();
 			folderFileExtMap.clear();
-			folderRefreshMap.clear();
-			
+			for (WatchKey key : watchKeys.keySet()) {
+				key.cancel();
+			}
+			watchKeys.clear();
+
 			Enumeration keys = config.keys();
 			while (keys.hasMoreElements()) {
 				String foldername = (String) keys.nextElement();
@@ -190,35 +414,14 @@ public class FolderObserver extends Thread implements ManagedService {
 					if (folder.exists() && folder.isDirectory()) {
 						folderFileExtMap.put(foldername, fileExts);
 						if (refreshValue > 0) {
-							folderRefreshMap.put(foldername, refreshValue);
-							if(!this.isAlive()) {
-								// seems we have the first folder to observe, so let's start the thread
-								this.start();
-							} else {
-								// make sure that we notify the sleeping thread and directly refresh the folders
-								synchronized (FolderObserver.this) {
-									notify();
-									checkFolder(foldername);
-								}
-							}
-						} else {
-							// deactivate the refresh for this folder
-							folderRefreshMap.remove(foldername);
-							checkFolder(foldername);
+							observeFolder(foldername, folder);
 						}
+						checkFolder(foldername);
 					} else {
 						logger.warn(
 								"Directory '{}' does not exist in '{}'. Please check your configuration settings!",
 								foldername, ConfigDispatcher.getConfigFolder());
 					}
-					
-					// now update the refresh information for the thread
-					Integer[] refreshValues = folderRefreshMap.values().toArray(new Integer[0]);
-					if(refreshValues.length>0) {
-						gcdRefresh = MathUtils.gcd(refreshValues);
-						lcmRefresh = MathUtils.lcm(refreshValues);
-					}
-					refreshCount = 0;
 				} catch (NumberFormatException e) {
 					logger.warn(
 							"Invalid value '{}' for configuration '{}'. Integer value expected!",
@@ -230,6 +433,27 @@ public class FolderObserver extends Thread implements ManagedService {
 		}
 	}
 
+	/**
+	 * registers the given folder at the {@link WatchService} and starts the thread if necessary
+	 * @param foldername the name of the folder to observe
+	 * @param folder the folder to observe
+	 */
+	private synchronized void observeFolder(String foldername, File folder) {
+		try {
+			if (watchService == null) {
+				watchService = FileSystems.getDefault().newWatchService();
+			}
+			WatchKey key = folder.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+			watchKeys.put(key, foldername);
+			if(!this.isAlive()) {
+				// seems we have the first folder to observe, so let's start the thread
+				this.start();
+			}
+		} catch (IOException e) {
+			logger.error("Cannot observe folder '" + foldername + "' for changes", e);
+		}
+	}
+
 	/**
 	 * returns the {@link File} object for a given foldername
 	 * @param foldername the foldername to get the {@link File} for
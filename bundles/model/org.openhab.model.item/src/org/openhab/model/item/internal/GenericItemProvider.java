@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +23,7 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemProvider;
+import org.openhab.core.items.ItemReplacedListener;
 import org.openhab.core.items.ItemsChangeListener;
 import org.openhab.core.library.types.ArithmeticGroupFunction;
 import org.openhab.core.types.State;
@@ -62,6 +64,25 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 	private ModelRepository modelRepository = null;
 	
 	private Collection<ItemFactory> itemFactorys = new ArrayList<ItemFactory>();
+
+	/** the items of each model, so that unchanged items keep their instance and state when a model is reloaded */
+	private Map<String, Map<String, ProvidedItem>> itemsByModel = new HashMap<String, Map<String, ProvidedItem>>();
+
+	/**
+	 * An item which has been created from a model together with the structural
+	 * signature of its model item, which tells whether a reloaded item has changed.
+	 */
+	private static class ProvidedItem {
+
+		final Item item;
+		final String signature;
+
+		ProvidedItem(Item item, String signature) {
+			this.item = item;
+			this.signature = signature;
+		}
+
+	}
 	
 	
 	public GenericItemProvider() {
@@ -88,6 +109,10 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 	 */
 	public void addItemFactory(ItemFactory factory) {
 		itemFactorys.add(factory);
+		synchronized (this) {
+			// items of the new types can be created now
+			itemsByModel.clear();
+		}
 		dispatchBindingsPerItemType(null, factory.getSupportedItemTypes());
 	}
 	
@@ -121,28 +146,49 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 	 * {@inheritDoc}
 	 */
 	@Override
-	public Collection<Item> getItems() {
+	public synchronized Collection<Item> getItems() {
 		List<Item> items = new ArrayList<Item>();
 		for (String name : modelRepository.getAllModelNamesOfType("items")) {
-			items.addAll(getItemsFromModel(name));
+			Map<String, ProvidedItem> modelItems = itemsByModel.get(name);
+			if (modelItems == null) {
+				modelItems = getItemsFromModel(name, null);
+				itemsByModel.put(name, modelItems);
+			}
+			for (ProvidedItem providedItem : modelItems.values()) {
+				items.add(providedItem.item);
+			}
 		}
 		return items;
 	}
 	
-	private Collection<Item> getItemsFromModel(String modelName) {
+	/**
+	 * Creates the items of the given model
+	 * 
+	 * @param modelName the name of the model
+	 * @param oldItems the previous items of the model, which are kept if they did not change, may be {@code null}
+	 * @return the items of the model by their name
+	 */
+	private Map<String, ProvidedItem> getItemsFromModel(String modelName, Map<String, ProvidedItem> oldItems) {
 		logger.debug("Read items from model '{}'", modelName);
 		
-		List<Item> items = new ArrayList<Item>();
+		Map<String, ProvidedItem> items = new LinkedHashMap<String, ProvidedItem>();
 		if (modelRepository != null) {
 			ItemModel model = (ItemModel) modelRepository.getModel(modelName);
 			if (model != null) {
 				for(ModelItem modelItem : model.getItems()) {
+					String signature = getSignature(modelItem);
+					ProvidedItem oldItem = oldItems != null ? oldItems.get(modelItem.getName()) : null;
+					if (oldItem != null && oldItem.signature.equals(signature)) {
+						items.put(modelItem.getName(), oldItem);
+						continue;
+					}
+
 					Item item = createItemFromModelItem(modelItem);
 					if (item != null) {
 						for (String groupName : modelItem.getGroups()) {
 							item.getGroupNames().add(groupName);
 						}
-						items.add(item);
+						items.put(item.getName(), new ProvidedItem(item, signature));
 					}
 				}
 			}
@@ -150,7 +196,24 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 		return items;
 	}
 
-	private void processBindingConfigsFromModel(String modelName) {
+	/**
+	 * Returns everything of a model item which is reflected by the created {@link Item},
+	 * labels, icons and bindings are not.
+	 */
+	private String getSignature(ModelItem modelItem) {
+		StringBuilder signature = new StringBuilder();
+		signature.append(modelItem instanceof ModelGroupItem ? "Group" : "Item");
+		signature.append('|').append(modelItem.getType());
+		signature.append('|').append(modelItem.getGroups());
+		if (modelItem instanceof ModelGroupItem) {
+			ModelGroupItem modelGroupItem = (ModelGroupItem) modelItem;
+			signature.append('|').append(modelGroupItem.getFunction());
+			signature.append('|').append(modelGroupItem.getArgs());
+		}
+		return signature.toString();
+	}
+
+	private void processBindingConfigsFromModel(String modelName, Map<String, ProvidedItem> items) {
 		logger.debug("Processing binding configs for items from model '{}'", modelName);
 		
 		if (modelRepository != null) {
@@ -164,11 +227,11 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 				reader.removeConfigurations(modelName);
 			}
 
-			// create items and read new binding configuration
+			// read new binding configuration
 			for (ModelItem modelItem : model.getItems()) {
-				Item item = createItemFromModelItem(modelItem);
-				if (item != null) {
-					internalDispatchBindings(modelName, item, modelItem.getBindings());
+				ProvidedItem providedItem = items.get(modelItem.getName());
+				if (providedItem != null) {
+					internalDispatchBindings(modelName, providedItem.item, modelItem.getBindings());
 				}
 			}
 		}
@@ -382,16 +445,68 @@ public class GenericItemProvider implements ItemProvider, ModelRepositoryChangeL
 	 * <p>
 	 * Dispatches all binding configs and
 	 * fires all {@link ItemsChangeListener}s if {@code modelName} ends with "items".
+	 * When a known model is reloaded only the items which have been added, removed or
+	 * structurally changed are reported, unchanged items are kept.
 	 */
 	@Override
-	public void modelChanged(String modelName, EventType type) {
+	public synchronized void modelChanged(String modelName, EventType type) {
 		if (modelName.endsWith("items")) {
+			Map<String, ProvidedItem> oldItems = itemsByModel.remove(modelName);
 
-			processBindingConfigsFromModel(modelName);
-			
-			for (ItemsChangeListener listener : listeners) {
-			 	listener.allItemsChanged(this, null);
+			if (type == EventType.REMOVED) {
+				for (BindingConfigReader reader : bindingConfigReaders.values()) {
+					reader.removeConfigurations(modelName);
+				}
+				if (oldItems != null) {
+					for (ProvidedItem oldItem : oldItems.values()) {
+						for (ItemsChangeListener listener : listeners) {
+							listener.itemRemoved(this, oldItem.item);
+						}
+					}
+				}
+				return;
+			}
+
+			Map<String, ProvidedItem> items = getItemsFromModel(modelName, oldItems);
+			itemsByModel.put(modelName, items);
+			processBindingConfigsFromModel(modelName, items);
+
+			if (oldItems == null) {
+				// the items of the model are not known yet, so all items are reloaded at once
+				for (ItemsChangeListener listener : listeners) {
+				 	listener.allItemsChanged(this, null);
+				}
+				return;
+			}
+
+			int unchanged = 0;
+			for (ProvidedItem oldItem : oldItems.values()) {
+				if (!items.containsKey(oldItem.item.getName())) {
+					for (ItemsChangeListener listener : listeners) {
+						listener.itemRemoved(this, oldItem.item);
+					}
+				}
+			}
+			for (ProvidedItem item : items.values()) {
+				ProvidedItem oldItem = oldItems.get(item.item.getName());
+				if (oldItem == null) {
+					for (ItemsChangeListener listener : listeners) {
+						listener.itemAdded(this, item.item);
+					}
+				} else if (oldItem != item) {
+					for (ItemsChangeListener listener : listeners) {
+						if (listener instanceof ItemReplacedListener) {
+							((ItemReplacedListener) listener).itemChanged(this, oldItem.item, item.item);
+						} else {
+							listener.itemRemoved(this, oldItem.item);
+							listener.itemAdded(this, item.item);
+						}
+					}
+				} else {
+					unchanged++;
+				}
 			}
+			logger.debug("Reloaded model '{}': {} of {} items are unchanged", new Object[] { modelName, unchanged, items.size() });
 		}
 	}
 	
@@ -8,103 +8,95 @@
  */
 package org.openhab.model.script.internal.actions;
 
-import static org.quartz.TriggerBuilder.newTrigger;
-
-import org.joda.time.DateTime;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.joda.time.base.AbstractInstant;
 import org.openhab.model.script.actions.Timer;
-import org.quartz.JobExecutionContext;
-import org.quartz.JobKey;
-import org.quartz.Scheduler;
-import org.quartz.SchedulerException;
-import org.quartz.Trigger;
-import org.quartz.TriggerKey;
-import org.quartz.impl.StdSchedulerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This is an implementation of the {@link Timer} interface using the Quartz
- * library for scheduling.
- * 
+ * This is an implementation of the {@link Timer} interface using an in-memory
+ * {@link TimerWheel} for scheduling, so that creating, rescheduling and cancelling
+ * a timer is cheap.
+ *
  * @author Kai Kreuzer
  * @since 1.0.0
  *
  */
-public class TimerImpl implements Timer {
+public class TimerImpl extends TimerWheel.Timeout implements Timer {
 
 	private static final Logger logger = LoggerFactory.getLogger(TimerImpl.class);
 
-	// the scheduler used for timer events
-	public static Scheduler scheduler;
+	/** the duration of a tick of the timer wheel in milliseconds */
+	private static final long TICK_DURATION = 50;
 
-	static {
-		 try {
-			scheduler = StdSchedulerFactory.getDefaultScheduler();
-		} catch (SchedulerException e) {
-	     logger.error("initializing scheduler throws exception", e);
-		}
+	/** the amount of buckets of the timer wheel */
+	private static final int WHEEL_SIZE = 512;
+
+	/** the amount of threads executing the code of expired timers */
+	private static final int THREADS = 10;
+
+	// the wheel used for timer events
+	public static final TimerWheel wheel = new TimerWheel("Script Timer", TICK_DURATION, WHEEL_SIZE, THREADS);
+
+	private final String name;
+	private final Procedure0 procedure;
+
+	private volatile boolean running = false;
+	private volatile boolean terminated = false;
+
+	/**
+	 * @param name the name of the timer, used for logging
+	 * @param procedure the code to execute
+	 */
+	public TimerImpl(String name, Procedure0 procedure) {
+		this.name = name;
+		this.procedure = procedure;
 	}
-	
-	private JobKey jobKey;
-	private TriggerKey triggerKey;
-	private AbstractInstant startTime;
-
-	private boolean cancelled = false;
-	private boolean terminated = false;
-	
-	public TimerImpl(JobKey jobKey, TriggerKey triggerKey, AbstractInstant startTime) {
-		this.jobKey = jobKey;
-		this.triggerKey = triggerKey;
-		this.startTime = startTime;
+
+	/**
+	 * Schedules the code of this timer for execution
+	 *
+	 * @param time the time to execute the code
+	 */
+	public void schedule(AbstractInstant time) {
+		terminated = false;
+		wheel.schedule(this, time.getMillis());
 	}
-	
+
 	public boolean cancel() {
-		try {
-			boolean result = scheduler.deleteJob(jobKey);
-			if(result) {
-				cancelled = true;
-			}
-		} catch (SchedulerException e) {
-			logger.warn("An error occured while cancelling the job '{}': {}", new String[] { jobKey.toString(), e.getMessage() });
-		}
-		return cancelled;
+		return wheel.cancel(this);
 	}
-	
+
 	public boolean reschedule(AbstractInstant newTime) {
-		try {
-	        Trigger trigger = newTrigger().startAt(newTime.toDate()).build();
-			scheduler.rescheduleJob(triggerKey, trigger);
-			this.triggerKey = trigger.getKey();
-			this.cancelled = false;
-			this.terminated = false;
-			return true;
-		} catch (SchedulerException e) {
-			logger.warn("An error occured while rescheduling the job '{}': {}", new String[] { jobKey.toString(), e.getMessage() });
-			return false;
-		}
+		schedule(newTime);
+		return true;
 	}
-	
+
 	public boolean isRunning() {
-		try {
-			for(JobExecutionContext context : scheduler.getCurrentlyExecutingJobs()) {
-				if(context.getJobDetail().getKey().equals(jobKey)) {
-					return true;
-				}
-			}
-			return false;
-		} catch (SchedulerException e) {
-			// fallback implementation
-			logger.debug("An error occured getting currently running jobs: {}", e.getMessage());
-			return DateTime.now().isAfter(startTime) && !terminated;
-		}
+		return running;
 	}
 
 	public boolean hasTerminated() {
 		return terminated;
 	}
-	
-	public void setTerminated(boolean terminated) {
-		this.terminated = terminated;
+
+	/**
+	 * Runs the code of this timer
+	 */
+	public void run() {
+		logger.debug("Executing timer '{}'", name);
+		running = true;
+		try {
+			procedure.apply();
+		} catch (RuntimeException e) {
+			logger.error("Error while executing timer '" + name + "'", e);
+		} finally {
+			running = false;
+			// the timer might have been rescheduled meanwhile
+			if (!wheel.isScheduled(this)) {
+				terminated = true;
+			}
+		}
 	}
 }
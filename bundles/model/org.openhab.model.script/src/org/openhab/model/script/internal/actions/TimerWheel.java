@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2010-2016, openHAB.org and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.model.script.internal.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timer wheel which executes {@link Timeout}s at their deadline on a
+ * bounded pool of threads. Scheduling, rescheduling and cancelling a timeout
+ * are constant time operations, as every timeout is linked into the bucket of its
+ * deadline tick. The wheel thread only wakes up once per tick and looks at the
+ * timeouts of the current bucket.
+ * <p>
+ * Timeouts are executed at the end of the tick of their deadline, so they are
+ * late by less than one tick. Ticks are measured with {@link System#nanoTime()},
+ * so adjusting the system clock doesn't stall or hurry the wheel.
+ *
+ * @since 1.9.0
+ */
+public class TimerWheel {
+
+	private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+	/**
+	 * A task which is executed by the wheel at its deadline. A timeout can be scheduled
+	 * again after it has been executed or cancelled.
+	 */
+	public static abstract class Timeout implements Runnable {
+
+		private long deadline;
+		private long remainingRounds;
+		private int bucket = -1;
+		private Timeout previous;
+		private Timeout next;
+
+		/**
+		 * @return the time in milliseconds when the timeout is executed
+		 */
+		public synchronized long getDeadline() {
+			return deadline;
+		}
+
+	}
+
+	private final String name;
+	private final long tickNanos;
+	private final int mask;
+	private final int threads;
+
+	/* the first timeout of each bucket, the timeouts of a bucket are a doubly linked list */
+	private final Timeout[] buckets;
+
+	/* the tick which is processed next by the wheel thread */
+	private long tick = 0;
+	/* the start of the first tick, in nanoseconds of System.nanoTime() */
+	private long startTime;
+
+	private Thread wheelThread;
+	private ExecutorService executor;
+
+	/**
+	 * @param name the name of the wheel, used for its threads
+	 * @param tickDuration the duration of a tick in milliseconds
+	 * @param wheelSize the amount of buckets, rounded up to a power of two
+	 * @param threads the amount of threads executing the timeouts
+	 */
+	public TimerWheel(String name, long tickDuration, int wheelSize, int threads) {
+		this.name = name;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+		this.threads = threads;
+		int size = Integer.highestOneBit(Math.max(wheelSize, 1) - 1) << 1;
+		this.buckets = new Timeout[Math.max(size, 1)];
+		this.mask = buckets.length - 1;
+	}
+
+	/**
+	 * Schedules the given timeout for execution at the given time. If the timeout is
+	 * scheduled already, it is moved to the new time.
+	 *
+	 * @param timeout the timeout to schedule
+	 * @param deadline the time in milliseconds when the timeout is executed, a time in
+	 *            the past executes it as soon as possible
+	 */
+	public synchronized void schedule(Timeout timeout, long deadline) {
+		start();
+		synchronized (timeout) {
+			unlink(timeout);
+			long elapsed = System.nanoTime() - startTime;
+			long delay = Math.min(TimeUnit.MILLISECONDS.toNanos(deadline - System.currentTimeMillis()),
+					Long.MAX_VALUE - elapsed);
+			long deadlineTick = Math.max((elapsed + delay) / tickNanos, tick);
+			timeout.deadline = deadline;
+			timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+			link(timeout, (int) (deadlineTick & mask));
+		}
+	}
+
+	/**
+	 * Cancels the given timeout
+	 *
+	 * @param timeout the timeout to cancel
+	 * @return true, if the timeout was waiting for its execution
+	 */
+	public synchronized boolean cancel(Timeout timeout) {
+		synchronized (timeout) {
+			return unlink(timeout);
+		}
+	}
+
+	/**
+	 * @param timeout the timeout to check
+	 * @return true, if the timeout is waiting for its execution
+	 */
+	public synchronized boolean isScheduled(Timeout timeout) {
+		synchronized (timeout) {
+			return timeout.bucket >= 0;
+		}
+	}
+
+	/**
+	 * Stops the wheel, timeouts which are still waiting are discarded.
+	 */
+	public synchronized void shutdown() {
+		if (wheelThread != null) {
+			wheelThread.interrupt();
+			wheelThread = null;
+			executor.shutdown();
+			executor = null;
+		}
+		for (int i = 0; i < buckets.length; i++) {
+			while (buckets[i] != null) {
+				unlink(buckets[i]);
+			}
+		}
+	}
+
+	private void start() {
+		if (wheelThread != null) {
+			return;
+		}
+		startTime = System.nanoTime();
+		tick = 0;
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name + " " + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		wheelThread = new Thread(name) {
+			@Override
+			public void run() {
+				turn(this);
+			}
+		};
+		wheelThread.setDaemon(true);
+		wheelThread.start();
+	}
+
+	private void turn(Thread thread) {
+		while (!thread.isInterrupted()) {
+			List<Timeout> expired = new ArrayList<Timeout>();
+			ExecutorService tickExecutor;
+			synchronized (this) {
+				if (wheelThread != thread) {
+					return;
+				}
+				long sleep = startTime + (tick + 1) * tickNanos - System.nanoTime();
+				if (sleep > 0) {
+					try {
+						TimeUnit.NANOSECONDS.timedWait(this, sleep);
+					} catch (InterruptedException e) {
+						return;
+					}
+					// waiting may end early, so check again
+					continue;
+				}
+
+				Timeout timeout = buckets[(int) (tick & mask)];
+				while (timeout != null) {
+					Timeout next = timeout.next;
+					synchronized (timeout) {
+						if (timeout.remainingRounds <= 0) {
+							unlink(timeout);
+							expired.add(timeout);
+						} else {
+							timeout.remainingRounds--;
+						}
+					}
+					timeout = next;
+				}
+				tick++;
+				tickExecutor = executor;
+			}
+
+			for (Timeout timeout : expired) {
+				try {
+					tickExecutor.execute(timeout);
+				} catch (RejectedExecutionException e) {
+					logger.debug("Timer wheel '{}' has been shut down, discarding timeout", name);
+				}
+			}
+		}
+	}
+
+	private void link(Timeout timeout, int bucket) {
+		timeout.bucket = bucket;
+		timeout.previous = null;
+		timeout.next = buckets[bucket];
+		if (timeout.next != null) {
+			timeout.next.previous = timeout;
+		}
+		buckets[bucket] = timeout;
+	}
+
+	private boolean unlink(Timeout timeout) {
+		if (timeout.bucket < 0) {
+			return false;
+		}
+		if (timeout.previous != null) {
+			timeout.previous.next = timeout.next;
+		} else {
+			buckets[timeout.bucket] = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.bucket = -1;
+		timeout.previous = null;
+		timeout.next = null;
+		return true;
+	}
+
+}
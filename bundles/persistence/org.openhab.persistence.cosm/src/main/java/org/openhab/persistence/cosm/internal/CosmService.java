@@ -12,10 +12,12 @@ import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.PersistenceService;
+import org.openhab.io.net.http.HttpDeliveryQueue;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,8 +40,17 @@ public class CosmService implements PersistenceService {
 
     private final static String DEFAULT_EVENT_URL = "http://api.cosm.com/v2/feeds/";
 
+    /** the default interval in milliseconds in which values are sent to Cosm */
+    private final static long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    /** the maximum amount of datastreams with pending values */
+    private final static int MAX_PENDING_DATASTREAMS = 1000;
+
     private boolean initialized = false;
 
+    /** replaced when the service is (de)activated, so it is read once per use */
+    private volatile HttpDeliveryQueue<String> deliveryQueue;
+
     /**
      * @{inheritDoc}
      */
@@ -51,34 +62,57 @@ public class CosmService implements PersistenceService {
      * @{inheritDoc}
      */
     public void store(Item item, String alias) {
-        if (initialized) {
-            try {
-                String serviceUrl = url;
-                if (alias == null) {
-                    alias = item.getName();
-                }
-                serviceUrl += "/" + alias;
-                URL url = new URL(serviceUrl);
-                HttpURLConnection httpCon = (HttpURLConnection) url.openConnection();
-                httpCon.setDoOutput(true);
-                httpCon.setRequestMethod("PUT");
-                httpCon.setRequestProperty("Content-type", "application/json");
-                httpCon.setRequestProperty("X-ApiKey", apiKey);
-                OutputStreamWriter out = new OutputStreamWriter(httpCon.getOutputStream());
-
-                JSONSerializer serializer = new JSONSerializer().transform(new CosmEventTransformer(),
-                        CosmEventBean.class);
-                String serializedBean = serializer.serialize(new CosmEventBean(alias, item.getState().toString()));
-
-                out.write(serializedBean);
-                out.flush();
-                logger.debug("Stored item '{}' as '{}' in Cosm and received response: {} ",
-                        new String[] { item.getName(), alias, httpCon.getResponseMessage() });
-                out.close();
-            } catch (Exception e) {
-                logger.warn("Connection error");
+        HttpDeliveryQueue<String> queue = deliveryQueue;
+        if (initialized && queue != null) {
+            if (alias == null) {
+                alias = item.getName();
+            }
+            queue.offer(alias, item.getState().toString());
+            logger.debug("Queued item '{}' as '{}' for Cosm", item.getName(), alias);
+        }
+    }
+
+    /**
+     * Sends the latest value of all pending datastreams to Cosm.
+     *
+     * @param values the latest value per datastream id
+     * @return <code>true</code> if all values have been sent
+     */
+    private boolean sendValues(Map<String, String> values) {
+        for (Entry<String, String> value : values.entrySet()) {
+            if (!sendValue(value.getKey(), value.getValue())) {
+                // updating a datastream is idempotent, so the whole batch can safely be retried
+                return false;
             }
         }
+        return true;
+    }
+
+    private boolean sendValue(String alias, String value) {
+        try {
+            String serviceUrl = url + "/" + alias;
+            URL url = new URL(serviceUrl);
+            HttpURLConnection httpCon = (HttpURLConnection) url.openConnection();
+            httpCon.setDoOutput(true);
+            httpCon.setRequestMethod("PUT");
+            httpCon.setRequestProperty("Content-type", "application/json");
+            httpCon.setRequestProperty("X-ApiKey", apiKey);
+            OutputStreamWriter out = new OutputStreamWriter(httpCon.getOutputStream());
+
+            JSONSerializer serializer = new JSONSerializer().transform(new CosmEventTransformer(),
+                    CosmEventBean.class);
+            String serializedBean = serializer.serialize(new CosmEventBean(alias, value));
+
+            out.write(serializedBean);
+            out.flush();
+            int responseCode = httpCon.getResponseCode();
+            logger.debug("Stored '{}' in Cosm and received response: {} ", alias, httpCon.getResponseMessage());
+            out.close();
+            return responseCode < 500;
+        } catch (Exception e) {
+            logger.warn("Connection error");
+            return false;
+        }
     }
 
     /**
@@ -105,8 +139,37 @@ public class CosmService implements PersistenceService {
                 logger.warn("The Cosm API-Key is missing - please configure it in openhab.cfg");
             }
 
+            long flushInterval = DEFAULT_FLUSH_INTERVAL;
+            String flushIntervalString = (String) config.get("flushinterval");
+            if (StringUtils.isNotBlank(flushIntervalString)) {
+                try {
+                    flushInterval = Long.parseLong(flushIntervalString);
+                } catch (NumberFormatException e) {
+                    logger.warn("couldn't parse '{}' to a number", flushIntervalString);
+                }
+            }
+
+            HttpDeliveryQueue<String> queue = new HttpDeliveryQueue<String>("cosm",
+                    new HttpDeliveryQueue.Delivery<String>() {
+                        @Override
+                        public boolean deliver(Map<String, String> values) {
+                            return sendValues(values);
+                        }
+                    }, flushInterval, MAX_PENDING_DATASTREAMS);
+            queue.start();
+            deliveryQueue = queue;
+
             initialized = true;
         }
     }
 
+    public void deactivate() {
+        initialized = false;
+        HttpDeliveryQueue<String> queue = deliveryQueue;
+        deliveryQueue = null;
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
 }
@@ -37,6 +37,12 @@ public class Db4oConfiguration {
     /** the commit interval in seconds (optional, default to '5') */
     public static int commitInterval = 5;
 
+    /**
+     * the amount of uncommitted item states which triggers an immediate commit in addition to the regular
+     * commit interval (optional, defaults to '1000', '0' disables the batch commit)
+     */
+    public static int commitBatchSize = 1000;
+
     /** the amount of backup files allowed in DB_FOLDER_NAME (optional, defaults to '7') */
     public static int maxBackups = 7;
 
@@ -54,7 +60,16 @@ public class Db4oConfiguration {
             try {
                 commitInterval = Integer.valueOf(commitIntervalString);
             } catch (IllegalArgumentException iae) {
-                logger.warn("couldn't parse '{}' to an integer");
+                logger.warn("couldn't parse '{}' to an integer", commitIntervalString);
+            }
+        }
+
+        String commitBatchSizeString = (String) config.get("commitbatchsize");
+        if (StringUtils.isNotBlank(commitBatchSizeString)) {
+            try {
+                commitBatchSize = Integer.valueOf(commitBatchSizeString);
+            } catch (IllegalArgumentException iae) {
+                logger.warn("couldn't parse '{}' to an integer", commitBatchSizeString);
             }
         }
 
@@ -63,7 +78,7 @@ public class Db4oConfiguration {
             try {
                 maxBackups = Integer.valueOf(maxBackupsString);
             } catch (IllegalArgumentException iae) {
-                logger.warn("couldn't parse '{}' to an integer");
+                logger.warn("couldn't parse '{}' to an integer", maxBackupsString);
             }
         }
     }
@@ -14,7 +14,7 @@ import java.util.Date;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 
-import com.db4o.config.Configuration;
+import com.db4o.config.CommonConfiguration;
 
 /**
  * This is a Java bean used to persist item states with timestamps in the database.
@@ -61,7 +61,14 @@ public class Db4oItem implements HistoricItem {
         return DateFormat.getDateTimeInstance().format(timestamp) + ": " + name + " -> " + state.toString();
     }
 
-    static /* default */ void configure(Configuration config) {
+    /**
+     * Configures the field indexes and cascading behaviour of {@link Db4oItem}. Since db4o only builds
+     * field indexes for configurations that are known when the file is opened this method has to be
+     * applied to the configuration <i>before</i> the database file is opened.
+     *
+     * @param config the configuration which is used to open the database file
+     */
+    static /* default */ void configure(CommonConfiguration config) {
         config.objectClass(Db4oItem.class).objectField("name").indexed(true);
         config.objectClass(Db4oItem.class).objectField("timestamp").indexed(true);
 
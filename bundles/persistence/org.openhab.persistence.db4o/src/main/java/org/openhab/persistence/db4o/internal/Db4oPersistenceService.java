@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
@@ -47,6 +48,7 @@ import org.slf4j.LoggerFactory;
 import com.db4o.Db4oEmbedded;
 import com.db4o.ObjectContainer;
 import com.db4o.ObjectSet;
+import com.db4o.config.EmbeddedConfiguration;
 import com.db4o.ext.DatabaseClosedException;
 import com.db4o.ext.Db4oException;
 import com.db4o.ext.ExtObjectContainer;
@@ -72,6 +74,9 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
 
     private static ObjectContainer db;
 
+    /** the amount of item states stored since the last commit */
+    private static final AtomicInteger uncommitted = new AtomicInteger();
+
     @Override
     public String getName() {
         return SERVICE_NAME;
@@ -83,7 +88,6 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
             folder.mkdirs();
         }
         openDbFile();
-        Db4oItem.configure(db.ext().configure());
 
         scheduleJob();
     }
@@ -116,6 +120,10 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
         try {
             db.store(historicItem);
             logger.debug("Stored item state '{}' -> '{}'", historicItem.getName(), historicItem.getState().toString());
+
+            if (commitBatchSize > 0 && uncommitted.incrementAndGet() >= commitBatchSize) {
+                commit();
+            }
         } catch (Db4oException e) {
             db.rollback();
             logger.warn("Error storing state for item '{}' as '{}': {}", item.getName(), alias, e.getMessage());
@@ -132,15 +140,17 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
             if (filter == null) {
                 filter = new FilterCriteria();
             }
+            // constrain the (indexed) name first since it is the most selective constraint
+            // and lets db4o narrow the candidates before the timestamp range is evaluated
+            if (filter.getItemName() != null) {
+                query.descend("name").constrain(filter.getItemName()).equal();
+            }
             if (filter.getBeginDate() != null) {
                 query.descend("timestamp").constrain(filter.getBeginDate()).greater().equal();
             }
             if (filter.getEndDate() != null) {
                 query.descend("timestamp").constrain(filter.getEndDate()).smaller().equal();
             }
-            if (filter.getItemName() != null) {
-                query.descend("name").constrain(filter.getItemName()).equal();
-            }
             if (filter.getState() != null && filter.getOperator() != null) {
                 switch (filter.getOperator()) {
                     case EQ:
@@ -205,7 +215,30 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
     }
 
     private static void openDbFile() {
-        db = Db4oEmbedded.openFile(Db4oEmbedded.newConfiguration(), DB_FOLDER + File.separator + DB_FILE_NAME);
+        EmbeddedConfiguration config = Db4oEmbedded.newConfiguration();
+        Db4oItem.configure(config.common());
+        db = Db4oEmbedded.openFile(config, DB_FOLDER + File.separator + DB_FILE_NAME);
+    }
+
+    /**
+     * Commits the current db4o transaction and resets the counter of uncommitted
+     * item states. In case of an error the transaction is rolled back.
+     */
+    private static synchronized void commit() {
+        long startTime = System.currentTimeMillis();
+        int count = uncommitted.getAndSet(0);
+        try {
+            db.commit();
+            logger.trace("successfully commited {} item states in {}ms", count, System.currentTimeMillis() - startTime);
+        } catch (Db4oException e) {
+            try {
+                db.rollback();
+                logger.warn("Error committing transaction : {}", e.getMessage());
+            } catch (DatabaseClosedException dce) {
+                // ignore a failed rollback if database is closed (what happens regularly during shutdown)
+                logger.debug("Cannot roll back transaction because database is closed: {}", e.getMessage());
+            }
+        }
     }
 
     /**
@@ -266,19 +299,7 @@ public class Db4oPersistenceService implements QueryablePersistenceService {
 
         @Override
         public void execute(JobExecutionContext context) throws JobExecutionException {
-            long startTime = System.currentTimeMillis();
-            try {
-                db.commit();
-                logger.trace("successfully commited db4o transaction in {}ms", System.currentTimeMillis() - startTime);
-            } catch (Db4oException e) {
-                try {
-                    db.rollback();
-                    logger.warn("Error committing transaction : {}", e.getMessage());
-                } catch (DatabaseClosedException dce) {
-                    // ignore a failed rollback if database is closed (what happens regularly during shutdown)
-                    logger.debug("Cannot roll back transaction because database is closed: {}", e.getMessage());
-                }
-            }
+            commit();
         }
 
     }
@@ -15,25 +15,35 @@ import static org.quartz.impl.matchers.GroupMatcher.jobGroupEquals;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
+import org.mapdb.BTreeKeySerializer;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Fun;
 import org.mapdb.Serializer;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.ColorItem;
 import org.openhab.core.library.items.DimmerItem;
 import org.openhab.core.library.items.RollershutterItem;
+import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.persistence.BulkQueryablePersistenceService;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
-import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.osgi.framework.BundleContext;
@@ -58,7 +68,7 @@ import org.slf4j.LoggerFactory;
  * @author Jens Viebig
  * @since 1.7.0
  */
-public class MapDBPersistenceService implements QueryablePersistenceService {
+public class MapDBPersistenceService implements BulkQueryablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
 
@@ -74,11 +84,18 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
 
     private static boolean needsCommit = false;
 
+    /** whether all states are kept as a time series in addition to the latest state */
+    private static boolean history = false;
+
+    /** the amount of days historic states are kept, '0' keeps them forever */
+    private static int historyRetention = 7;
+
     private static final Logger logger = LoggerFactory.getLogger(MapDBPersistenceService.class);
 
     /** holds the local instance of the MapDB database */
     private static DB db;
     private static Map<String, MapDBItem> map;
+    private static NavigableMap<Fun.Tuple2<String, Long>, MapDBItem> historyMap;
 
     public void activate(final BundleContext bundleContext, final Map<String, Object> config) {
         logger.debug("mapdb persistence service activated");
@@ -99,6 +116,18 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
                 logger.warn("couldn't parse '{}' to an integer");
             }
         }
+        String historyString = (String) config.get("history");
+        if (StringUtils.isNotBlank(historyString)) {
+            history = Boolean.valueOf(historyString);
+        }
+        String historyRetentionString = (String) config.get("historyretention");
+        if (StringUtils.isNotBlank(historyRetentionString)) {
+            try {
+                historyRetention = Integer.valueOf(historyRetentionString);
+            } catch (IllegalArgumentException iae) {
+                logger.warn("couldn't parse '{}' to an integer", historyRetentionString);
+            }
+        }
 
         File folder = new File(DB_FOLDER_NAME);
         if (!folder.exists()) {
@@ -106,9 +135,18 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
         }
 
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
-        db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        // writes are queued and written by a background thread, the commit job remains
+        // responsible for making them durable
+        db = DBMaker.newFileDB(dbFile).mmapFileEnableIfSupported().asyncWriteEnable().closeOnJvmShutdown().make();
         Serializer<MapDBItem> serializer = new MapDBitemSerializer();
         map = db.createTreeMap("itemStore").valueSerializer(serializer).makeOrGet();
+        if (history) {
+            historyMap = db.createTreeMap("historyStore").keySerializer(BTreeKeySerializer.TUPLE2)
+                    .valueSerializer(serializer).makeOrGet();
+            logger.debug("mapdb keeps historic states for {} days", historyRetention);
+        } else {
+            historyMap = null;
+        }
         scheduleJob();
     }
 
@@ -155,11 +193,17 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(new Date());
         MapDBItem oldItem = map.put(alias, mItem);
 
-        if (!commitSameState) {
-            if (oldItem != null) {
-                if (!oldItem.getState().toString().equals(state.toString())) {
-                    needsCommit = true;
-                }
+        if (historyMap != null) {
+            long timestamp = mItem.getTimestamp().getTime();
+            historyMap.put(Fun.t2(alias, timestamp), mItem);
+            if (historyRetention > 0) {
+                long oldest = timestamp - TimeUnit.DAYS.toMillis(historyRetention);
+                historyMap.subMap(Fun.t2(alias, Long.MIN_VALUE), Fun.t2(alias, oldest)).clear();
+            }
+            needsCommit = true;
+        } else if (!commitSameState) {
+            if (oldItem == null || !oldItem.getState().equals(state)) {
+                needsCommit = true;
             }
         }
         logger.debug("Stored '{}' with state '{}' in mapdb database", alias, state.toString());
@@ -167,6 +211,12 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        if (filter.getItemName() == null) {
+            return Collections.emptyList();
+        }
+        if (historyMap != null) {
+            return queryHistory(filter);
+        }
         HistoricItem item = map.get(filter.getItemName());
         if (item != null) {
             return Collections.singletonList(item);
@@ -174,6 +224,81 @@ public class MapDBPersistenceService implements QueryablePersistenceService {
         return Collections.emptyList();
     }
 
+    @Override
+    public Map<String, HistoricItem> queryLatest(Collection<String> itemNames) {
+        Map<String, HistoricItem> items = new HashMap<String, HistoricItem>();
+        for (String itemName : itemNames) {
+            HistoricItem item = map.get(itemName);
+            if (item != null) {
+                items.put(itemName, item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Queries the time series of a single item. Since the keys of the history are ordered
+     * by item name and timestamp the date range of the filter maps directly to a range
+     * of the underlying B-tree.
+     *
+     * @param filter the filter to apply, the item name must not be <code>null</code>
+     * @return the matching historic states
+     */
+    private Iterable<HistoricItem> queryHistory(FilterCriteria filter) {
+        String name = filter.getItemName();
+        long begin = filter.getBeginDate() != null ? filter.getBeginDate().getTime() : Long.MIN_VALUE;
+        long end = filter.getEndDate() != null ? filter.getEndDate().getTime() : Long.MAX_VALUE;
+
+        NavigableMap<Fun.Tuple2<String, Long>, MapDBItem> range = historyMap.subMap(Fun.t2(name, begin), true,
+                Fun.t2(name, end), true);
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            range = range.descendingMap();
+        }
+
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+        List<HistoricItem> items = new ArrayList<HistoricItem>();
+        for (MapDBItem item : range.values()) {
+            if (filter.getState() != null && !matches(item.getState(), filter.getOperator(), filter.getState())) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            items.add(item);
+            if (items.size() >= filter.getPageSize()) {
+                break;
+            }
+        }
+        return items;
+    }
+
+    private static boolean matches(State state, Operator operator, State value) {
+        switch (operator) {
+            case EQ:
+                return state.equals(value);
+            case NEQ:
+                return !state.equals(value);
+            default:
+                if (state instanceof DecimalType && value instanceof DecimalType) {
+                    int result = ((DecimalType) state).compareTo((DecimalType) value);
+                    switch (operator) {
+                        case GT:
+                            return result > 0;
+                        case GTE:
+                            return result >= 0;
+                        case LT:
+                            return result < 0;
+                        case LTE:
+                            return result <= 0;
+                        default:
+                            return false;
+                    }
+                }
+                return false;
+        }
+    }
+
     /**
      * Schedules new quartz scheduler jobs for committing transactions and
      * backing up the database
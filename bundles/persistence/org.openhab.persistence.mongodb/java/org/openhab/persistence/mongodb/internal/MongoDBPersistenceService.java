@@ -15,6 +15,10 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.bson.types.ObjectId;
@@ -48,11 +52,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteOperation;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -70,6 +76,12 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
     private static final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    /** the default amount of documents which are written to the database in one bulk insert */
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    /** the default interval in milliseconds in which buffered documents are written to the database */
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
     private String url;
     private String db;
     private String collection;
@@ -77,9 +89,18 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private boolean initialized = false;
     protected ItemRegistry itemRegistry;
 
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
     private MongoClient cl;
     private DBCollection mongoCollection;
 
+    /** documents which have not been written to the database yet */
+    private final List<DBObject> pendingDocuments = new ArrayList<DBObject>();
+
+    private ScheduledExecutorService flushScheduler;
+    private ScheduledFuture<?> flushJob;
+
     public void activate(final BundleContext bundleContext, final Map<String, Object> config) {
         url = (String) config.get("url");
         logger.debug("MongoDB URL {}", url);
@@ -100,15 +121,57 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                     "The MongoDB database collection is missing - please configure the mongodb:collection parameter in openhab.cfg");
         }
 
+        String batchSizeString = (String) config.get("batchsize");
+        if (StringUtils.isNotBlank(batchSizeString)) {
+            try {
+                batchSize = Integer.parseInt(batchSizeString);
+            } catch (NumberFormatException e) {
+                logger.warn("Couldn't parse batchsize '{}', using default {}", batchSizeString, DEFAULT_BATCH_SIZE);
+                batchSize = DEFAULT_BATCH_SIZE;
+            }
+        }
+        logger.debug("MongoDB batch size {}", batchSize);
+
+        String flushIntervalString = (String) config.get("flushinterval");
+        if (StringUtils.isNotBlank(flushIntervalString)) {
+            try {
+                flushInterval = Long.parseLong(flushIntervalString);
+            } catch (NumberFormatException e) {
+                logger.warn("Couldn't parse flushinterval '{}', using default {}", flushIntervalString,
+                        DEFAULT_FLUSH_INTERVAL);
+                flushInterval = DEFAULT_FLUSH_INTERVAL;
+            }
+        }
+        logger.debug("MongoDB flush interval {}ms", flushInterval);
+
         disconnectFromDatabase();
         connectToDatabase();
 
+        if (batchSize > 1 && flushInterval > 0) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor();
+            flushJob = flushScheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+
         // connection has been established ... initialization completed!
         initialized = true;
     }
 
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushScheduler = null;
+        }
+        flush();
         disconnectFromDatabase();
     }
 
@@ -167,11 +230,54 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         obj.put(FIELD_REALNAME, realName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        this.mongoCollection.save(obj);
+
+        if (batchSize > 1 && flushJob != null) {
+            boolean batchComplete;
+            synchronized (pendingDocuments) {
+                pendingDocuments.add(obj);
+                batchComplete = pendingDocuments.size() >= batchSize;
+            }
+            if (batchComplete) {
+                flush();
+            }
+        } else {
+            this.mongoCollection.insert(obj);
+        }
 
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Writes all buffered documents to the database using a single unordered bulk insert.
+     */
+    private void flush() {
+        List<DBObject> documents;
+        synchronized (pendingDocuments) {
+            if (pendingDocuments.isEmpty()) {
+                return;
+            }
+            documents = new ArrayList<DBObject>(pendingDocuments);
+            pendingDocuments.clear();
+        }
+
+        DBCollection collection = this.mongoCollection;
+        if (collection == null) {
+            logger.warn("mongodb: No connection to database. Dropping {} buffered item states.", documents.size());
+            return;
+        }
+
+        try {
+            BulkWriteOperation bulk = collection.initializeUnorderedBulkOperation();
+            for (DBObject document : documents) {
+                bulk.insert(document);
+            }
+            bulk.execute();
+            logger.debug("MongoDB bulk insert of {} documents", documents.size());
+        } catch (MongoException e) {
+            logger.error("MongoDB bulk insert of {} documents failed: {}", documents.size(), e.getMessage());
+        }
+    }
+
     private Object convertValue(State state) {
         Object value;
         if (state instanceof PercentType) {
@@ -212,8 +318,10 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             this.cl = new MongoClient(new MongoClientURI(this.url));
             mongoCollection = cl.getDB(this.db).getCollection(this.collection);
 
+            // queries always filter on the item and sort by the timestamp, so the compound index
+            // has to start with the item to be usable for both
             BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_TIMESTAMP, 1).append(FIELD_ITEM, 1);
+            idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, -1);
             this.mongoCollection.createIndex(idx);
             logger.debug("Connect MongoDB ... done");
         } catch (Exception e) {
@@ -247,6 +355,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
+        // make sure buffered states are visible to the query
+        flush();
+
         String name = filter.getItemName();
         Item item = getItem(name);
 
@@ -260,11 +371,15 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             Object value = convertValue(filter.getState());
             query.put(FIELD_VALUE, new BasicDBObject(op, value));
         }
-        if (filter.getBeginDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$gte", filter.getBeginDate()));
-        }
-        if (filter.getEndDate() != null) {
-            query.put(FIELD_TIMESTAMP, new BasicDBObject("$lte", filter.getEndDate()));
+        if (filter.getBeginDate() != null || filter.getEndDate() != null) {
+            BasicDBObject range = new BasicDBObject();
+            if (filter.getBeginDate() != null) {
+                range.append("$gte", filter.getBeginDate());
+            }
+            if (filter.getEndDate() != null) {
+                range.append("$lte", filter.getEndDate());
+            }
+            query.put(FIELD_TIMESTAMP, range);
         }
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
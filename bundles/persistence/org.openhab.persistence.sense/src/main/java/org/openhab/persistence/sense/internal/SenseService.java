@@ -8,12 +8,16 @@
  */
 package org.openhab.persistence.sense.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.PersistenceService;
+import org.openhab.io.net.http.HttpDeliveryQueue;
 import org.openhab.io.net.http.HttpUtil;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
@@ -38,8 +42,17 @@ public class SenseService implements PersistenceService {
 
     private final static String DEFAULT_EVENT_URL = "http://api.sen.se/events/?sense_key=";
 
+    /** the default interval in milliseconds in which events are sent to Open.Sen.se */
+    private final static long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    /** the maximum amount of feeds with pending events */
+    private final static int MAX_PENDING_FEEDS = 1000;
+
     private boolean initialized = false;
 
+    /** replaced when the service is (de)activated, so it is read once per use */
+    private volatile HttpDeliveryQueue<String> deliveryQueue;
+
     /**
      * @{inheritDoc}
      */
@@ -53,17 +66,33 @@ public class SenseService implements PersistenceService {
      */
     @Override
     public void store(Item item, String alias) {
-        if (initialized) {
-            JSONSerializer serializer = new JSONSerializer().transform(new SenseEventTransformer(),
-                    SenseEventBean.class);
-            String serializedBean = serializer.serialize(new SenseEventBean(alias, item.getState().toString()));
-
-            String serviceUrl = url + apiKey;
-            String response = HttpUtil.executeUrl("POST", serviceUrl, IOUtils.toInputStream(serializedBean),
-                    "application/json", 5000);
-            logger.debug("Stored item '{}' as '{}' in Sen.se and received response: {} ",
-                    new String[] { item.getName(), alias, response });
+        HttpDeliveryQueue<String> queue = deliveryQueue;
+        if (initialized && queue != null) {
+            queue.offer(alias, item.getState().toString());
+            logger.debug("Queued item '{}' as '{}' for Sen.se", item.getName(), alias);
+        }
+    }
+
+    /**
+     * Sends the latest value of all pending feeds to Open.Sen.se with a single request.
+     *
+     * @param values the latest value per feed id
+     * @return <code>true</code> if Open.Sen.se accepted the events
+     */
+    private boolean sendEvents(Map<String, String> values) {
+        List<SenseEventBean> events = new ArrayList<SenseEventBean>(values.size());
+        for (Entry<String, String> value : values.entrySet()) {
+            events.add(new SenseEventBean(value.getKey(), value.getValue()));
         }
+
+        JSONSerializer serializer = new JSONSerializer().transform(new SenseEventTransformer(), SenseEventBean.class);
+        String serializedEvents = serializer.serialize(events);
+
+        String serviceUrl = url + apiKey;
+        String response = HttpUtil.executeUrl("POST", serviceUrl, IOUtils.toInputStream(serializedEvents),
+                "application/json", 5000);
+        logger.debug("Stored {} events in Sen.se and received response: {} ", events.size(), response);
+        return response != null;
     }
 
     /**
@@ -91,8 +120,37 @@ public class SenseService implements PersistenceService {
                 logger.warn("The Open.Sen.se API-Key is missing - please configure it in openhab.cfg");
             }
 
+            long flushInterval = DEFAULT_FLUSH_INTERVAL;
+            String flushIntervalString = (String) config.get("flushinterval");
+            if (StringUtils.isNotBlank(flushIntervalString)) {
+                try {
+                    flushInterval = Long.parseLong(flushIntervalString);
+                } catch (NumberFormatException e) {
+                    logger.warn("couldn't parse '{}' to a number", flushIntervalString);
+                }
+            }
+
+            HttpDeliveryQueue<String> queue = new HttpDeliveryQueue<String>("sense",
+                    new HttpDeliveryQueue.Delivery<String>() {
+                        @Override
+                        public boolean deliver(Map<String, String> values) {
+                            return sendEvents(values);
+                        }
+                    }, flushInterval, MAX_PENDING_FEEDS);
+            queue.start();
+            deliveryQueue = queue;
+
             initialized = true;
         }
     }
 
+    public void deactivate() {
+        initialized = false;
+        HttpDeliveryQueue<String> queue = deliveryQueue;
+        deliveryQueue = null;
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
 }